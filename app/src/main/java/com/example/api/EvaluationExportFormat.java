@@ -0,0 +1,125 @@
+package com.example.api;
+
+import akka.http.javadsl.model.ContentType;
+import akka.http.javadsl.model.ContentTypes;
+import akka.http.javadsl.model.HttpCharsets;
+import akka.http.javadsl.model.MediaTypes;
+import com.example.domain.views.EvaluationsView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Row formats for evaluation exports. Each evaluation is rendered as one self-contained line,
+ * so an export can be written and read incrementally.
+ */
+public enum EvaluationExportFormat {
+
+  NDJSON("ndjson", ContentTypes.create(MediaTypes.applicationWithOpenCharset("x-ndjson"), HttpCharsets.UTF_8)) {
+    @Override
+    public String header() {
+      return "";
+    }
+
+    @Override
+    public String line(EvaluationsView.EvaluationEntry entry) {
+      List<Object> values = columnValues(entry);
+      Map<String, Object> row = new LinkedHashMap<>();
+      for (int i = 0; i < COLUMNS.size(); i++) {
+        row.put(COLUMNS.get(i), values.get(i));
+      }
+      try {
+        return objectMapper.writeValueAsString(row) + "\n";
+      } catch (JsonProcessingException e) {
+        throw new IllegalStateException("Failed to serialize evaluation " + entry.evaluationId(), e);
+      }
+    }
+  },
+
+  CSV("csv", ContentTypes.TEXT_CSV_UTF8) {
+    @Override
+    public String header() {
+      return String.join(",", COLUMNS) + "\n";
+    }
+
+    @Override
+    public String line(EvaluationsView.EvaluationEntry entry) {
+      return columnValues(entry).stream()
+          .map(value -> escapeCsv(value == null ? "" : String.valueOf(value)))
+          .collect(Collectors.joining(",", "", "\n"));
+    }
+  };
+
+  static final List<String> COLUMNS = List.of(
+      "evaluationId", "runId", "submissionId", "queueId", "questionTemplateId", "judgeId",
+      "judgeVersion", "judgeFingerprint", "verdict", "reasoning", "evaluatedAt", "model", "tier", "confidence");
+
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+
+  private final String fileExtension;
+  private final ContentType contentType;
+
+  EvaluationExportFormat(String fileExtension, ContentType contentType) {
+    this.fileExtension = fileExtension;
+    this.contentType = contentType;
+  }
+
+  public String fileExtension() {
+    return fileExtension;
+  }
+
+  public ContentType contentType() {
+    return contentType;
+  }
+
+  /**
+   * Text written before the first row.
+   */
+  public abstract String header();
+
+  /**
+   * One evaluation as a newline-terminated line.
+   */
+  public abstract String line(EvaluationsView.EvaluationEntry entry);
+
+  public static EvaluationExportFormat parse(String format) {
+    try {
+      return valueOf(format.toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unsupported export format: " + format + " (use ndjson or csv)");
+    }
+  }
+
+  private static List<Object> columnValues(EvaluationsView.EvaluationEntry entry) {
+    return Arrays.asList(
+        entry.evaluationId(),
+        entry.runId(),
+        entry.submissionId(),
+        entry.queueId(),
+        entry.questionTemplateId(),
+        entry.judgeId(),
+        entry.judgeVersion(),
+        entry.judgeFingerprint(),
+        entry.verdict(),
+        entry.reasoning(),
+        entry.evaluatedAt() != null ? entry.evaluatedAt().toString() : null,
+        entry.model(),
+        entry.tier(),
+        entry.confidence());
+  }
+
+  /**
+   * Quotes a CSV field when it contains a separator, quote or line break (RFC 4180).
+   */
+  static String escapeCsv(String value) {
+    if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+      return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+    return value;
+  }
+}
@@ -1,17 +1,28 @@
 package com.example.api;
 
+import akka.NotUsed;
+import akka.http.javadsl.model.ContentType;
+import akka.http.javadsl.model.ContentTypes;
+import akka.http.javadsl.model.HttpEntities;
+import akka.http.javadsl.model.HttpResponse;
+import akka.http.javadsl.model.MediaTypes;
+import akka.http.javadsl.model.headers.RawHeader;
 import akka.javasdk.annotations.Acl;
 import akka.javasdk.annotations.http.Get;
 import akka.javasdk.annotations.http.HttpEndpoint;
 import akka.javasdk.client.ComponentClient;
 import akka.javasdk.http.AbstractHttpEndpoint;
+import akka.stream.javadsl.Compression;
+import akka.stream.javadsl.Source;
+import akka.util.ByteString;
 import com.example.domain.views.EvaluationsView;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * HTTP endpoint for evaluation queries.
- * Supports filtering evaluations by queue, judge, question, and verdict.
+ * Supports filtering evaluations by queue, judge, question, and verdict,
+ * and streaming exports of a run or queue.
  */
 @HttpEndpoint("/api/evaluations")
 @Acl(allow = @Acl.Matcher(principal = Acl.Principal.ALL))
@@ -87,5 +98,61 @@ public class EvaluationsController extends AbstractHttpEndpoint {
       throw new RuntimeException("Failed to get evaluations: " + e.getMessage(), e);
     }
   }
-}
 
+  /**
+   * GET /api/evaluations/export
+   * Stream the evaluations of a run or queue for offline analysis.
+   * Query parameters: runId or queueId (one required), format (ndjson (default) | csv), gzip (default false)
+   * Rows are streamed from the view as they are read, so exports of any size use constant memory.
+   */
+  @Get("/export")
+  public HttpResponse exportEvaluations() {
+    try {
+      var queryParams = requestContext().queryParams();
+      String runId = queryParams.getString("runId").orElse(null);
+      String queueId = queryParams.getString("queueId").orElse(null);
+      EvaluationExportFormat format = EvaluationExportFormat.parse(queryParams.getString("format").orElse("ndjson"));
+      boolean gzip = queryParams.getBoolean("gzip").orElse(false);
+
+      Source<EvaluationsView.EvaluationEntry, NotUsed> rows;
+      String fileName;
+      if (runId != null) {
+        rows = componentClient.forView().stream(EvaluationsView::streamEvaluationsByRun).source(runId);
+        fileName = "evaluations-run-" + runId;
+      } else if (queueId != null) {
+        rows = componentClient.forView().stream(EvaluationsView::streamEvaluationsByQueue).source(queueId);
+        fileName = "evaluations-queue-" + queueId;
+      } else {
+        return HttpResponse.create()
+            .withStatus(400)
+            .withEntity("Please specify runId or queueId");
+      }
+
+      Source<ByteString, NotUsed> body = rows
+          .map(entry -> ByteString.fromString(format.line(entry)))
+          .prepend(Source.single(ByteString.fromString(format.header())));
+
+      ContentType contentType = format.contentType();
+      fileName = fileName + "." + format.fileExtension();
+      if (gzip) {
+        body = body.via(Compression.gzip());
+        contentType = ContentTypes.create(MediaTypes.APPLICATION_GZIP);
+        fileName = fileName + ".gz";
+      }
+
+      logger.info("Exporting evaluations as {} to {}", format, fileName);
+
+      return HttpResponse.create()
+          .withEntity(HttpEntities.create(contentType, body))
+          .addHeader(RawHeader.create("Content-Disposition", "attachment; filename=\"" + fileName + "\""));
+
+    } catch (IllegalArgumentException e) {
+      return HttpResponse.create()
+          .withStatus(400)
+          .withEntity(e.getMessage());
+    } catch (Exception e) {
+      logger.error("Failed to export evaluations", e);
+      throw new RuntimeException("Failed to export evaluations: " + e.getMessage(), e);
+    }
+  }
+}
@@ -9,10 +9,18 @@ import akka.javasdk.http.AbstractHttpEndpoint;
 import akka.javasdk.http.HttpResponses;
 import com.example.domain.JudgeAssignment;
 import com.example.domain.entities.JudgeAssignmentEntity;
+import com.example.domain.views.JudgeAssignmentsView;
+import com.example.domain.views.QuestionsView;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * HTTP endpoint for judge assignment management.
@@ -31,24 +39,18 @@ public class JudgeAssignmentsController extends AbstractHttpEndpoint {
 
   /**
    * GET /api/queues/{queueId}/judge-assignments
-   * Get all judge assignments for a queue.
-   * Note: This returns assignments for all questions in the queue.
+   * Get all judge assignments for a queue, one entry per question.
    */
   @Get
-  public HttpResponse getAssignments(String queueId) {
+  public JudgeAssignmentsView.AssignmentsResult getAssignments(String queueId) {
     try {
-      // Note: This is a simplified version. In production, you might want to
-      // query all questions for the queue and get assignments for each.
-      // For now, we'll return a message indicating this endpoint needs questionTemplateId
-      return HttpResponse.create()
-          .withStatus(400)
-          .withEntity("Please specify questionTemplateId. Use GET /api/queues/{queueId}/judge-assignments/{questionTemplateId}");
-
+      return componentClient
+          .forView()
+          .method(JudgeAssignmentsView::getAssignmentsByQueue)
+          .invoke(queueId);
     } catch (Exception e) {
       logger.error("Failed to get assignments for queue {}", queueId, e);
-      return HttpResponse.create()
-          .withStatus(500)
-          .withEntity("Failed to get assignments: " + e.getMessage());
+      throw new RuntimeException("Failed to get assignments: " + e.getMessage(), e);
     }
   }
 
@@ -95,6 +97,69 @@ public class JudgeAssignmentsController extends AbstractHttpEndpoint {
     }
   }
 
+  /**
+   * POST /api/queues/{queueId}/judge-assignments/bulk
+   * Apply judge assignments for many questions at once.
+   * Judges in allQuestionsJudgeIds are assigned to every question in the queue, in addition to
+   * the per-question entries. With merge=true judges are added to the existing assignments,
+   * otherwise they replace them. Writes are applied in parallel.
+   */
+  @Post("/bulk")
+  public BulkAssignmentResult bulkAssign(String queueId, BulkAssignmentRequest request) {
+    try {
+      Map<String, Set<String>> judgesByQuestion = new LinkedHashMap<>();
+
+      if (!request.allQuestionsJudgeIds().isEmpty()) {
+        QuestionsView.QuestionsResult questionsResult = componentClient
+            .forView()
+            .method(QuestionsView::getQuestionsByQueue)
+            .invoke(queueId);
+        if (questionsResult != null && questionsResult.questions() != null) {
+          for (QuestionsView.QuestionEntry question : questionsResult.questions()) {
+            judgesByQuestion
+                .computeIfAbsent(question.questionTemplateId(), id -> new HashSet<>())
+                .addAll(request.allQuestionsJudgeIds());
+          }
+        }
+      }
+      for (CreateAssignmentRequest assignment : request.assignments()) {
+        judgesByQuestion
+            .computeIfAbsent(assignment.questionTemplateId(), id -> new HashSet<>())
+            .addAll(assignment.judgeIds());
+      }
+
+      Map<String, CompletableFuture<JudgeAssignment>> writes = new LinkedHashMap<>();
+      judgesByQuestion.forEach((questionTemplateId, judgeIds) -> {
+        var entity = componentClient.forKeyValueEntity(queueId + "|" + questionTemplateId);
+        var write = request.merge()
+            ? entity.method(JudgeAssignmentEntity::addJudges).invokeAsync(judgeIds)
+            : entity.method(JudgeAssignmentEntity::setAssignments).invokeAsync(judgeIds);
+        writes.put(questionTemplateId, write.toCompletableFuture());
+      });
+
+      List<String> failedQuestionTemplateIds = new ArrayList<>();
+      writes.forEach((questionTemplateId, write) -> {
+        try {
+          write.join();
+        } catch (Exception e) {
+          logger.warn("Failed to assign judges for queue {} question {}: {}",
+              queueId, questionTemplateId, e.getMessage());
+          failedQuestionTemplateIds.add(questionTemplateId);
+        }
+      });
+
+      int applied = writes.size() - failedQuestionTemplateIds.size();
+      logger.info("Bulk assigned judges for queue {}: {} of {} questions applied",
+          queueId, applied, writes.size());
+
+      return new BulkAssignmentResult(writes.size(), applied, failedQuestionTemplateIds);
+
+    } catch (Exception e) {
+      logger.error("Failed to bulk assign judges for queue {}", queueId, e);
+      throw new RuntimeException("Failed to bulk assign judges: " + e.getMessage(), e);
+    }
+  }
+
   /**
    * DELETE /api/queues/{queueId}/judge-assignments/{questionTemplateId}/{judgeId}
    * Remove a judge assignment.
@@ -123,5 +188,22 @@ public class JudgeAssignmentsController extends AbstractHttpEndpoint {
       String questionTemplateId,
       Set<String> judgeIds
   ) {}
+
+  public record BulkAssignmentRequest(
+      List<CreateAssignmentRequest> assignments,
+      Set<String> allQuestionsJudgeIds,
+      boolean merge
+  ) {
+    public BulkAssignmentRequest {
+      assignments = assignments != null ? assignments : List.of();
+      allQuestionsJudgeIds = allQuestionsJudgeIds != null ? allQuestionsJudgeIds : Set.of();
+    }
+  }
+
+  public record BulkAssignmentResult(
+      int requested,
+      int applied,
+      List<String> failedQuestionTemplateIds
+  ) {}
 }
 
@@ -8,7 +8,9 @@ import akka.javasdk.client.ComponentClient;
 import akka.javasdk.http.AbstractHttpEndpoint;
 import akka.javasdk.http.HttpResponses;
 import com.example.domain.Judge;
+import com.example.domain.JudgeRule;
 import com.example.domain.entities.JudgeEntity;
+import com.example.domain.views.JudgeVersionsView;
 import com.example.domain.views.JudgesView;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -64,6 +66,23 @@ public class JudgesController extends AbstractHttpEndpoint {
     }
   }
 
+  /**
+   * GET /api/judges/{judgeId}/versions
+   * Get the version history of a judge.
+   */
+  @Get("/{judgeId}/versions")
+  public JudgeVersionsView.JudgeVersionsEntry getJudgeVersions(String judgeId) {
+    try {
+      return componentClient
+          .forView()
+          .method(JudgeVersionsView::getVersions)
+          .invoke(judgeId);
+    } catch (Exception e) {
+      logger.error("Failed to get versions for judge {}", judgeId, e);
+      throw new RuntimeException("Failed to get judge versions: " + e.getMessage(), e);
+    }
+  }
+
   /**
    * POST /api/judges
    * Create a new judge.
@@ -81,7 +100,7 @@ public class JudgesController extends AbstractHttpEndpoint {
           request.systemPrompt(),
           request.targetModel(),
           request.active()
-      );
+      ).withCascade(request.cascade()).withRule(request.rule());
 
       componentClient
           .forEventSourcedEntity(judgeId)
@@ -100,7 +119,7 @@ public class JudgesController extends AbstractHttpEndpoint {
 
   /**
    * PUT /api/judges/{judgeId}
-   * Update a judge.
+   * Update a judge. Changing the system prompt, target model, cascade or rule creates a new version.
    */
   @Put("/{judgeId}")
   public HttpResponse updateJudge(String judgeId, UpdateJudgeRequest request) {
@@ -111,7 +130,9 @@ public class JudgesController extends AbstractHttpEndpoint {
           .invoke(new JudgeEntity.UpdateJudgeRequest(
               request.name(),
               request.systemPrompt(),
-              request.targetModel()
+              request.targetModel(),
+              request.cascade(),
+              request.rule()
           ));
 
       logger.info("Updated judge {}", judgeId);
@@ -173,13 +194,17 @@ public class JudgesController extends AbstractHttpEndpoint {
       String name,
       String systemPrompt,
       String targetModel,
-      boolean active
+      boolean active,
+      Judge.Cascade cascade,
+      JudgeRule rule
   ) {}
 
   public record UpdateJudgeRequest(
       String name,
       String systemPrompt,
-      String targetModel
+      String targetModel,
+      Judge.Cascade cascade,
+      JudgeRule rule
   ) {}
 
   public record SetActiveRequest(boolean active) {}
@@ -0,0 +1,55 @@
+package com.example.api;
+
+import akka.javasdk.annotations.Acl;
+import akka.javasdk.annotations.http.Get;
+import akka.javasdk.annotations.http.HttpEndpoint;
+import akka.javasdk.http.AbstractHttpEndpoint;
+import com.example.application.agents.JudgeAgent;
+import com.example.application.llm.HedgingLLMProvider;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * HTTP endpoint for LLM call statistics of this service instance.
+ * Shows observed latency and adaptive concurrency per model, hedging counts and coalesced calls.
+ */
+@HttpEndpoint("/api/llm")
+@Acl(allow = @Acl.Matcher(principal = Acl.Principal.ALL))
+public class LlmStatsController extends AbstractHttpEndpoint {
+
+  private final JudgeAgent judgeAgent;
+
+  public LlmStatsController(JudgeAgent judgeAgent) {
+    this.judgeAgent = judgeAgent;
+  }
+
+  /**
+   * GET /api/llm/stats
+   * Per-model latency and concurrency limit, hedging counts and coalesced calls (null when a feature is disabled).
+   */
+  @Get("/stats")
+  public LlmStats getStats() {
+    var latencyStats = judgeAgent.latencyStats();
+    List<ModelStats> models = latencyStats.models().stream()
+        .sorted(Comparator.naturalOrder())
+        .map(model -> new ModelStats(
+            model,
+            latencyStats.averageLatency(model).map(Duration::toMillis).orElse(0L),
+            latencyStats.samples(model),
+            judgeAgent.concurrencyLimit(model).isPresent() ? judgeAgent.concurrencyLimit(model).getAsInt() : null
+        ))
+        .toList();
+    var coalescedCalls = judgeAgent.coalescedCalls();
+    return new LlmStats(
+        models,
+        judgeAgent.hedgingMetrics().orElse(null),
+        coalescedCalls.isPresent() ? coalescedCalls.getAsLong() : null
+    );
+  }
+
+  public record ModelStats(String model, long averageLatencyMillis, long samples, Integer concurrencyLimit) {}
+
+  public record LlmStats(List<ModelStats> models, HedgingLLMProvider.Metrics hedging, Long coalescedCalls) {}
+}
@@ -1,17 +1,22 @@
 package com.example.api;
 
+import akka.http.javadsl.model.HttpResponse;
 import akka.javasdk.annotations.Acl;
 import akka.javasdk.annotations.http.Get;
 import akka.javasdk.annotations.http.HttpEndpoint;
+import akka.javasdk.annotations.http.Put;
 import akka.javasdk.client.ComponentClient;
 import akka.javasdk.http.AbstractHttpEndpoint;
+import akka.javasdk.http.HttpResponses;
+import com.example.domain.ContinuousEvaluation;
+import com.example.domain.entities.ContinuousEvaluationEntity;
 import com.example.domain.views.QueuesView;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * HTTP endpoint for queue management.
- * Lists queues and questions per queue.
+ * Lists queues and questions per queue, and turns continuous evaluation of a queue on or off.
  */
 @HttpEndpoint("/api/queues")
 @Acl(allow = @Acl.Matcher(principal = Acl.Principal.ALL))
@@ -57,5 +62,63 @@ public class QueuesController extends AbstractHttpEndpoint {
       throw new RuntimeException("Failed to get questions: " + e.getMessage(), e);
     }
   }
-}
 
+  /**
+   * GET /api/queues/{queueId}/questions/count
+   * Count the distinct questions in a queue.
+   */
+  @Get("/{queueId}/questions/count")
+  public com.example.domain.views.QuestionsView.QuestionCount getQuestionCount(String queueId) {
+    try {
+      return componentClient
+          .forView()
+          .method(com.example.domain.views.QuestionsView::getQuestionCount)
+          .invoke(queueId);
+    } catch (Exception e) {
+      logger.error("Failed to count questions for queue {}", queueId, e);
+      throw new RuntimeException("Failed to count questions: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * GET /api/queues/{queueId}/continuous
+   * Whether continuous evaluation is enabled for a queue, and its pending submissions.
+   */
+  @Get("/{queueId}/continuous")
+  public ContinuousEvaluation getContinuousEvaluation(String queueId) {
+    try {
+      return componentClient
+          .forKeyValueEntity(queueId)
+          .method(ContinuousEvaluationEntity::getContinuousEvaluation)
+          .invoke();
+    } catch (Exception e) {
+      logger.error("Failed to get continuous evaluation for queue {}", queueId, e);
+      throw new RuntimeException("Failed to get continuous evaluation: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * PUT /api/queues/{queueId}/continuous
+   * Turn continuous evaluation of a queue on or off. While on, every submission imported into the
+   * queue is evaluated by the queue's current judge assignments within seconds of import.
+   */
+  @Put("/{queueId}/continuous")
+  public HttpResponse setContinuousEvaluation(String queueId, ContinuousEvaluationRequest request) {
+    try {
+      componentClient
+          .forKeyValueEntity(queueId)
+          .method(ContinuousEvaluationEntity::setEnabled)
+          .invoke(request.enabled());
+
+      logger.info("Set continuous evaluation of queue {} to {}", queueId, request.enabled());
+
+      return HttpResponses.ok();
+
+    } catch (Exception e) {
+      logger.error("Failed to set continuous evaluation for queue {}", queueId, e);
+      throw new RuntimeException("Failed to set continuous evaluation: " + e.getMessage(), e);
+    }
+  }
+
+  public record ContinuousEvaluationRequest(boolean enabled) {}
+}
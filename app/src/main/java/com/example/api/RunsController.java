@@ -9,11 +9,20 @@ import akka.javasdk.client.ComponentClient;
 import akka.javasdk.http.AbstractHttpEndpoint;
 import akka.javasdk.http.HttpResponses;
 import com.example.domain.Run;
+import com.example.domain.entities.QueueEntity;
 import com.example.domain.entities.RunEntity;
+import com.example.domain.views.FailedTasksView;
+import com.example.application.agents.JudgeAgent;
+import com.example.application.planning.RunEstimate;
+import com.example.application.planning.RunEstimator;
+import com.example.application.scheduling.EvaluationScheduler;
 import com.example.application.workflows.RunEvaluationsWorkflow;
+import com.typesafe.config.Config;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -26,9 +35,18 @@ public class RunsController extends AbstractHttpEndpoint {
 
   private static final Logger logger = LoggerFactory.getLogger(RunsController.class);
   private final ComponentClient componentClient;
+  private final RunEstimator runEstimator;
+  private final Duration defaultRunDeadline;
 
-  public RunsController(ComponentClient componentClient) {
+  public RunsController(
+      ComponentClient componentClient,
+      JudgeAgent judgeAgent,
+      EvaluationScheduler scheduler,
+      Config config
+  ) {
     this.componentClient = componentClient;
+    this.runEstimator = new RunEstimator(componentClient, judgeAgent, scheduler, config);
+    this.defaultRunDeadline = config.getDuration("ai-judge.deadlines.run");
   }
 
   /**
@@ -38,26 +56,41 @@ public class RunsController extends AbstractHttpEndpoint {
   @Post
   public HttpResponse startRun(StartRunRequest request) {
     try {
+      rejectContinuous(request);
       String runId = UUID.randomUUID().toString();
+      Instant deadline = runDeadline(request);
 
-      // First, we need to calculate the planned count
-      // This would require querying submissions and judge assignments
-      // For now, we'll start the run with a placeholder count
-      // The workflow will handle the actual counting
+      // Projected from the queue summary, or the source run's failures for a retry;
+      // the workflow records the exact count once planning is done
+      String queueId;
+      int projectedCount;
+      if (request.mode() == Run.RunMode.RETRY_FAILED) {
+        Run sourceRun = getSourceRun(request);
+        queueId = sourceRun.queueId();
+        projectedCount = sourceRun.failedCount();
+      } else {
+        queueId = request.queueId();
+        projectedCount = componentClient
+            .forKeyValueEntity(queueId)
+            .method(QueueEntity::getSummary)
+            .invoke()
+            .projectedTaskCount();
+      }
 
       // Create the run entity
       componentClient
           .forEventSourcedEntity(runId)
           .method(RunEntity::startRun)
-          .invoke(new RunEntity.StartRunRequest(request.queueId(), 0)); // Count will be updated by workflow
+          .invoke(new RunEntity.StartRunRequest(queueId, projectedCount, deadline));
 
       // Start the workflow
       componentClient
           .forWorkflow(runId)
           .method(RunEvaluationsWorkflow::startRun)
-          .invoke(new RunEvaluationsWorkflow.StartRunRequest(request.queueId()));
+          .invoke(new RunEvaluationsWorkflow.StartRunRequest(
+              queueId, request.mode(), request.priority(), deadline, request.sourceRunId()));
 
-      logger.info("Started evaluation run {} for queue {}", runId, request.queueId());
+      logger.info("Started {} evaluation run {} for queue {}", request.mode(), runId, queueId);
 
       return HttpResponses.created(runId);
 
@@ -67,6 +100,24 @@ public class RunsController extends AbstractHttpEndpoint {
     }
   }
 
+  /**
+   * POST /api/runs/estimate
+   * Dry-run a run: planned LLM calls, estimated tokens and projected duration. Nothing is started.
+   */
+  @Post("/estimate")
+  public RunEstimate estimateRun(StartRunRequest request) {
+    try {
+      rejectContinuous(request);
+      String queueId = request.mode() == Run.RunMode.RETRY_FAILED
+          ? getSourceRun(request).queueId()
+          : request.queueId();
+      return runEstimator.estimate(queueId, request.mode(), request.sourceRunId());
+    } catch (Exception e) {
+      logger.error("Failed to estimate run for queue {}", request.queueId(), e);
+      throw new RuntimeException("Failed to estimate run: " + e.getMessage(), e);
+    }
+  }
+
   /**
    * GET /api/runs/{runId}
    * Get the status of an evaluation run.
@@ -84,6 +135,179 @@ public class RunsController extends AbstractHttpEndpoint {
     }
   }
 
-  public record StartRunRequest(String queueId) {}
+  /**
+   * GET /api/runs/{runId}/failed-tasks
+   * The tuples a run failed to evaluate, with the error class, message and attempts of each,
+   * and the retry run that has evaluated it since, if any.
+   */
+  @Get("/{runId}/failed-tasks")
+  public FailedTasksView.FailedTasksResult getFailedTasks(String runId) {
+    try {
+      return componentClient
+          .forView()
+          .method(FailedTasksView::getFailedTasksByRun)
+          .invoke(runId);
+    } catch (Exception e) {
+      logger.error("Failed to get failed tasks of run {}", runId, e);
+      throw new RuntimeException("Failed to get failed tasks: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * GET /api/runs/{runId}/sla
+   * Whether the run finished (or is on track to finish) by its deadline, and how many
+   * task attempts missed their per-task deadline.
+   */
+  @Get("/{runId}/sla")
+  public RunSla getRunSla(String runId) {
+    try {
+      Run run = componentClient
+          .forEventSourcedEntity(runId)
+          .method(RunEntity::getRun)
+          .invoke();
+      return new RunSla(
+          run.runId(),
+          run.status(),
+          run.deadline(),
+          run.completedAt(),
+          run.slaStatus(Instant.now()),
+          run.expiredCount());
+    } catch (Exception e) {
+      logger.error("Failed to get SLA of run {}", runId, e);
+      throw new RuntimeException("Failed to get run SLA: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * POST /api/runs/{runId}/pause
+   * Pause a running run. The evaluation in flight finishes; no new ones are started.
+   */
+  @Post("/{runId}/pause")
+  public HttpResponse pauseRun(String runId) {
+    try {
+      // The workflow updates the run entity itself
+      componentClient
+          .forWorkflow(runId)
+          .method(RunEvaluationsWorkflow::pause)
+          .invoke();
+
+      logger.info("Paused run {}", runId);
+
+      return HttpResponses.ok();
+
+    } catch (Exception e) {
+      logger.error("Failed to pause run {}", runId, e);
+      throw new RuntimeException("Failed to pause run: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * POST /api/runs/{runId}/resume
+   * Resume a paused run.
+   */
+  @Post("/{runId}/resume")
+  public HttpResponse resumeRun(String runId) {
+    try {
+      // The workflow marks the run entity running before it processes more evaluations
+      componentClient
+          .forWorkflow(runId)
+          .method(RunEvaluationsWorkflow::resume)
+          .invoke();
+
+      logger.info("Resumed run {}", runId);
+
+      return HttpResponses.ok();
+
+    } catch (Exception e) {
+      logger.error("Failed to resume run {}", runId, e);
+      throw new RuntimeException("Failed to resume run: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * POST /api/runs/{runId}/cancel
+   * Cancel a running or paused run. Evaluations already recorded are kept.
+   */
+  @Post("/{runId}/cancel")
+  public HttpResponse cancelRun(String runId) {
+    try {
+      // The workflow updates the run entity itself
+      componentClient
+          .forWorkflow(runId)
+          .method(RunEvaluationsWorkflow::cancel)
+          .invoke();
+
+      logger.info("Cancelled run {}", runId);
+
+      return HttpResponses.ok();
+
+    } catch (Exception e) {
+      logger.error("Failed to cancel run {}", runId, e);
+      throw new RuntimeException("Failed to cancel run: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * CONTINUOUS runs are started from imported submissions, see PUT /api/queues/{queueId}/continuous.
+   */
+  private static void rejectContinuous(StartRunRequest request) {
+    if (request.mode() == Run.RunMode.CONTINUOUS) {
+      throw new IllegalArgumentException("CONTINUOUS runs are started by continuous evaluation of a queue");
+    }
+  }
+
+  /**
+   * The run a RETRY_FAILED request retries; it must be finished, so its failures are final.
+   */
+  private Run getSourceRun(StartRunRequest request) {
+    if (request.sourceRunId() == null || request.sourceRunId().isBlank()) {
+      throw new IllegalArgumentException("sourceRunId is required for RETRY_FAILED runs");
+    }
+    Run sourceRun = componentClient
+        .forEventSourcedEntity(request.sourceRunId())
+        .method(RunEntity::getRun)
+        .invoke();
+    if (!sourceRun.isComplete()) {
+      throw new IllegalArgumentException("Run " + request.sourceRunId() + " is still " + sourceRun.status());
+    }
+    if (request.queueId() != null && !request.queueId().equals(sourceRun.queueId())) {
+      throw new IllegalArgumentException("Run " + request.sourceRunId() + " belongs to queue " + sourceRun.queueId());
+    }
+    return sourceRun;
+  }
+
+  /**
+   * The requested deadline, else ai-judge.deadlines.run from now; null if neither is set (0 means none).
+   */
+  private Instant runDeadline(StartRunRequest request) {
+    Duration deadline = request.deadlineMinutes() != null
+        ? Duration.ofMinutes(request.deadlineMinutes())
+        : defaultRunDeadline;
+    return deadline.isZero() || deadline.isNegative() ? null : Instant.now().plus(deadline);
+  }
+
+  /**
+   * mode is optional and defaults to FULL; INCREMENTAL only evaluates new or changed tuples.
+   * priority is optional and defaults to NORMAL; it sets the run's share of evaluation capacity.
+   * deadlineMinutes is optional: the run must finish within it, or its remaining tasks fail.
+   * sourceRunId is required for RETRY_FAILED: the finished run whose failed tuples are evaluated again;
+   * queueId may then be omitted.
+   */
+  public record StartRunRequest(
+      String queueId,
+      Run.RunMode mode,
+      Run.RunPriority priority,
+      Integer deadlineMinutes,
+      String sourceRunId
+  ) {}
+
+  public record RunSla(
+      String runId,
+      Run.RunStatus status,
+      Instant deadline,
+      Instant completedAt,
+      Run.SlaStatus slaStatus,
+      int expiredCount
+  ) {}
 }
 
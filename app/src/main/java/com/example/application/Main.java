@@ -4,6 +4,7 @@ import akka.javasdk.DependencyProvider;
 import akka.javasdk.annotations.Setup;
 import akka.javasdk.ServiceSetup;
 import com.example.application.agents.JudgeAgent;
+import com.example.application.scheduling.EvaluationScheduler;
 import com.typesafe.config.Config;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,6 +34,8 @@ public class Main implements ServiceSetup {
     // Create JudgeAgent instance for dependency injection
     // JudgeAgent requires Config to initialize LLM provider
     final JudgeAgent judgeAgent = new JudgeAgent(config);
+    // One scheduler per service instance, shared by all evaluation runs
+    final EvaluationScheduler evaluationScheduler = new EvaluationScheduler(config);
 
     return new DependencyProvider() {
       @Override
@@ -40,6 +43,9 @@ public class Main implements ServiceSetup {
         if (clazz == JudgeAgent.class) {
           return (T) judgeAgent;
         }
+        if (clazz == EvaluationScheduler.class) {
+          return (T) evaluationScheduler;
+        }
         throw new RuntimeException("No such dependency found: " + clazz);
       }
     };
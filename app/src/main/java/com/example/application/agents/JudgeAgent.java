@@ -1,15 +1,28 @@
 package com.example.application.agents;
 
+import com.example.domain.Evaluation;
 import com.example.domain.EvaluationRequest;
 import com.example.domain.EvaluationResponse;
+import com.example.domain.Judge;
+import com.example.application.llm.AdaptiveLLMProvider;
+import com.example.application.llm.CoalescingLLMProvider;
+import com.example.application.llm.Deadline;
+import com.example.application.llm.DeadlineExceededException;
+import com.example.application.llm.HedgingLLMProvider;
+import com.example.application.scheduling.ExecutionMode;
 import com.example.application.llm.LLMException;
 import com.example.application.llm.LLMProvider;
+import com.example.application.llm.ModelLatencyStats;
 import com.example.application.llm.OpenAIProvider;
 import com.typesafe.config.Config;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 
 /**
  * JudgeAgent evaluates a single (submission, question, judge) tuple.
@@ -32,21 +45,72 @@ public class JudgeAgent {
 
   private static final Logger logger = LoggerFactory.getLogger(JudgeAgent.class);
   
+  // Rough size of the JSON verdict and 2-3 sentence reasoning the judge is asked for
+  public static final int ESTIMATED_COMPLETION_TOKENS = 150;
+
   private final LLMProvider llmProvider;
+  private final ModelLatencyStats latencyStats = new ModelLatencyStats();
+  // Optional decorators of the provider, kept for their statistics; null when disabled
+  private final AdaptiveLLMProvider adaptiveProvider;
+  private final HedgingLLMProvider hedgingProvider;
+  private final CoalescingLLMProvider coalescingProvider;
 
   public JudgeAgent(Config config) {
     // Initialize LLM provider from config
     String apiKey = config.getString("akka.javasdk.agent.openai.api-key");
-    this.llmProvider = new OpenAIProvider(apiKey);
+    LLMProvider provider = new OpenAIProvider(apiKey);
+    // Adapt calls in flight per model to provider latency and throttling
+    if (config.hasPath("ai-judge.adaptive-concurrency") && config.getBoolean("ai-judge.adaptive-concurrency.enabled")) {
+      this.adaptiveProvider = new AdaptiveLLMProvider(provider, AdaptiveLLMProvider.Settings.fromConfig(config));
+      provider = adaptiveProvider;
+    } else {
+      this.adaptiveProvider = null;
+    }
+    // Hedge outside the limiter so a hedge waits for a slot like any other call
+    if (config.hasPath("ai-judge.hedging") && config.getBoolean("ai-judge.hedging.enabled")) {
+      this.hedgingProvider = new HedgingLLMProvider(provider, HedgingLLMProvider.Settings.fromConfig(config),
+          ExecutionMode.fromConfig(config).newExecutor("llm-hedging"));
+      provider = hedgingProvider;
+    } else {
+      this.hedgingProvider = null;
+    }
+    // Identical prompts in flight at the same time share one call, hedges included
+    if (config.hasPath("ai-judge.coalescing.enabled") && config.getBoolean("ai-judge.coalescing.enabled")) {
+      this.coalescingProvider = new CoalescingLLMProvider(provider);
+      provider = coalescingProvider;
+    } else {
+      this.coalescingProvider = null;
+    }
+    this.llmProvider = provider;
+  }
+
+  /**
+   * Creates an agent around a given provider, without the optional decorators.
+   */
+  JudgeAgent(LLMProvider llmProvider) {
+    this.llmProvider = llmProvider;
+    this.adaptiveProvider = null;
+    this.hedgingProvider = null;
+    this.coalescingProvider = null;
   }
 
   /**
    * Evaluates a submission's answer to a question using the specified judge.
    * 
    * @param request The evaluation request containing question, answer, and judge config
-   * @return EvaluationResponse with verdict and reasoning
+   * @return EvaluationResponse with verdict and reasoning, and the model and cascade tier that decided it
    */
   public EvaluationResponse evaluate(EvaluationRequest request) throws LLMException {
+    return evaluate(request, Deadline.NONE);
+  }
+
+  /**
+   * Evaluates like evaluate(request), with every model call bounded by the deadline.
+   * A cascade does not escalate once the deadline has passed.
+   *
+   * @throws DeadlineExceededException if the deadline passes before a verdict is reached
+   */
+  public EvaluationResponse evaluate(EvaluationRequest request, Deadline deadline) throws LLMException {
     logger.info("Evaluating submission {} question {} with judge {}", 
         request.submissionId(), request.questionTemplateId(), request.judgeId());
 
@@ -58,17 +122,31 @@ public class JudgeAgent {
 
     // Call LLM provider
     try {
-      EvaluationResponse response = llmProvider.evaluate(
-          systemPrompt,
-          userPrompt,
-          request.targetModel()
-      );
-
-      logger.debug("Evaluation result: verdict={}, reasoning length={}", 
-          response.verdict(), response.reasoning().length());
+      Judge.Cascade cascade = request.cascade();
+      if (cascade == null) {
+        return callModel(systemPrompt, userPrompt, request.targetModel(), deadline).withTier(Evaluation.Tier.SINGLE, request.targetModel());
+      }
 
-      return response;
+      // Cascade: keep the cheap model's verdict when it is conclusive and confident enough
+      try {
+        EvaluationResponse first = callModel(systemPrompt, userPrompt, cascade.firstModel(), deadline);
+        if (first.isConfident(cascade.minConfidence())) {
+          return first.withTier(Evaluation.Tier.FIRST, cascade.firstModel());
+        }
+        logger.debug("Escalating from {} to {}: verdict={}, confidence={}",
+            cascade.firstModel(), request.targetModel(), first.verdict(), first.confidence());
+      } catch (DeadlineExceededException e) {
+        throw e;
+      } catch (LLMException e) {
+        logger.warn("Cascade model {} failed, escalating to {}: {}",
+            cascade.firstModel(), request.targetModel(), e.getMessage());
+      }
+      return callModel(systemPrompt, userPrompt, request.targetModel(), deadline).withTier(Evaluation.Tier.ESCALATED, request.targetModel());
 
+    } catch (DeadlineExceededException e) {
+      logger.warn("LLM evaluation for submission {} question {} judge {} exceeded its deadline",
+          request.submissionId(), request.questionTemplateId(), request.judgeId());
+      throw e;
     } catch (LLMException e) {
       logger.error("LLM evaluation failed for submission {} question {} judge {}", 
           request.submissionId(), request.questionTemplateId(), request.judgeId(), e);
@@ -76,6 +154,60 @@ public class JudgeAgent {
     }
   }
 
+  private EvaluationResponse callModel(String systemPrompt, String userPrompt, String model, Deadline deadline)
+      throws LLMException {
+    long startedAt = System.nanoTime();
+    EvaluationResponse response = llmProvider.evaluate(systemPrompt, userPrompt, model, deadline);
+    latencyStats.record(model, Duration.ofNanos(System.nanoTime() - startedAt));
+
+    logger.debug("Evaluation result from {}: verdict={}, confidence={}, reasoning length={}",
+        model, response.verdict(), response.confidence(), response.reasoning().length());
+    return response;
+  }
+
+  /**
+   * Estimates the prompt tokens sent for a request, from the same prompts evaluate() builds.
+   */
+  public int estimatePromptTokens(EvaluationRequest request) {
+    return estimateTokens(buildSystemPrompt(request)) + estimateTokens(buildUserPrompt(request));
+  }
+
+  /**
+   * Observed call latency per model, for duration estimates.
+   */
+  public ModelLatencyStats latencyStats() {
+    return latencyStats;
+  }
+
+  /**
+   * Current in-flight limit of a model, or empty if adaptive concurrency is disabled.
+   */
+  public OptionalInt concurrencyLimit(String model) {
+    return adaptiveProvider == null ? OptionalInt.empty() : OptionalInt.of(adaptiveProvider.currentLimit(model));
+  }
+
+  /**
+   * Hedged request counts, or empty if hedging is disabled.
+   */
+  public Optional<HedgingLLMProvider.Metrics> hedgingMetrics() {
+    return hedgingProvider == null ? Optional.empty() : Optional.of(hedgingProvider.metrics());
+  }
+
+  /**
+   * Calls that shared an identical in-flight call's response, or empty if coalescing is disabled.
+   */
+  public OptionalLong coalescedCalls() {
+    return coalescingProvider == null ? OptionalLong.empty() : OptionalLong.of(coalescingProvider.coalescedCalls());
+  }
+
+  /**
+   * Approximates the token count of a text at four characters per token,
+   * which is close enough for English prompts without pulling in a tokenizer.
+   */
+  static int estimateTokens(String text) {
+    return text == null ? 0 : (text.length() + 3) / 4;
+  }
+
   /**
    * Builds the system prompt from the judge's rubric.
    * Includes instructions for JSON response format.
@@ -92,7 +224,8 @@ public class JudgeAgent {
     prompt.append("You MUST respond with valid JSON in the following format:\n");
     prompt.append("{\n");
     prompt.append("  \"verdict\": \"pass\" | \"fail\" | \"inconclusive\",\n");
-    prompt.append("  \"reasoning\": \"Your explanation of the verdict (2-3 sentences)\"\n");
+    prompt.append("  \"reasoning\": \"Your explanation of the verdict (2-3 sentences)\",\n");
+    prompt.append("  \"confidence\": a number from 0.0 to 1.0, how certain you are of the verdict\n");
     prompt.append("}\n\n");
     prompt.append("Verdict Guidelines:\n");
     prompt.append("- \"pass\": The answer meets all criteria in the rubric\n");
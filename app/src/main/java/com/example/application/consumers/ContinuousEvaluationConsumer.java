@@ -0,0 +1,71 @@
+package com.example.application.consumers;
+
+import akka.javasdk.annotations.Component;
+import akka.javasdk.annotations.Consume;
+import akka.javasdk.client.ComponentClient;
+import akka.javasdk.consumer.Consumer;
+import com.example.application.continuous.ContinuousFlushAction;
+import com.example.application.continuous.ContinuousRunStarter;
+import com.example.domain.Submission;
+import com.example.domain.entities.ContinuousEvaluationEntity;
+import com.example.domain.entities.SubmissionsEntity;
+import com.typesafe.config.Config;
+
+import java.time.Duration;
+
+/**
+ * Consumer that collects submissions imported into queues with continuous evaluation enabled into
+ * micro-batches. A full batch (ai-judge.continuous.max-batch-size) is started right away; a partial
+ * one is started by ContinuousFlushAction after ai-judge.continuous.max-delay.
+ */
+@Component(id = "continuous-evaluation-consumer")
+@Consume.FromEventSourcedEntity(SubmissionsEntity.class)
+public class ContinuousEvaluationConsumer extends Consumer {
+
+  private final ComponentClient componentClient;
+  private final ContinuousRunStarter starter;
+  private final int maxBatchSize;
+  private final Duration maxDelay;
+
+  public ContinuousEvaluationConsumer(ComponentClient componentClient, Config config) {
+    this.componentClient = componentClient;
+    this.starter = new ContinuousRunStarter(componentClient, config);
+    this.maxBatchSize = ContinuousRunStarter.maxBatchSize(config);
+    this.maxDelay = ContinuousRunStarter.maxDelay(config);
+  }
+
+  public Effect onEvent(SubmissionsEntity.SubmissionEvent event) {
+    Submission submission = switch (event) {
+      case SubmissionsEntity.SubmissionEvent.SubmissionImported imported -> imported.submission();
+      case SubmissionsEntity.SubmissionEvent.SubmissionImportedCompressed compressed -> compressed.submission();
+    };
+    String queueId = submission.queueId();
+
+    if (queueId == null || queueId.isEmpty()) {
+      return effects().ignore();
+    }
+
+    ContinuousEvaluationEntity.AddSubmissionResult result = componentClient
+        .forKeyValueEntity(queueId)
+        .method(ContinuousEvaluationEntity::addSubmission)
+        .invoke(submission.submissionId());
+
+    if (!result.accepted()) {
+      return effects().ignore();
+    }
+
+    if (result.batchSize() >= maxBatchSize) {
+      // The flush timer is left in place: when it fires it starts whatever has been added since
+      starter.flush(queueId);
+    } else if (result.opensBatch()) {
+      timers().createSingleTimer(
+          ContinuousRunStarter.flushTimerName(queueId),
+          maxDelay,
+          componentClient
+              .forTimedAction()
+              .method(ContinuousFlushAction::flush)
+              .deferred(queueId));
+    }
+    return effects().done();
+  }
+}
@@ -0,0 +1,64 @@
+package com.example.application.consumers;
+
+import akka.Done;
+import akka.javasdk.annotations.Component;
+import akka.javasdk.annotations.Consume;
+import akka.javasdk.client.ComponentClient;
+import akka.javasdk.consumer.Consumer;
+import com.example.domain.Question;
+import com.example.domain.Submission;
+import com.example.domain.entities.QuestionEntity;
+import com.example.domain.entities.SubmissionsEntity;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Consumer that maintains the question catalogue.
+ * Indexes every question of every imported submission as its own QuestionEntity,
+ * so QuestionsView holds one row per distinct question in a queue.
+ */
+@Component(id = "question-index-consumer")
+@Consume.FromEventSourcedEntity(SubmissionsEntity.class)
+public class QuestionIndexConsumer extends Consumer {
+
+  private final ComponentClient componentClient;
+
+  public QuestionIndexConsumer(ComponentClient componentClient) {
+    this.componentClient = componentClient;
+  }
+
+  public Effect onEvent(SubmissionsEntity.SubmissionEvent event) {
+    Submission submission = switch (event) {
+      case SubmissionsEntity.SubmissionEvent.SubmissionImported imported -> imported.submission();
+      case SubmissionsEntity.SubmissionEvent.SubmissionImportedCompressed compressed -> compressed.submission();
+    };
+    String queueId = submission.queueId();
+
+    if (queueId == null || queueId.isEmpty()) {
+      return effects().ignore();
+    } else {
+      CompletableFuture<?>[] writes = submission.questions().values().stream()
+          .map(Submission.QuestionAnswer::questionTemplateId)
+          .filter(questionTemplateId -> questionTemplateId != null && !questionTemplateId.isEmpty())
+          .distinct()
+          .map(questionTemplateId -> indexQuestion(submission, questionTemplateId))
+          .toArray(CompletableFuture[]::new);
+
+      return effects().asyncDone(CompletableFuture.allOf(writes).thenApply(done -> Done.getInstance()));
+    }
+  }
+
+  private CompletableFuture<Done> indexQuestion(Submission submission, String questionTemplateId) {
+    String questionText = submission.questions().values().stream()
+        .filter(qa -> questionTemplateId.equals(qa.questionTemplateId()))
+        .map(Submission.QuestionAnswer::questionText)
+        .findFirst()
+        .orElse(null);
+
+    return componentClient
+        .forKeyValueEntity(Question.idFor(submission.queueId(), questionTemplateId))
+        .method(QuestionEntity::indexQuestion)
+        .invokeAsync(new Question(submission.queueId(), questionTemplateId, questionText))
+        .toCompletableFuture();
+  }
+}
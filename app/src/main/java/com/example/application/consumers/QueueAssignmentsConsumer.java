@@ -0,0 +1,49 @@
+package com.example.application.consumers;
+
+import akka.javasdk.annotations.Component;
+import akka.javasdk.annotations.Consume;
+import akka.javasdk.annotations.DeleteHandler;
+import akka.javasdk.client.ComponentClient;
+import akka.javasdk.consumer.Consumer;
+import com.example.domain.JudgeAssignment;
+import com.example.domain.entities.JudgeAssignmentEntity;
+import com.example.domain.entities.QueueEntity;
+
+/**
+ * Consumer that keeps queue summaries up to date with judge assignments.
+ */
+@Component(id = "queue-assignments-consumer")
+@Consume.FromKeyValueEntity(JudgeAssignmentEntity.class)
+public class QueueAssignmentsConsumer extends Consumer {
+
+  private final ComponentClient componentClient;
+
+  public QueueAssignmentsConsumer(ComponentClient componentClient) {
+    this.componentClient = componentClient;
+  }
+
+  public Effect onUpdate(JudgeAssignment assignment) {
+    return recordJudgeCount(assignment.queueId(), assignment.questionTemplateId(), assignment.judgeIds().size());
+  }
+
+  @DeleteHandler
+  public Effect onDelete() {
+    // Entity id format: "queueId|questionTemplateId"
+    String[] parts = messageContext().eventSubject().orElse("").split("\\|");
+    if (parts.length != 2) {
+      return effects().ignore();
+    }
+    return recordJudgeCount(parts[0], parts[1], 0);
+  }
+
+  private Effect recordJudgeCount(String queueId, String questionTemplateId, int judgeCount) {
+    if (queueId == null || queueId.isEmpty()) {
+      return effects().ignore();
+    }
+    componentClient
+        .forKeyValueEntity(queueId)
+        .method(QueueEntity::recordAssignment)
+        .invoke(new QueueEntity.RecordAssignmentRequest(questionTemplateId, judgeCount));
+    return effects().done();
+  }
+}
@@ -0,0 +1,62 @@
+package com.example.application.consumers;
+
+import akka.javasdk.annotations.Component;
+import akka.javasdk.annotations.Consume;
+import akka.javasdk.client.ComponentClient;
+import akka.javasdk.consumer.Consumer;
+import com.example.domain.Submission;
+import com.example.domain.entities.QueueEntity;
+import com.example.domain.entities.QueueSubmissionEntity;
+import com.example.domain.entities.SubmissionsEntity;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Consumer that keeps queue summaries up to date with imported submissions.
+ * Each submission is counted once per queue, tracked by QueueSubmissionEntity.
+ */
+@Component(id = "queue-submissions-consumer")
+@Consume.FromEventSourcedEntity(SubmissionsEntity.class)
+public class QueueSubmissionsConsumer extends Consumer {
+
+  private final ComponentClient componentClient;
+
+  public QueueSubmissionsConsumer(ComponentClient componentClient) {
+    this.componentClient = componentClient;
+  }
+
+  public Effect onEvent(SubmissionsEntity.SubmissionEvent event) {
+    Submission submission = switch (event) {
+      case SubmissionsEntity.SubmissionEvent.SubmissionImported imported -> imported.submission();
+      case SubmissionsEntity.SubmissionEvent.SubmissionImportedCompressed compressed -> compressed.submission();
+    };
+    String queueId = submission.queueId();
+
+    if (queueId == null || queueId.isEmpty()) {
+      return effects().ignore();
+    } else {
+      Set<String> questionTemplateIds = submission.questions().values().stream()
+          .map(Submission.QuestionAnswer::questionTemplateId)
+          .filter(questionTemplateId -> questionTemplateId != null && !questionTemplateId.isEmpty())
+          .collect(Collectors.toSet());
+      Instant importedAt = messageContext().metadata().asCloudEvent().time()
+          .map(time -> time.toInstant())
+          .orElseGet(Instant::now);
+
+      var marker = componentClient.forKeyValueEntity(QueueSubmissionEntity.idFor(queueId, submission.submissionId()));
+      if (marker.method(QueueSubmissionEntity::isRecorded).invoke()) {
+        return effects().done();
+      }
+
+      // Counted first, then marked: a redelivery between the two is caught by the queue's recent-submission window
+      componentClient
+          .forKeyValueEntity(queueId)
+          .method(QueueEntity::recordSubmission)
+          .invoke(new QueueEntity.RecordSubmissionRequest(submission.submissionId(), questionTemplateIds, importedAt));
+      marker.method(QueueSubmissionEntity::markRecorded).invoke();
+      return effects().done();
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.example.application.continuous;
+
+import akka.javasdk.annotations.Component;
+import akka.javasdk.client.ComponentClient;
+import akka.javasdk.timedaction.TimedAction;
+import com.typesafe.config.Config;
+
+/**
+ * Timed action that starts a continuous run for a queue's pending batch once the batch has waited
+ * ai-judge.continuous.max-delay, so a partial batch is not held back waiting for more submissions.
+ * Scheduled by ContinuousEvaluationConsumer when a submission opens a batch.
+ */
+@Component(id = "continuous-flush")
+public class ContinuousFlushAction extends TimedAction {
+
+  private final ContinuousRunStarter starter;
+
+  public ContinuousFlushAction(ComponentClient componentClient, Config config) {
+    this.starter = new ContinuousRunStarter(componentClient, config);
+  }
+
+  public Effect flush(String queueId) {
+    starter.flush(queueId);
+    return effects().done();
+  }
+}
@@ -0,0 +1,211 @@
+package com.example.application.continuous;
+
+import akka.javasdk.client.ComponentClient;
+import com.example.application.planning.RunPlanner;
+import com.example.application.workflows.RunEvaluationsWorkflow;
+import com.example.domain.Run;
+import com.example.domain.entities.ContinuousEvaluationEntity;
+import com.example.domain.entities.RunEntity;
+import com.typesafe.config.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Starts a CONTINUOUS run over the pending micro-batch of a queue with continuous evaluation enabled.
+ *
+ * The batch is planned against the queue's current judge assignments for its submissions only, so
+ * new submissions are evaluated within seconds of import without replanning the whole queue.
+ * Used by ContinuousEvaluationConsumer when a batch is full and by ContinuousFlushAction when a
+ * batch has waited ai-judge.continuous.max-delay.
+ */
+public class ContinuousRunStarter {
+
+  private static final Logger logger = LoggerFactory.getLogger(ContinuousRunStarter.class);
+
+  private final ComponentClient componentClient;
+  private final RunPlanner planner;
+  private final Run.RunPriority priority;
+  private final Duration runDeadline;
+
+  public ContinuousRunStarter(ComponentClient componentClient, Config config) {
+    this.componentClient = componentClient;
+    this.planner = new RunPlanner(componentClient);
+    this.priority = Run.RunPriority.valueOf(config.getString("ai-judge.continuous.priority"));
+    this.runDeadline = config.getDuration("ai-judge.deadlines.run");
+  }
+
+  /**
+   * Timer that flushes the pending batch of a queue.
+   */
+  public static String flushTimerName(String queueId) {
+    return "continuous-flush-" + queueId;
+  }
+
+  public static int maxBatchSize(Config config) {
+    return config.getInt("ai-judge.continuous.max-batch-size");
+  }
+
+  public static Duration maxDelay(Config config) {
+    return config.getDuration("ai-judge.continuous.max-delay");
+  }
+
+  /**
+   * Takes the pending batch of the queue in flight and starts a run for it under the batch's run id.
+   * The batch is only acknowledged once the run's workflow has started, so a flush that fails or is
+   * interrupted leaves it in flight, and the next flush starts it again under the same run id.
+   * If the run cannot be started, it is marked FAILED and the batch's submissions go back to the
+   * pending batch, to be started under a new run id; the error is rethrown so the caller retries.
+   * A batch found in flight is started first, then the pending batch; if its run already started,
+   * the batch is only acknowledged.
+   *
+   * @return the id of the last started run, or empty if the batch was empty or has nothing to evaluate
+   */
+  public Optional<String> flush(String queueId) {
+    ContinuousEvaluationEntity.InFlightBatch batch = componentClient
+        .forKeyValueEntity(queueId)
+        .method(ContinuousEvaluationEntity::startBatch)
+        .invoke();
+
+    if (batch.isEmpty()) {
+      return Optional.empty();
+    }
+
+    Optional<String> started = start(queueId, batch);
+    if (batch.resumed()) {
+      Optional<String> next = flush(queueId);
+      return next.isPresent() ? next : started;
+    }
+    return started;
+  }
+
+  private Optional<String> start(String queueId, ContinuousEvaluationEntity.InFlightBatch batch) {
+    String runId = batch.runId();
+    if (onlyAcknowledges(batch, () -> workflowStarted(runId))) {
+      // Started by an earlier flush that could not acknowledge the batch; replanning could differ
+      logger.info("Continuous run {} of queue {} already started, acknowledging its batch", runId, queueId);
+      completeBatch(queueId, runId);
+      return Optional.of(runId);
+    }
+
+    boolean runStarted = false;
+    try {
+      RunPlanner.Plan plan = planner.planSubmissions(queueId, batch.submissionIds());
+      if (plan.tasks().isEmpty()) {
+        logger.info("No judges to run for {} new submissions in queue {}", batch.submissionIds().size(), queueId);
+        if (batch.resumed()) {
+          // An earlier flush may have created the run before the judges were unassigned
+          failRun(runId);
+        }
+        completeBatch(queueId, runId);
+        return Optional.empty();
+      }
+
+      Instant deadline = runDeadline(batch.startedAt());
+      componentClient
+          .forEventSourcedEntity(runId)
+          .method(RunEntity::startRun)
+          .invoke(new RunEntity.StartRunRequest(queueId, plan.tupleCount(), deadline));
+      if (batch.resumed()) {
+        // The run may exist from an earlier flush that planned under other judge assignments
+        componentClient
+            .forEventSourcedEntity(runId)
+            .method(RunEntity::planRun)
+            .invoke(plan.tupleCount());
+      }
+
+      componentClient
+          .forWorkflow(runId)
+          .method(RunEvaluationsWorkflow::startPlannedRun)
+          .invoke(new RunEvaluationsWorkflow.StartPlannedRunRequest(
+              queueId, Run.RunMode.CONTINUOUS, priority, plan.tasks(), deadline));
+      runStarted = true;
+
+      completeBatch(queueId, runId);
+      logger.info("Started continuous run {} for {} new submissions in queue {}",
+          runId, batch.submissionIds().size(), queueId);
+      return Optional.of(runId);
+
+    } catch (Exception e) {
+      if (!abandonsBatch(runStarted, () -> workflowStarted(runId))) {
+        // The run is going; the batch stays in flight and the next flush acknowledges it
+        logger.error("Failed to acknowledge continuous run {} of queue {}", runId, queueId, e);
+        throw e;
+      }
+      logger.error("Failed to start continuous run {} for queue {}, requeueing {} submissions",
+          runId, queueId, batch.submissionIds().size(), e);
+      failRun(runId);
+      componentClient
+          .forKeyValueEntity(queueId)
+          .method(ContinuousEvaluationEntity::returnBatch)
+          .invoke(runId);
+      throw e;
+    }
+  }
+
+  /**
+   * Whether an in-flight batch only needs acknowledging: it was left in flight by an earlier flush
+   * whose run did start. Such a batch is never planned again, as judge assignments may have changed
+   * since. A new batch cannot have a run yet, so its workflow is not asked.
+   */
+  static boolean onlyAcknowledges(ContinuousEvaluationEntity.InFlightBatch batch, BooleanSupplier workflowStarted) {
+    return batch.resumed() && workflowStarted.getAsBoolean();
+  }
+
+  /**
+   * Whether a batch whose start failed is given up, its run marked FAILED and its submissions
+   * requeued. Never once its workflow has started, as that run is live and evaluates the batch; if
+   * that cannot be checked, the batch stays in flight for the next flush to find out.
+   */
+  static boolean abandonsBatch(boolean runStarted, BooleanSupplier workflowStarted) {
+    if (runStarted) {
+      return false;
+    }
+    try {
+      return !workflowStarted.getAsBoolean();
+    } catch (RuntimeException e) {
+      logger.warn("Could not check whether a continuous run started: {}", e.getMessage());
+      return false;
+    }
+  }
+
+  private boolean workflowStarted(String runId) {
+    return componentClient
+        .forWorkflow(runId)
+        .method(RunEvaluationsWorkflow::isStarted)
+        .invoke();
+  }
+
+  private void completeBatch(String queueId, String runId) {
+    componentClient
+        .forKeyValueEntity(queueId)
+        .method(ContinuousEvaluationEntity::completeBatch)
+        .invoke(runId);
+  }
+
+  /**
+   * Marks the run of a batch that could not be started FAILED, so it is not left RUNNING.
+   * The run may never have been created, in which case there is nothing to mark.
+   */
+  private void failRun(String runId) {
+    try {
+      componentClient
+          .forEventSourcedEntity(runId)
+          .method(RunEntity::failRun)
+          .invoke();
+    } catch (Exception e) {
+      logger.warn("Could not mark continuous run {} failed: {}", runId, e.getMessage());
+    }
+  }
+
+  /**
+   * ai-judge.deadlines.run from when the batch was taken; null if it is 0 (none).
+   */
+  private Instant runDeadline(Instant batchStartedAt) {
+    return runDeadline.isZero() || runDeadline.isNegative() ? null : batchStartedAt.plus(runDeadline);
+  }
+}
@@ -0,0 +1,237 @@
+package com.example.application.llm;
+
+import com.example.domain.EvaluationResponse;
+import com.typesafe.config.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * LLMProvider decorator that adapts the number of calls in flight per model.
+ *
+ * Uses additive increase / multiplicative decrease on each model's limit:
+ * - While latency stays flat the limit grows by about one per limit's worth of successful calls
+ * - A 429, 503 or timeout halves it
+ * - A window of calls whose p99 latency rises well above the model's baseline shrinks it by 10%
+ *
+ * Calls over the limit wait for a slot, so a run converges on the highest concurrency the
+ * provider sustains without throttling. Limits are local to a service instance.
+ */
+public class AdaptiveLLMProvider implements LLMProvider {
+
+  private static final Logger logger = LoggerFactory.getLogger(AdaptiveLLMProvider.class);
+
+  private static final double OVERLOAD_BACKOFF = 0.5;
+  private static final double LATENCY_BACKOFF = 0.9;
+  // Weight of the newest window in the baseline p99, so the baseline follows slow drift but not spikes
+  private static final double BASELINE_ALPHA = 0.1;
+
+  private final LLMProvider delegate;
+  private final Settings settings;
+  private final LongSupplier nanoClock;
+  private final Map<String, ModelLimit> limitsByModel = new ConcurrentHashMap<>();
+
+  public AdaptiveLLMProvider(LLMProvider delegate, Settings settings) {
+    this(delegate, settings, System::nanoTime);
+  }
+
+  AdaptiveLLMProvider(LLMProvider delegate, Settings settings, LongSupplier nanoClock) {
+    this.delegate = delegate;
+    this.settings = settings;
+    this.nanoClock = nanoClock;
+  }
+
+  @Override
+  public EvaluationResponse evaluate(String systemPrompt, String userPrompt, String model) throws LLMException {
+    return evaluate(systemPrompt, userPrompt, model, Deadline.NONE);
+  }
+
+  /**
+   * Waits for a slot no longer than the deadline allows, then passes the deadline on.
+   */
+  @Override
+  public EvaluationResponse evaluate(String systemPrompt, String userPrompt, String model, Deadline deadline)
+      throws LLMException {
+    ModelLimit limit = limitsByModel.computeIfAbsent(model, ModelLimit::new);
+    long startedAt = limit.acquire(deadline);
+    try {
+      EvaluationResponse response = delegate.evaluate(systemPrompt, userPrompt, model, deadline);
+      limit.onSuccess(startedAt);
+      return response;
+    } catch (LLMException e) {
+      if (e.isOverload()) {
+        limit.onOverload(startedAt);
+      } else {
+        limit.release();
+      }
+      throw e;
+    } catch (RuntimeException e) {
+      limit.release();
+      throw e;
+    }
+  }
+
+  /**
+   * Current in-flight limit of a model, or the initial limit if it has not been called yet.
+   */
+  public int currentLimit(String model) {
+    ModelLimit limit = limitsByModel.get(model);
+    return limit == null ? settings.initialLimit() : limit.currentLimit();
+  }
+
+  /**
+   * @param initialLimit     in-flight limit of a model before anything has been observed
+   * @param minLimit         lowest the limit backs off to
+   * @param maxLimit         highest the limit grows to
+   * @param latencyTolerance how far a window's p99 may rise above the baseline before backing off
+   * @param window           number of successful calls per latency window
+   */
+  public record Settings(int initialLimit, int minLimit, int maxLimit, double latencyTolerance, int window) {
+
+    public Settings {
+      if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+        throw new IllegalArgumentException("Require 1 <= min-limit <= initial-limit <= max-limit");
+      }
+      if (latencyTolerance <= 1.0 || window < 1) {
+        throw new IllegalArgumentException("latency-tolerance must be above 1 and window at least 1");
+      }
+    }
+
+    public static Settings fromConfig(Config config) {
+      Config adaptive = config.getConfig("ai-judge.adaptive-concurrency");
+      return new Settings(
+          adaptive.getInt("initial-limit"),
+          adaptive.getInt("min-limit"),
+          adaptive.getInt("max-limit"),
+          adaptive.getDouble("latency-tolerance"),
+          adaptive.getInt("window")
+      );
+    }
+  }
+
+  private final class ModelLimit {
+    private final String model;
+
+    // Guarded by lock; a lock rather than synchronized/wait so waiting virtual threads do not pin their carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+    private double limit = settings.initialLimit();
+    private int inFlight = 0;
+    private long lastBackoffAt = Long.MIN_VALUE;
+    private final long[] windowNanos = new long[settings.window()];
+    private int windowCount = 0;
+    private double baselineP99Nanos = Double.NaN;
+
+    ModelLimit(String model) {
+      this.model = model;
+    }
+
+    int currentLimit() {
+      lock.lock();
+      try {
+        return (int) limit;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Waits for a slot under the limit, until the deadline at most, and returns the call's start time.
+     */
+    long acquire(Deadline deadline) throws LLMException {
+      lock.lock();
+      try {
+        while (inFlight >= (int) limit) {
+          try {
+            if (deadline.isNone()) {
+              slotFreed.await();
+            } else if (deadline.isExpired()) {
+              throw new DeadlineExceededException("Waiting for an LLM call slot for " + model + " exceeded its deadline");
+            } else {
+              slotFreed.awaitNanos(deadline.remainingNanos());
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LLMException("Interrupted while waiting for an LLM call slot for " + model, e);
+          }
+        }
+        inFlight++;
+        return nanoClock.getAsLong();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void release() {
+      lock.lock();
+      try {
+        inFlight--;
+        slotFreed.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void onSuccess(long startedAt) {
+      lock.lock();
+      try {
+        // Only grow a limit that is being used; an idle model would otherwise grow without bound
+        if (inFlight * 2 >= limit) {
+          limit = Math.min(settings.maxLimit(), limit + 1.0 / limit);
+        }
+        windowNanos[windowCount++] = nanoClock.getAsLong() - startedAt;
+        if (windowCount == windowNanos.length) {
+          closeWindow(startedAt);
+        }
+        release();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void onOverload(long startedAt) {
+      lock.lock();
+      try {
+        backOff(OVERLOAD_BACKOFF, startedAt, "provider overloaded");
+        release();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void closeWindow(long startedAt) {
+      long[] sorted = Arrays.copyOf(windowNanos, windowCount);
+      Arrays.sort(sorted);
+      double p99 = sorted[Math.max(0, (int) Math.ceil(sorted.length * 0.99) - 1)];
+      windowCount = 0;
+
+      if (Double.isNaN(baselineP99Nanos)) {
+        baselineP99Nanos = p99;
+      } else if (p99 > baselineP99Nanos * settings.latencyTolerance()) {
+        backOff(LATENCY_BACKOFF, startedAt, "p99 latency rising");
+      } else {
+        baselineP99Nanos += BASELINE_ALPHA * (p99 - baselineP99Nanos);
+      }
+    }
+
+    /**
+     * Shrinks the limit once per congestion episode: calls that started before the last
+     * back-off were sent under the old limit and do not shrink it again.
+     */
+    private void backOff(double ratio, long startedAt, String reason) {
+      if (startedAt <= lastBackoffAt) {
+        return;
+      }
+      double previous = limit;
+      limit = Math.max(settings.minLimit(), limit * ratio);
+      lastBackoffAt = nanoClock.getAsLong();
+      logger.info("Lowered LLM concurrency for {} from {} to {}: {}", model, (int) previous, (int) limit, reason);
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package com.example.application.llm;
+
+import com.example.domain.EvaluationResponse;
+import com.example.domain.Fingerprints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LLMProvider decorator that coalesces identical in-flight calls (single flight).
+ *
+ * Calls are keyed by a fingerprint of model, system prompt and user prompt. While a call is in
+ * flight, identical calls wait for it and share its response or failure instead of sending their
+ * own request. Nothing is cached: once the call returns, the next identical call goes to the provider.
+ * This removes duplicate load when overlapping runs over the same queue evaluate the same answers.
+ */
+public class CoalescingLLMProvider implements LLMProvider {
+
+  private static final Logger logger = LoggerFactory.getLogger(CoalescingLLMProvider.class);
+
+  private final LLMProvider delegate;
+  private final Map<String, CompletableFuture<EvaluationResponse>> inFlight = new ConcurrentHashMap<>();
+  private final AtomicLong coalescedCalls = new AtomicLong();
+
+  public CoalescingLLMProvider(LLMProvider delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public EvaluationResponse evaluate(String systemPrompt, String userPrompt, String model) throws LLMException {
+    return evaluate(systemPrompt, userPrompt, model, Deadline.NONE);
+  }
+
+  /**
+   * The call that reaches the provider carries its own caller's deadline; a caller that joins it
+   * waits until its own deadline at most, and shares the failure if the leader's deadline passes first.
+   */
+  @Override
+  public EvaluationResponse evaluate(String systemPrompt, String userPrompt, String model, Deadline deadline)
+      throws LLMException {
+    String key = Fingerprints.of(model, systemPrompt, userPrompt);
+    CompletableFuture<EvaluationResponse> call = new CompletableFuture<>();
+    CompletableFuture<EvaluationResponse> leader = inFlight.putIfAbsent(key, call);
+    if (leader != null) {
+      coalescedCalls.incrementAndGet();
+      logger.debug("Joined in-flight {} call {}", model, key);
+      return await(leader, deadline, model);
+    }
+
+    try {
+      EvaluationResponse response = delegate.evaluate(systemPrompt, userPrompt, model, deadline);
+      call.complete(response);
+      return response;
+    } catch (LLMException | RuntimeException e) {
+      call.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, call);
+    }
+  }
+
+  /**
+   * Number of calls that shared another call's response instead of reaching the provider.
+   */
+  public long coalescedCalls() {
+    return coalescedCalls.get();
+  }
+
+  private static EvaluationResponse await(CompletableFuture<EvaluationResponse> call, Deadline deadline, String model)
+      throws LLMException {
+    try {
+      return deadline.isNone() ? call.get() : call.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      throw new DeadlineExceededException(model + " call exceeded its deadline");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new LLMException("Interrupted while waiting for LLM response", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof LLMException llmException) {
+        throw llmException;
+      }
+      throw new LLMException("Unexpected error: " + e.getCause().getMessage(), e.getCause());
+    }
+  }
+}
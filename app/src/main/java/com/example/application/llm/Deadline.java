@@ -0,0 +1,79 @@
+package com.example.application.llm;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Point in time by which a call must have returned, on the System.nanoTime() clock.
+ *
+ * An evaluation task creates one deadline and passes it down through JudgeAgent and the provider
+ * decorators to the HTTP call, so waiting for a slot, a hedge, a coalesced call or the response
+ * itself all stop at the same moment instead of each applying its own timeout.
+ */
+public record Deadline(long nanoTime) {
+
+  /**
+   * No deadline: wait as long as the call takes.
+   */
+  public static final Deadline NONE = new Deadline(Long.MAX_VALUE);
+
+  public static Deadline after(Duration timeout) {
+    if (timeout.getSeconds() >= Long.MAX_VALUE / 1_000_000_000L) {
+      return NONE;
+    }
+    long now = System.nanoTime();
+    long nanos = timeout.toNanos();
+    return new Deadline(nanos >= Long.MAX_VALUE - now ? Long.MAX_VALUE : now + nanos);
+  }
+
+  /**
+   * Deadline at a wall-clock instant, e.g. a run deadline persisted with the run; NONE if null.
+   */
+  public static Deadline at(Instant instant) {
+    if (instant == null) {
+      return NONE;
+    }
+    Duration left = Duration.between(Instant.now(), instant);
+    return after(left.isNegative() ? Duration.ZERO : left);
+  }
+
+  public boolean isNone() {
+    return nanoTime == Long.MAX_VALUE;
+  }
+
+  public boolean isExpired() {
+    return !isNone() && System.nanoTime() - nanoTime >= 0;
+  }
+
+  /**
+   * Nanoseconds left, 0 once expired, or Long.MAX_VALUE for NONE.
+   */
+  public long remainingNanos() {
+    if (isNone()) {
+      return Long.MAX_VALUE;
+    }
+    return Math.max(0L, nanoTime - System.nanoTime());
+  }
+
+  /**
+   * Whichever of the two deadlines comes first.
+   */
+  public Deadline earliest(Deadline other) {
+    if (isNone()) {
+      return other;
+    }
+    if (other.isNone()) {
+      return this;
+    }
+    return nanoTime - other.nanoTime <= 0 ? this : other;
+  }
+
+  /**
+   * @throws DeadlineExceededException if the deadline has passed
+   */
+  public void check(String what) throws DeadlineExceededException {
+    if (isExpired()) {
+      throw new DeadlineExceededException(what + " exceeded its deadline");
+    }
+  }
+}
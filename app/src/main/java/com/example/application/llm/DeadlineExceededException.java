@@ -0,0 +1,12 @@
+package com.example.application.llm;
+
+/**
+ * Thrown when a call gives up because its Deadline passed.
+ * Not an overload: the deadline belongs to the caller, so adaptive concurrency does not back off on it.
+ */
+public class DeadlineExceededException extends LLMException {
+
+  public DeadlineExceededException(String message) {
+    super(message);
+  }
+}
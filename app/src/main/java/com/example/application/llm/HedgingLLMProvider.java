@@ -0,0 +1,300 @@
+package com.example.application.llm;
+
+import com.example.domain.EvaluationResponse;
+import com.typesafe.config.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LLMProvider decorator that hedges slow calls.
+ *
+ * When a call has not returned after the model's recent latency percentile (e.g. p95), the same
+ * request is sent again and whichever succeeds first is returned. A call only fails if both do.
+ * Hedges are capped at a fraction of all calls, so a provider-wide slowdown cannot double spend,
+ * and nothing is hedged until a model has enough latency samples.
+ *
+ * The losing call is cancelled: its thread is interrupted, which frees a call slot it is waiting for
+ * and aborts its HTTP call, and an attempt that has not reached the delegate yet never does.
+ * Tokens a losing call has already spent are still billed.
+ */
+public class HedgingLLMProvider implements LLMProvider {
+
+  private static final Logger logger = LoggerFactory.getLogger(HedgingLLMProvider.class);
+
+  private final LLMProvider delegate;
+  private final Settings settings;
+  private final ExecutorService executor;
+  private final Map<String, LatencyWindow> latenciesByModel = new ConcurrentHashMap<>();
+
+  private final AtomicLong calls = new AtomicLong();
+  private final AtomicLong hedges = new AtomicLong();
+  private final AtomicLong hedgeWins = new AtomicLong();
+
+  public HedgingLLMProvider(LLMProvider delegate, Settings settings) {
+    this(delegate, settings, Executors.newCachedThreadPool(daemonThreads()));
+  }
+
+  /**
+   * @param executor runs the primary and hedge attempts
+   */
+  public HedgingLLMProvider(LLMProvider delegate, Settings settings, ExecutorService executor) {
+    this.delegate = delegate;
+    this.settings = settings;
+    this.executor = executor;
+  }
+
+  @Override
+  public EvaluationResponse evaluate(String systemPrompt, String userPrompt, String model) throws LLMException {
+    return evaluate(systemPrompt, userPrompt, model, Deadline.NONE);
+  }
+
+  /**
+   * Both attempts get the caller's deadline, and waiting for either stops at it.
+   * A call whose deadline comes before its hedge delay is never hedged.
+   */
+  @Override
+  public EvaluationResponse evaluate(String systemPrompt, String userPrompt, String model, Deadline deadline)
+      throws LLMException {
+    LatencyWindow latencies = latenciesByModel.computeIfAbsent(model, m -> new LatencyWindow(settings.window()));
+    calls.incrementAndGet();
+
+    // Completed by the first attempt to succeed; an attempt that has not started by then never calls the delegate
+    CompletableFuture<EvaluationResponse> won = new CompletableFuture<>();
+    Attempt primary = attempt(systemPrompt, userPrompt, model, deadline, latencies, won);
+    Optional<Duration> delay = hedgeDelay(latencies);
+    if (delay.isEmpty() || delay.get().toNanos() >= deadline.remainingNanos()) {
+      return await(primary.result(), deadline, model);
+    }
+
+    try {
+      return primary.result().get(delay.get().toNanos(), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      // Slower than the model's hedge percentile; hedge below if the budget allows
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new LLMException("Interrupted while waiting for LLM response", e);
+    } catch (ExecutionException e) {
+      throw unwrap(e);
+    }
+
+    if (!reserveHedge()) {
+      return await(primary.result(), deadline, model);
+    }
+
+    logger.debug("Hedging {} call after {} ms", model, delay.get().toMillis());
+    Attempt hedge = attempt(systemPrompt, userPrompt, model, deadline, latencies, won);
+    try {
+      EvaluationResponse response = await(firstSuccess(primary.result(), hedge.result()), deadline, model);
+      if (hedge.returned(response)) {
+        hedgeWins.incrementAndGet();
+      }
+      return response;
+    } finally {
+      // The loser, or both when the deadline passed first; cancelling a finished attempt does nothing
+      primary.cancel();
+      hedge.cancel();
+    }
+  }
+
+  /**
+   * Call, hedge and hedge win counts since the service started.
+   */
+  public Metrics metrics() {
+    return new Metrics(calls.get(), hedges.get(), hedgeWins.get());
+  }
+
+  /**
+   * @param hedges    duplicate requests sent
+   * @param hedgeWins hedges that returned before the original request
+   */
+  public record Metrics(long calls, long hedges, long hedgeWins) {}
+
+  /**
+   * @param percentile   latency percentile of a model after which a call is hedged, e.g. 0.95
+   * @param minDelay     never hedge earlier than this
+   * @param maxHedgeRate highest fraction of calls that may be hedged
+   * @param minSamples   latency samples a model needs before its calls are hedged
+   * @param window       number of recent latency samples kept per model
+   */
+  public record Settings(double percentile, Duration minDelay, double maxHedgeRate, int minSamples, int window) {
+
+    public Settings {
+      if (percentile <= 0 || percentile >= 1 || maxHedgeRate < 0 || maxHedgeRate > 1) {
+        throw new IllegalArgumentException("percentile must be in (0, 1) and max-hedge-rate in [0, 1]");
+      }
+      if (minSamples < 1 || window < minSamples) {
+        throw new IllegalArgumentException("Require 1 <= min-samples <= window");
+      }
+    }
+
+    public static Settings fromConfig(Config config) {
+      Config hedging = config.getConfig("ai-judge.hedging");
+      return new Settings(
+          hedging.getDouble("percentile"),
+          hedging.getDuration("min-delay"),
+          hedging.getDouble("max-hedge-rate"),
+          hedging.getInt("min-samples"),
+          hedging.getInt("window")
+      );
+    }
+  }
+
+  private Attempt attempt(String systemPrompt, String userPrompt, String model, Deadline deadline,
+      LatencyWindow latencies, CompletableFuture<EvaluationResponse> won) {
+    CompletableFuture<EvaluationResponse> result = new CompletableFuture<>();
+    Future<?> task = executor.submit(() -> {
+      if (won.isDone() || result.isDone() || Thread.currentThread().isInterrupted()) {
+        // The call was settled or cancelled before this attempt reached the delegate
+        result.cancel(false);
+        return;
+      }
+      long startedAt = System.nanoTime();
+      try {
+        EvaluationResponse response = delegate.evaluate(systemPrompt, userPrompt, model, deadline);
+        latencies.record(System.nanoTime() - startedAt);
+        won.complete(response);
+        result.complete(response);
+      } catch (Throwable t) {
+        result.completeExceptionally(t);
+      }
+    });
+    return new Attempt(result, task);
+  }
+
+  /**
+   * One call to the delegate: its result, and the executor task making it.
+   */
+  private record Attempt(CompletableFuture<EvaluationResponse> result, Future<?> task) {
+
+    boolean returned(EvaluationResponse response) {
+      return result.isDone() && !result.isCompletedExceptionally() && result.join() == response;
+    }
+
+    /**
+     * Stops the attempt if it is still going: a queued task never runs and a running one is
+     * interrupted, so it gives up its call slot or HTTP call instead of running to its deadline.
+     */
+    void cancel() {
+      if (result.cancel(false)) {
+        task.cancel(true);
+      }
+    }
+  }
+
+  private Optional<Duration> hedgeDelay(LatencyWindow latencies) {
+    return latencies.percentile(settings.percentile(), settings.minSamples())
+        .map(nanos -> Duration.ofNanos(Math.max(nanos, settings.minDelay().toNanos())));
+  }
+
+  /**
+   * Takes a hedge from the budget if hedges stay within max-hedge-rate of all calls.
+   */
+  private boolean reserveHedge() {
+    while (true) {
+      long current = hedges.get();
+      if (current + 1 > settings.maxHedgeRate() * calls.get()) {
+        return false;
+      }
+      if (hedges.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Completes with the first successful response, or exceptionally once both calls have failed.
+   */
+  private static CompletableFuture<EvaluationResponse> firstSuccess(
+      CompletableFuture<EvaluationResponse> first, CompletableFuture<EvaluationResponse> second) {
+    CompletableFuture<EvaluationResponse> result = new CompletableFuture<>();
+    first.whenComplete((response, error) -> {
+      if (error == null) {
+        result.complete(response);
+      } else if (second.isCompletedExceptionally()) {
+        result.completeExceptionally(error);
+      }
+    });
+    second.whenComplete((response, error) -> {
+      if (error == null) {
+        result.complete(response);
+      } else if (first.isCompletedExceptionally()) {
+        result.completeExceptionally(error);
+      }
+    });
+    return result;
+  }
+
+  private static EvaluationResponse await(CompletableFuture<EvaluationResponse> future, Deadline deadline, String model)
+      throws LLMException {
+    try {
+      return deadline.isNone() ? future.get() : future.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      throw new DeadlineExceededException(model + " call exceeded its deadline");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new LLMException("Interrupted while waiting for LLM response", e);
+    } catch (ExecutionException e) {
+      throw unwrap(e);
+    }
+  }
+
+  private static LLMException unwrap(ExecutionException e) {
+    if (e.getCause() instanceof LLMException llmException) {
+      return llmException;
+    }
+    return new LLMException("Unexpected error: " + e.getCause().getMessage(), e.getCause());
+  }
+
+  private static ThreadFactory daemonThreads() {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "llm-hedging-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * Ring buffer of a model's most recent successful call latencies.
+   */
+  private static final class LatencyWindow {
+    private final long[] samples;
+    private int next = 0;
+    private int size = 0;
+
+    LatencyWindow(int capacity) {
+      this.samples = new long[capacity];
+    }
+
+    synchronized void record(long nanos) {
+      samples[next] = nanos;
+      next = (next + 1) % samples.length;
+      size = Math.min(size + 1, samples.length);
+    }
+
+    synchronized Optional<Long> percentile(double percentile, int minSamples) {
+      if (size < minSamples) {
+        return Optional.empty();
+      }
+      long[] sorted = Arrays.copyOf(samples, size);
+      Arrays.sort(sorted);
+      return Optional.of(sorted[Math.max(0, (int) Math.ceil(size * percentile) - 1)]);
+    }
+  }
+}
@@ -1,16 +1,38 @@
 package com.example.application.llm;
 
+import java.io.InterruptedIOException;
+
 /**
  * Exception thrown when LLM provider calls fail.
  */
 public class LLMException extends Exception {
+
+  // HTTP status returned by the provider, or 0 when the call failed without a response
+  private final int statusCode;
   
   public LLMException(String message) {
+    this(message, 0);
+  }
+
+  public LLMException(String message, int statusCode) {
     super(message);
+    this.statusCode = statusCode;
   }
 
   public LLMException(String message, Throwable cause) {
     super(message, cause);
+    this.statusCode = 0;
   }
-}
 
+  public int statusCode() {
+    return statusCode;
+  }
+
+  /**
+   * Whether the provider is overloaded: rate limited (429), unavailable (503) or timing out.
+   * Callers should send less traffic rather than treat the request as bad.
+   */
+  public boolean isOverload() {
+    return statusCode == 429 || statusCode == 503 || getCause() instanceof InterruptedIOException;
+  }
+}
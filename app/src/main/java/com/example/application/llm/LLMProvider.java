@@ -18,5 +18,18 @@ public interface LLMProvider {
    * @throws LLMException if the LLM call fails or returns invalid response
    */
   EvaluationResponse evaluate(String systemPrompt, String userPrompt, String model) throws LLMException;
+
+  /**
+   * Evaluates like evaluate(systemPrompt, userPrompt, model), giving up once the deadline has passed.
+   * Providers and decorators that wait override this to bound their waiting by the deadline;
+   * the default only checks it before calling.
+   *
+   * @throws DeadlineExceededException if the deadline passes before a response is returned
+   */
+  default EvaluationResponse evaluate(String systemPrompt, String userPrompt, String model, Deadline deadline)
+      throws LLMException {
+    deadline.check(model + " call");
+    return evaluate(systemPrompt, userPrompt, model);
+  }
 }
 
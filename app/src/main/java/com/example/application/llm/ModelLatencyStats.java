@@ -0,0 +1,52 @@
+package com.example.application.llm;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Observed LLM call latency per model.
+ * Keeps an exponentially weighted moving average so the estimate follows recent conditions.
+ * Local to a service instance and reset on restart.
+ */
+public class ModelLatencyStats {
+
+  // Weight of the newest sample in the moving average
+  private static final double ALPHA = 0.2;
+
+  private final Map<String, Stats> statsByModel = new ConcurrentHashMap<>();
+
+  public void record(String model, Duration latency) {
+    statsByModel.compute(model, (key, current) -> {
+      double millis = latency.toNanos() / 1_000_000.0;
+      if (current == null) {
+        return new Stats(millis, 1);
+      }
+      return new Stats(current.averageMillis() + ALPHA * (millis - current.averageMillis()), current.samples() + 1);
+    });
+  }
+
+  /**
+   * Average latency of a model, or empty if no call to it has been observed.
+   */
+  public Optional<Duration> averageLatency(String model) {
+    Stats stats = statsByModel.get(model);
+    return stats == null ? Optional.empty() : Optional.of(Duration.ofNanos((long) (stats.averageMillis() * 1_000_000)));
+  }
+
+  /**
+   * Models with at least one observed call.
+   */
+  public Set<String> models() {
+    return Set.copyOf(statsByModel.keySet());
+  }
+
+  public long samples(String model) {
+    Stats stats = statsByModel.get(model);
+    return stats == null ? 0 : stats.samples();
+  }
+
+  private record Stats(double averageMillis, long samples) {}
+}
@@ -37,6 +37,17 @@ public class OpenAIProvider implements LLMProvider {
 
   @Override
   public EvaluationResponse evaluate(String systemPrompt, String userPrompt, String model) throws LLMException {
+    return evaluate(systemPrompt, userPrompt, model, Deadline.NONE);
+  }
+
+  /**
+   * Bounds the whole HTTP call (connect, write, server time and reading the body) by the deadline,
+   * on top of the client's connect and read timeouts.
+   */
+  @Override
+  public EvaluationResponse evaluate(String systemPrompt, String userPrompt, String model, Deadline deadline)
+      throws LLMException {
+    deadline.check("OpenAI call to " + model);
     if (apiKey == null || apiKey.isEmpty()) {
       throw new LLMException("OpenAI API key is not configured. Set OPENAI_API_KEY environment variable.");
     }
@@ -57,11 +68,17 @@ public class OpenAIProvider implements LLMProvider {
       logger.debug("Calling OpenAI API with model: {}", model);
 
       // Execute request
-      try (Response response = httpClient.newCall(request).execute()) {
+      Call call = httpClient.newCall(request);
+      if (!deadline.isNone()) {
+        // A timeout of 0 means none, so a deadline that passed while building the request ends the call here
+        deadline.check("OpenAI call to " + model);
+        call.timeout().timeout(Math.max(1, deadline.remainingNanos()), java.util.concurrent.TimeUnit.NANOSECONDS);
+      }
+      try (Response response = call.execute()) {
         if (!response.isSuccessful()) {
           String errorBody = response.body() != null ? response.body().string() : "No error body";
           logger.error("OpenAI API error: {} - {}", response.code(), errorBody);
-          throw new LLMException("OpenAI API error: " + response.code() + " - " + errorBody);
+          throw new LLMException("OpenAI API error: " + response.code() + " - " + errorBody, response.code());
         }
 
         // Parse response
@@ -80,6 +97,11 @@ public class OpenAIProvider implements LLMProvider {
 
       }
     } catch (IOException e) {
+      if (deadline.isExpired()) {
+        // Cut short by the caller's deadline, not by the provider; not an overload
+        logger.warn("OpenAI call to {} exceeded its deadline", model);
+        throw new DeadlineExceededException("OpenAI call to " + model + " exceeded its deadline");
+      }
       logger.error("IO error calling OpenAI API", e);
       throw new LLMException("Failed to call OpenAI API: " + e.getMessage(), e);
     } catch (Exception e) {
@@ -108,7 +130,7 @@ public class OpenAIProvider implements LLMProvider {
 
   /**
    * Parses the JSON response from OpenAI into EvaluationResponse.
-   * Expects JSON format: {"verdict": "pass|fail|inconclusive", "reasoning": "..."}
+   * Expects JSON format: {"verdict": "pass|fail|inconclusive", "reasoning": "...", "confidence": 0.0-1.0}
    */
   private EvaluationResponse parseEvaluationResponse(String jsonContent) throws LLMException {
     try {
@@ -129,7 +151,14 @@ public class OpenAIProvider implements LLMProvider {
       // Parse and validate verdict
       Evaluation.Verdict verdict = EvaluationResponse.parseVerdict(verdictStr);
 
-      return new EvaluationResponse(verdict, reasoning);
+      // Confidence is optional; anything but a number between 0 and 1 counts as not reported
+      Double confidence = null;
+      if (json.get("confidence") instanceof Number number
+          && number.doubleValue() >= 0.0 && number.doubleValue() <= 1.0) {
+        confidence = number.doubleValue();
+      }
+
+      return new EvaluationResponse(verdict, reasoning, confidence);
 
     } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
       // If JSON parsing fails, try to extract JSON from markdown code blocks
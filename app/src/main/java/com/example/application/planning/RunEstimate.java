@@ -0,0 +1,30 @@
+package com.example.application.planning;
+
+import java.util.Map;
+
+/**
+ * Dry-run estimate of the size, token usage and duration of a run.
+ *
+ * @param taskCount                 LLM calls the run would make, one per distinct answer and judge
+ * @param tupleCount                (submission, question, judge) tuples the run would settle
+ * @param skippedCount              tuples that would be skipped as up to date (incremental mode)
+ * @param tasksByModel              LLM calls per target model
+ * @param estimatedPromptTokens     prompt tokens, extrapolated from a sample of built prompts
+ * @param estimatedCompletionTokens completion tokens at the expected response size
+ * @param estimatedDurationSeconds  projected wall-clock time at the configured concurrency and rate limit
+ * @param concurrency               evaluations in flight the projection assumes
+ * @param latencyObserved           whether every model's latency was observed rather than defaulted
+ */
+public record RunEstimate(
+    String queueId,
+    String mode,
+    int taskCount,
+    int tupleCount,
+    int skippedCount,
+    Map<String, Integer> tasksByModel,
+    long estimatedPromptTokens,
+    long estimatedCompletionTokens,
+    long estimatedDurationSeconds,
+    int concurrency,
+    boolean latencyObserved
+) {}
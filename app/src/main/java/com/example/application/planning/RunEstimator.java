@@ -0,0 +1,193 @@
+package com.example.application.planning;
+
+import akka.javasdk.client.ComponentClient;
+import com.example.application.agents.JudgeAgent;
+import com.example.application.llm.ModelLatencyStats;
+import com.example.application.scheduling.EvaluationScheduler;
+import com.example.application.workflows.RunEvaluationsWorkflowState;
+import com.example.domain.EvaluationRequest;
+import com.example.domain.Run;
+import com.example.domain.Submission;
+import com.example.domain.entities.SubmissionsEntity;
+import com.example.domain.views.JudgesView;
+import com.typesafe.config.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Estimates the cost and duration of a run without starting it.
+ *
+ * - Task count comes from the same RunPlanner the workflow uses
+ * - Tokens are extrapolated from the prompts JudgeAgent builds for a sample of submissions
+ * - Duration is projected from observed per-model latency, the scheduler's concurrency and rate limit
+ * - Tasks of rule judges make no LLM call and count towards neither tokens nor duration
+ */
+public class RunEstimator {
+
+  private static final Logger logger = LoggerFactory.getLogger(RunEstimator.class);
+
+  // Submissions whose prompts are built to estimate the average prompt size
+  private static final int TOKEN_SAMPLE_SUBMISSIONS = 20;
+
+  private final ComponentClient componentClient;
+  private final JudgeAgent judgeAgent;
+  private final EvaluationScheduler scheduler;
+  private final RunPlanner planner;
+  private final Duration defaultLatency;
+
+  public RunEstimator(ComponentClient componentClient, JudgeAgent judgeAgent, EvaluationScheduler scheduler, Config config) {
+    this.componentClient = componentClient;
+    this.judgeAgent = judgeAgent;
+    this.scheduler = scheduler;
+    this.planner = new RunPlanner(componentClient);
+    this.defaultLatency = config.getDuration("ai-judge.estimator.default-latency");
+  }
+
+  /**
+   * @param sourceRunId the run whose failures a RETRY_FAILED run retries; unused by other modes
+   */
+  public RunEstimate estimate(String queueId, Run.RunMode mode, String sourceRunId) {
+    Run.RunMode runMode = mode != null ? mode : Run.RunMode.FULL;
+    RunPlanner.Plan plan = planner.plan(queueId, runMode, sourceRunId);
+    List<RunEvaluationsWorkflowState.EvaluationTask> tasks = plan.tasks();
+
+    Map<String, Integer> tasksByModel = new HashMap<>();
+    int llmTasks = 0;
+    for (RunEvaluationsWorkflowState.EvaluationTask task : tasks) {
+      JudgesView.JudgeEntry judge = plan.activeJudges().get(task.judgeId());
+      if (judge.rule() != null) {
+        continue;
+      }
+      llmTasks++;
+      // A cascading judge calls its first model for every task; escalations are not known in advance
+      String model = judge.cascade() != null ? judge.cascade().firstModel() : judge.targetModel();
+      tasksByModel.merge(model, 1, Integer::sum);
+    }
+
+    long promptTokens = Math.round(averagePromptTokens(queueId, plan) * llmTasks);
+    long completionTokens = (long) JudgeAgent.ESTIMATED_COMPLETION_TOKENS * llmTasks;
+
+    DurationProjection duration = projectDuration(tasksByModel, judgeAgent.latencyStats(), defaultLatency,
+        scheduler.maxConcurrency(), scheduler.maxCallsPerSecond());
+
+    return new RunEstimate(
+        queueId,
+        runMode.name(),
+        tasks.size(),
+        plan.tupleCount(),
+        plan.skippedCount(),
+        tasksByModel,
+        promptTokens,
+        completionTokens,
+        duration.seconds(),
+        scheduler.maxConcurrency(),
+        duration.latencyObserved()
+    );
+  }
+
+  /**
+   * @param latencyObserved whether every model's latency was observed rather than defaulted
+   */
+  record DurationProjection(long seconds, boolean latencyObserved) {}
+
+  /**
+   * Projects how long the LLM calls take: calls to a model take its observed latency (or
+   * defaultLatency until it has been called), concurrent slots divide the total, and the rate limit,
+   * if any, sets a floor.
+   */
+  static DurationProjection projectDuration(
+      Map<String, Integer> tasksByModel,
+      ModelLatencyStats latencyStats,
+      Duration defaultLatency,
+      int maxConcurrency,
+      double maxCallsPerSecond
+  ) {
+    boolean latencyObserved = true;
+    double callMillis = 0;
+    int calls = 0;
+    for (Map.Entry<String, Integer> entry : tasksByModel.entrySet()) {
+      var observed = latencyStats.averageLatency(entry.getKey());
+      latencyObserved &= observed.isPresent();
+      callMillis += entry.getValue() * observed.orElse(defaultLatency).toMillis();
+      calls += entry.getValue();
+    }
+    double durationSeconds = callMillis / 1000.0 / maxConcurrency;
+    if (maxCallsPerSecond > 0) {
+      durationSeconds = Math.max(durationSeconds, calls / maxCallsPerSecond);
+    }
+    return new DurationProjection((long) Math.ceil(durationSeconds), latencyObserved);
+  }
+
+  /**
+   * Builds the prompts of every task of a sample of submissions and returns their average size.
+   */
+  private double averagePromptTokens(String queueId, RunPlanner.Plan plan) {
+    Set<String> sampledSubmissionIds = new LinkedHashSet<>();
+    for (RunEvaluationsWorkflowState.EvaluationTask task : plan.tasks()) {
+      if (plan.activeJudges().get(task.judgeId()).rule() != null) {
+        continue;
+      }
+      if (sampledSubmissionIds.size() == TOKEN_SAMPLE_SUBMISSIONS) {
+        break;
+      }
+      sampledSubmissionIds.add(task.submissionId());
+    }
+
+    Map<String, Submission> submissions = new HashMap<>();
+    for (String submissionId : sampledSubmissionIds) {
+      try {
+        submissions.put(submissionId, componentClient
+            .forEventSourcedEntity(submissionId)
+            .method(SubmissionsEntity::getSubmission)
+            .invoke());
+      } catch (Exception e) {
+        logger.warn("Failed to load submission {} for estimation: {}", submissionId, e.getMessage());
+      }
+    }
+
+    long totalTokens = 0;
+    int sampledTasks = 0;
+    for (RunEvaluationsWorkflowState.EvaluationTask task : plan.tasks()) {
+      JudgesView.JudgeEntry judge = plan.activeJudges().get(task.judgeId());
+      Submission submission = submissions.get(task.submissionId());
+      if (submission == null || judge.rule() != null) {
+        continue;
+      }
+      Submission.QuestionAnswer questionAnswer = submission.questions().values().stream()
+          .filter(qa -> task.questionTemplateId().equals(qa.questionTemplateId()))
+          .findFirst()
+          .orElse(null);
+      if (questionAnswer == null) {
+        continue;
+      }
+
+      totalTokens += judgeAgent.estimatePromptTokens(new EvaluationRequest(
+          "",
+          task.submissionId(),
+          queueId,
+          task.questionTemplateId(),
+          task.judgeId(),
+          questionAnswer.questionText(),
+          questionAnswer.answerChoice(),
+          questionAnswer.answerReasoning(),
+          questionAnswer.metadata(),
+          judge.name(),
+          judge.systemPrompt(),
+          judge.targetModel(),
+          judge.version(),
+          EvaluationRequest.IncludedFields.defaults(),
+          List.of()
+      ));
+      sampledTasks++;
+    }
+
+    return sampledTasks == 0 ? 0 : (double) totalTokens / sampledTasks;
+  }
+}
@@ -0,0 +1,426 @@
+package com.example.application.planning;
+
+import akka.javasdk.client.ComponentClient;
+import com.example.application.workflows.RunEvaluationsWorkflowState;
+import com.example.domain.Run;
+import com.example.domain.Submission;
+import com.example.domain.entities.SubmissionsEntity;
+import com.example.domain.views.EvaluationsView;
+import com.example.domain.views.FailedTasksView;
+import com.example.domain.views.JudgeAssignmentsView;
+import com.example.domain.views.JudgesView;
+import com.example.domain.views.SubmissionsView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Plans the evaluation tasks of a run from the queue's submissions, the questions each one answers,
+ * and the judge assignments of those questions.
+ *
+ * Used by RunEvaluationsWorkflow to plan a run and by the run estimator for dry runs,
+ * so both see the same task count, and by continuous evaluation to plan a batch of new submissions.
+ */
+public class RunPlanner {
+
+  private static final Logger logger = LoggerFactory.getLogger(RunPlanner.class);
+
+  private final ComponentClient componentClient;
+
+  public RunPlanner(ComponentClient componentClient) {
+    this.componentClient = componentClient;
+  }
+
+  /**
+   * The planned tasks of a run.
+   *
+   * @param tasks        one task per distinct answer and active assigned judge; tuples with identical
+   *                     answer content are carried as duplicates of a single task
+   * @param tupleCount   (submission, question, judge) tuples the tasks settle, including duplicates
+   * @param skippedCount tuples left out because they are already up to date (incremental mode)
+   * @param activeJudges the active judges the tasks were planned with, by judgeId
+   */
+  public record Plan(
+      List<RunEvaluationsWorkflowState.EvaluationTask> tasks,
+      int tupleCount,
+      int skippedCount,
+      Map<String, JudgesView.JudgeEntry> activeJudges
+  ) {
+    public static Plan empty() {
+      return new Plan(List.of(), 0, 0, Map.of());
+    }
+  }
+
+  /**
+   * Plans the tasks of a run in the given mode.
+   *
+   * @param sourceRunId the run whose failed tuples a RETRY_FAILED run evaluates; unused by other modes
+   * @throws IllegalArgumentException for CONTINUOUS, which is planned per batch (see planSubmissions)
+   */
+  public Plan plan(String queueId, Run.RunMode mode, String sourceRunId) {
+    return plan(queueId, mode, sourceRunId, null);
+  }
+
+  /**
+   * Plans the tasks of a run in the given mode for a range of submission ids only, e.g. one shard
+   * of a sharded run, or for the whole queue when range is null.
+   */
+  public Plan plan(String queueId, Run.RunMode mode, String sourceRunId, RunEvaluationsWorkflowState.SubmissionRange range) {
+    if (mode == Run.RunMode.CONTINUOUS) {
+      throw new IllegalArgumentException("CONTINUOUS runs are planned from batches of imported submissions");
+    }
+    if (mode == Run.RunMode.RETRY_FAILED) {
+      return planRetry(sourceRunId, range);
+    }
+    return plan(queueId, mode == Run.RunMode.INCREMENTAL, range);
+  }
+
+  /**
+   * Plans the tuples a run failed that no retry has evaluated since, one task each.
+   * Tuples of judges that are no longer active are skipped.
+   */
+  public Plan planRetry(String sourceRunId) {
+    return planRetry(sourceRunId, null);
+  }
+
+  private Plan planRetry(String sourceRunId, RunEvaluationsWorkflowState.SubmissionRange range) {
+    FailedTasksView.FailedTasksResult result = componentClient
+        .forView()
+        .method(FailedTasksView::getFailedTasksByRun)
+        .invoke(sourceRunId);
+
+    if (result == null || result.failedTasks() == null || result.failedTasks().isEmpty()) {
+      logger.info("Run {} has no failed tasks to retry", sourceRunId);
+      return Plan.empty();
+    }
+
+    Map<String, JudgesView.JudgeEntry> activeJudges = loadActiveJudges();
+    List<RunEvaluationsWorkflowState.EvaluationTask> tasks = new ArrayList<>();
+    int skipped = 0;
+    for (FailedTasksView.FailedTaskEntry failed : result.failedTasks()) {
+      if (range != null && !range.contains(failed.submissionId())) {
+        continue;
+      }
+      if (failed.retriedByRunId() != null || !activeJudges.containsKey(failed.judgeId())) {
+        skipped++;
+        continue;
+      }
+      tasks.add(new RunEvaluationsWorkflowState.EvaluationTask(
+          failed.submissionId(), failed.questionTemplateId(), failed.judgeId()));
+    }
+    tasks.sort(Comparator.comparing(RunEvaluationsWorkflowState.EvaluationTask::submissionId));
+
+    logger.info("Planned {} retries of failed tasks of run {} ({} skipped)", tasks.size(), sourceRunId, skipped);
+    return new Plan(tasks, tasks.size(), skipped, activeJudges);
+  }
+
+  /**
+   * Plans the tasks for a queue.
+   *
+   * @param incremental skip tuples already evaluated by the judge's current fingerprint
+   */
+  public Plan plan(String queueId, boolean incremental) {
+    return plan(queueId, incremental, null);
+  }
+
+  private Plan plan(String queueId, boolean incremental, RunEvaluationsWorkflowState.SubmissionRange range) {
+    // Query submissions for this queue, with the questions each one answers
+    SubmissionsView.SubmissionsResult submissionsResult = loadSubmissions(queueId, range);
+
+    if (submissionsResult == null || submissionsResult.submissions() == null || submissionsResult.submissions().isEmpty()) {
+      logger.warn("No submissions found for queue {}", queueId);
+      return Plan.empty();
+    }
+
+    // Query active judges once
+    Map<String, JudgesView.JudgeEntry> activeJudges = loadActiveJudges();
+
+    // Load every question's judge assignments for the queue in one query
+    Map<String, List<String>> assignedJudges = loadAssignedJudges(queueId);
+
+    List<RunEvaluationsWorkflowState.EvaluationTask> answered =
+        answeredTuples(submissionsResult.submissions(), assignedJudges, activeJudges.keySet());
+
+    // In incremental mode, skip tuples already evaluated by the judge's current fingerprint
+    List<RunEvaluationsWorkflowState.EvaluationTask> tasks = incremental
+        ? notYetEvaluated(answered, loadEvaluatedTuples(queueId, range), judgeFingerprints(activeJudges))
+        : answered;
+    int skipped = answered.size() - tasks.size();
+
+    int tupleCount = tasks.size();
+    List<RunEvaluationsWorkflowState.EvaluationTask> uniqueTasks =
+        groupDuplicateAnswers(tasks, contentHashes(submissionsResult.submissions()));
+
+    logger.info("Planned {} evaluation tasks for {} tuples in queue {} ({} already up to date)",
+        uniqueTasks.size(), tupleCount, queueId, skipped);
+
+    return new Plan(uniqueTasks, tupleCount, skipped, activeJudges);
+  }
+
+  /**
+   * One task per answer of each submission and active judge assigned to the answered question.
+   * Questions of the queue that a submission does not answer get no task.
+   */
+  static List<RunEvaluationsWorkflowState.EvaluationTask> answeredTuples(
+      Collection<SubmissionsView.SubmissionEntry> submissions,
+      Map<String, List<String>> assignedJudges,
+      Set<String> activeJudgeIds
+  ) {
+    List<RunEvaluationsWorkflowState.EvaluationTask> tasks = new ArrayList<>();
+    for (SubmissionsView.SubmissionEntry submission : submissions) {
+      for (SubmissionsView.AnswerDigest answer : submission.answers()) {
+        for (String judgeId : assignedJudges.getOrDefault(answer.questionTemplateId(), List.of())) {
+          if (activeJudgeIds.contains(judgeId)) {
+            tasks.add(new RunEvaluationsWorkflowState.EvaluationTask(
+                submission.submissionId(), answer.questionTemplateId(), judgeId));
+          }
+        }
+      }
+    }
+    return tasks;
+  }
+
+  /**
+   * The tuples that have no evaluation by their judge's current fingerprint. A tuple evaluated
+   * only by an older configuration of its judge (or before fingerprints were recorded) is kept.
+   *
+   * @param fingerprints current fingerprint of each judge, by judge id
+   */
+  static List<RunEvaluationsWorkflowState.EvaluationTask> notYetEvaluated(
+      List<RunEvaluationsWorkflowState.EvaluationTask> tuples,
+      Collection<EvaluationsView.EvaluatedTuple> evaluated,
+      Map<String, String> fingerprints
+  ) {
+    Set<String> evaluatedKeys = evaluated.stream()
+        .filter(tuple -> tuple.judgeFingerprint() != null)
+        .map(tuple -> evaluatedKey(
+            tuple.submissionId(), tuple.questionTemplateId(), tuple.judgeId(), tuple.judgeFingerprint()))
+        .collect(Collectors.toSet());
+    return tuples.stream()
+        .filter(task -> !evaluatedKeys.contains(evaluatedKey(
+            task.submissionId(), task.questionTemplateId(), task.judgeId(), fingerprints.get(task.judgeId()))))
+        .toList();
+  }
+
+  /**
+   * Plans the tasks of a queue's current judge assignments for the given submissions only,
+   * e.g. a continuous evaluation batch of newly imported submissions.
+   * Reads each submission instead of the whole queue, so the cost follows the batch size.
+   */
+  public Plan planSubmissions(String queueId, List<String> submissionIds) {
+    Map<String, List<String>> assignedJudges = loadAssignedJudges(queueId);
+    if (assignedJudges.isEmpty()) {
+      logger.debug("No judges assigned in queue {}", queueId);
+      return Plan.empty();
+    }
+    Map<String, JudgesView.JudgeEntry> activeJudges = loadActiveJudges();
+
+    List<RunEvaluationsWorkflowState.EvaluationTask> tasks = new ArrayList<>();
+    Map<String, String> contentHashes = new HashMap<>();
+    for (String submissionId : submissionIds) {
+      Submission submission = componentClient
+          .forEventSourcedEntity(submissionId)
+          .method(SubmissionsEntity::getSubmission)
+          .invoke();
+
+      for (Submission.QuestionAnswer answer : submission.questions().values()) {
+        if (answer.questionTemplateId() == null) {
+          continue;
+        }
+        contentHashes.put(submissionId + "|" + answer.questionTemplateId(), answer.contentHash());
+        for (String judgeId : assignedJudges.getOrDefault(answer.questionTemplateId(), List.of())) {
+          if (activeJudges.containsKey(judgeId)) {
+            tasks.add(new RunEvaluationsWorkflowState.EvaluationTask(
+                submissionId, answer.questionTemplateId(), judgeId));
+          }
+        }
+      }
+    }
+
+    int tupleCount = tasks.size();
+    List<RunEvaluationsWorkflowState.EvaluationTask> uniqueTasks = groupDuplicateAnswers(tasks, contentHashes);
+
+    logger.info("Planned {} evaluation tasks for {} tuples of {} submissions in queue {}",
+        uniqueTasks.size(), tupleCount, submissionIds.size(), queueId);
+    return new Plan(uniqueTasks, tupleCount, 0, activeJudges);
+  }
+
+  /**
+   * Splits planned tasks into shards of roughly tasksPerShard tasks by submission id range.
+   * Tasks are ordered by submission id and a submission's tasks always stay in one shard.
+   */
+  public static List<List<RunEvaluationsWorkflowState.EvaluationTask>> shardBySubmission(
+      List<RunEvaluationsWorkflowState.EvaluationTask> tasks,
+      int tasksPerShard
+  ) {
+    if (tasksPerShard < 1) {
+      throw new IllegalArgumentException("tasksPerShard must be at least 1");
+    }
+    List<RunEvaluationsWorkflowState.EvaluationTask> sorted = new ArrayList<>(tasks);
+    sorted.sort(Comparator.comparing(RunEvaluationsWorkflowState.EvaluationTask::submissionId));
+
+    // Spread tasks evenly over the shards instead of leaving a small last shard
+    int shardCount = Math.max(1, (sorted.size() + tasksPerShard - 1) / tasksPerShard);
+    int targetSize = (sorted.size() + shardCount - 1) / shardCount;
+
+    List<List<RunEvaluationsWorkflowState.EvaluationTask>> shards = new ArrayList<>(shardCount);
+    int start = 0;
+    while (start < sorted.size()) {
+      int end = Math.min(start + targetSize, sorted.size());
+      while (end < sorted.size() && sorted.get(end).submissionId().equals(sorted.get(end - 1).submissionId())) {
+        end++;
+      }
+      shards.add(List.copyOf(sorted.subList(start, end)));
+      start = end;
+    }
+    return shards;
+  }
+
+  /**
+   * Splits planned tasks into shards like shardBySubmission, as contiguous submission id ranges that
+   * together cover every id: a shard then plans its range itself, so the plan is never handed over.
+   */
+  public static List<RunEvaluationsWorkflowState.SubmissionRange> shardRanges(
+      List<RunEvaluationsWorkflowState.EvaluationTask> tasks,
+      int tasksPerShard
+  ) {
+    List<List<RunEvaluationsWorkflowState.EvaluationTask>> shards = shardBySubmission(tasks, tasksPerShard);
+    List<RunEvaluationsWorkflowState.SubmissionRange> ranges = new ArrayList<>(shards.size());
+    for (int shard = 0; shard < shards.size(); shard++) {
+      String from = shard == 0 ? "" : shards.get(shard).get(0).submissionId();
+      String to = shard == shards.size() - 1 ? null : shards.get(shard + 1).get(0).submissionId();
+      ranges.add(new RunEvaluationsWorkflowState.SubmissionRange(from, to));
+    }
+    return ranges;
+  }
+
+  /**
+   * Folds tasks whose answer content is identical for the same judge into one task.
+   * The first tuple is evaluated; the others are listed as its duplicates and get its verdict.
+   */
+  private static List<RunEvaluationsWorkflowState.EvaluationTask> groupDuplicateAnswers(
+      List<RunEvaluationsWorkflowState.EvaluationTask> tasks,
+      Map<String, String> contentHashes
+  ) {
+    Map<String, RunEvaluationsWorkflowState.EvaluationTask> representatives = new LinkedHashMap<>();
+    Map<String, List<RunEvaluationsWorkflowState.DuplicateTuple>> duplicates = new HashMap<>();
+    for (RunEvaluationsWorkflowState.EvaluationTask task : tasks) {
+      String contentHash = contentHashes.get(task.submissionId() + "|" + task.questionTemplateId());
+      // Tuples without a known answer are never grouped
+      String groupKey = contentHash != null
+          ? task.judgeId() + "|" + contentHash
+          : task.judgeId() + "|" + task.submissionId() + "|" + task.questionTemplateId();
+
+      if (representatives.putIfAbsent(groupKey, task) != null) {
+        duplicates.computeIfAbsent(groupKey, key -> new ArrayList<>())
+            .add(new RunEvaluationsWorkflowState.DuplicateTuple(task.submissionId(), task.questionTemplateId()));
+      }
+    }
+
+    return representatives.entrySet().stream()
+        .map(entry -> entry.getValue().withDuplicates(duplicates.getOrDefault(entry.getKey(), List.of())))
+        .toList();
+  }
+
+  /**
+   * Answer content hashes keyed by submissionId|questionTemplateId.
+   */
+  private static Map<String, String> contentHashes(Collection<SubmissionsView.SubmissionEntry> submissions) {
+    Map<String, String> contentHashes = new HashMap<>();
+    for (SubmissionsView.SubmissionEntry submission : submissions) {
+      for (SubmissionsView.AnswerDigest answer : submission.answers()) {
+        contentHashes.put(submission.submissionId() + "|" + answer.questionTemplateId(), answer.contentHash());
+      }
+    }
+    return contentHashes;
+  }
+
+  private SubmissionsView.SubmissionsResult loadSubmissions(
+      String queueId,
+      RunEvaluationsWorkflowState.SubmissionRange range
+  ) {
+    var view = componentClient.forView();
+    if (range == null) {
+      return view.method(SubmissionsView::getSubmissionsByQueue).invoke(queueId);
+    }
+    if (range.toSubmissionId() == null) {
+      return view.method(SubmissionsView::getSubmissionsByQueueFrom)
+          .invoke(new SubmissionsView.QueueFrom(queueId, range.fromSubmissionId()));
+    }
+    return view.method(SubmissionsView::getSubmissionsByQueueRange)
+        .invoke(new SubmissionsView.QueueRange(queueId, range.fromSubmissionId(), range.toSubmissionId()));
+  }
+
+  private Map<String, JudgesView.JudgeEntry> loadActiveJudges() {
+    JudgesView.JudgesResult result = componentClient
+        .forView()
+        .method(JudgesView::getActiveJudges)
+        .invoke();
+
+    Collection<JudgesView.JudgeEntry> judges = result != null && result.judges() != null ? result.judges() : List.of();
+    return judges.stream()
+        .collect(Collectors.toMap(JudgesView.JudgeEntry::judgeId, judge -> judge));
+  }
+
+  /**
+   * Loads the assigned judges of every question in the queue, keyed by questionTemplateId.
+   */
+  private Map<String, List<String>> loadAssignedJudges(String queueId) {
+    JudgeAssignmentsView.AssignmentsResult result = componentClient
+        .forView()
+        .method(JudgeAssignmentsView::getAssignmentsByQueue)
+        .invoke(queueId);
+
+    if (result == null || result.assignments() == null) {
+      return Map.of();
+    }
+    return result.assignments().stream()
+        .collect(Collectors.toMap(
+            JudgeAssignmentsView.AssignmentEntry::questionTemplateId,
+            JudgeAssignmentsView.AssignmentEntry::judgeIds));
+  }
+
+  private static Map<String, String> judgeFingerprints(Map<String, JudgesView.JudgeEntry> judges) {
+    Map<String, String> fingerprints = new HashMap<>();
+    judges.forEach((judgeId, judge) -> fingerprints.put(judgeId, judge.fingerprint()));
+    return fingerprints;
+  }
+
+  /**
+   * Loads every tuple in the queue that already has an evaluation,
+   * with the fingerprint of the judge configuration that produced it.
+   * With a range, only the tuples of its submissions are loaded.
+   */
+  private Collection<EvaluationsView.EvaluatedTuple> loadEvaluatedTuples(
+      String queueId, RunEvaluationsWorkflowState.SubmissionRange range) {
+    var view = componentClient.forView();
+    EvaluationsView.EvaluatedTuplesResult result;
+    if (range == null) {
+      result = view.method(EvaluationsView::getEvaluatedTuplesByQueue).invoke(queueId);
+    } else if (range.toSubmissionId() == null) {
+      result = view.method(EvaluationsView::getEvaluatedTuplesByQueueFrom)
+          .invoke(new EvaluationsView.QueueFrom(queueId, range.fromSubmissionId()));
+    } else {
+      result = view.method(EvaluationsView::getEvaluatedTuplesByQueueRange)
+          .invoke(new EvaluationsView.QueueRange(queueId, range.fromSubmissionId(), range.toSubmissionId()));
+    }
+
+    if (result == null || result.tuples() == null) {
+      return List.of();
+    }
+    return result.tuples();
+  }
+
+  private static String evaluatedKey(String submissionId, String questionTemplateId, String judgeId, String fingerprint) {
+    return submissionId + "|" + questionTemplateId + "|" + judgeId + "|" + fingerprint;
+  }
+}
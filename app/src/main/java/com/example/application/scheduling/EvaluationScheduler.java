@@ -0,0 +1,349 @@
+package com.example.application.scheduling;
+
+import com.example.domain.Run;
+import com.typesafe.config.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service-wide scheduler that all evaluation runs submit their tasks to.
+ *
+ * Responsibilities:
+ * - Caps the number of evaluations in flight across all runs (global concurrency)
+ * - Caps the rate at which evaluations are started (global rate budget)
+ * - Shares both between runs by weighted fair queueing on run priority
+ *
+ * Fairness uses virtual time: each run advances by 1/weight per started task and the
+ * backlogged run with the lowest virtual time goes next. A run that becomes backlogged
+ * starts at the current virtual time, so a small run started behind a large backfill
+ * is served immediately instead of waiting for the backfill to drain.
+ *
+ * A task cancelled before it starts never runs and is not charged: a queued one is
+ * skipped without a permit, and one cancelled between dispatch and start gives its
+ * permit and virtual time back.
+ *
+ * The scheduler is local to a service instance; limits apply per node.
+ * Tasks run on the threads of ai-judge.execution.threads (see ExecutionMode).
+ */
+public class EvaluationScheduler {
+
+  private static final Logger logger = LoggerFactory.getLogger(EvaluationScheduler.class);
+
+  private final int maxConcurrency;
+  private final double maxCallsPerSecond;
+  private final long permitIntervalNanos;
+  private final ExecutorService executor;
+  private final ScheduledExecutorService wakeups;
+
+  // Guarded by this
+  private final Map<String, RunQueue> backlog = new HashMap<>();
+  private final Deque<Job> unmetered = new ArrayDeque<>();
+  private int inFlight = 0;
+  private int unmeteredInFlight = 0;
+  private double virtualTime = 0.0;
+  private long nextPermitAt = 0L;
+  private boolean wakeupPending = false;
+
+  public EvaluationScheduler(Config config) {
+    this(
+        config.getInt("ai-judge.max-concurrent-evaluations"),
+        config.getDouble("ai-judge.scheduler.max-calls-per-second"),
+        ExecutionMode.fromConfig(config).newExecutor("evaluation-scheduler")
+    );
+  }
+
+  /**
+   * @param maxConcurrency    maximum number of tasks running at once across all runs
+   * @param maxCallsPerSecond maximum number of tasks started per second, or 0 for no limit
+   * @param executor          executor that runs the (blocking) tasks
+   */
+  public EvaluationScheduler(int maxConcurrency, double maxCallsPerSecond, ExecutorService executor) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("maxConcurrency must be at least 1");
+    }
+    this.maxConcurrency = maxConcurrency;
+    this.maxCallsPerSecond = Math.max(maxCallsPerSecond, 0);
+    this.permitIntervalNanos = maxCallsPerSecond > 0 ? (long) (1_000_000_000L / maxCallsPerSecond) : 0L;
+    this.executor = executor;
+    this.wakeups = Executors.newSingleThreadScheduledExecutor(namedThreads("evaluation-scheduler-timer"));
+  }
+
+  /**
+   * Maximum number of tasks in flight across all runs.
+   * Runs use this as their batch size so that a run alone can use the full capacity.
+   */
+  public int maxConcurrency() {
+    return maxConcurrency;
+  }
+
+  /**
+   * Maximum number of tasks started per second across all runs, or 0 for no limit.
+   */
+  public double maxCallsPerSecond() {
+    return maxCallsPerSecond;
+  }
+
+  /**
+   * Queues a task for a run. The returned future completes with the task's result,
+   * or exceptionally with a CancellationException if it is dropped before it starts.
+   *
+   * Cancelling the future succeeds only while the task has not started; the task then
+   * never runs and its run is not charged for it. Once started, cancel returns false.
+   */
+  public <T> CompletableFuture<T> submit(String runId, Run.RunPriority priority, Callable<T> work) {
+    TaskFuture<T> future = new TaskFuture<>();
+    Job job = new Job(future, true, () -> {
+      if (future.start()) {
+        run(future, work);
+      } else {
+        refund(runId);
+      }
+    });
+
+    synchronized (this) {
+      RunQueue queue = backlog.computeIfAbsent(runId, id -> new RunQueue(virtualTime));
+      queue.weight = priority.weight();
+      queue.jobs.add(job);
+    }
+    dispatch();
+    return future;
+  }
+
+  /**
+   * Runs a task that makes no LLM call (e.g. a rule judge) on the scheduler's executor,
+   * outside the LLM budgets so it never waits behind LLM tasks. Such tasks have a
+   * concurrency cap of their own (maxConcurrency) and start in submission order.
+   * The returned future can be cancelled as for {@link #submit}.
+   */
+  public <T> CompletableFuture<T> submitUnmetered(Callable<T> work) {
+    TaskFuture<T> future = new TaskFuture<>();
+    Job job = new Job(future, false, () -> {
+      if (future.start()) {
+        run(future, work);
+      }
+    });
+
+    synchronized (this) {
+      unmetered.add(job);
+    }
+    dispatch();
+    return future;
+  }
+
+  /**
+   * Drops every queued (not yet started) task of a run, freeing its share for other runs.
+   * Their futures complete with a CancellationException; tasks already running are not affected.
+   *
+   * @return the number of dropped tasks
+   */
+  public int dropQueuedTasks(String runId) {
+    RunQueue queue;
+    synchronized (this) {
+      queue = backlog.remove(runId);
+    }
+    if (queue == null) {
+      return 0;
+    }
+    queue.jobs.forEach(job -> job.future().completeExceptionally(new CancellationException("Run stopped")));
+    logger.info("Dropped {} queued tasks of run {}", queue.jobs.size(), runId);
+    return queue.jobs.size();
+  }
+
+  /**
+   * Number of tasks queued but not yet started for a run.
+   */
+  public synchronized int queuedTasks(String runId) {
+    RunQueue queue = backlog.get(runId);
+    return queue != null ? queue.jobs.size() : 0;
+  }
+
+  public synchronized int inFlightTasks() {
+    return inFlight;
+  }
+
+  /**
+   * Starts as many queued tasks as the concurrency and rate budgets allow.
+   * Tasks cancelled while queued are dropped here without taking a permit.
+   */
+  private void dispatch() {
+    List<Job> toStart = new ArrayList<>();
+    long wakeupDelay = 0L;
+
+    synchronized (this) {
+      while (unmeteredInFlight < maxConcurrency && !unmetered.isEmpty()) {
+        Job job = unmetered.poll();
+        if (!job.future().isDone()) {
+          unmeteredInFlight++;
+          toStart.add(job);
+        }
+      }
+
+      while (inFlight < maxConcurrency && !backlog.isEmpty()) {
+        Map.Entry<String, RunQueue> next = nextRun();
+        RunQueue queue = next.getValue();
+        if (queue.jobs.peek().future().isDone()) {
+          queue.jobs.poll();
+          if (queue.jobs.isEmpty()) {
+            backlog.remove(next.getKey());
+          }
+          continue;
+        }
+
+        long waitNanos = reservePermit();
+        if (waitNanos > 0) {
+          wakeupDelay = waitNanos;
+          break;
+        }
+
+        Job job = queue.jobs.poll();
+        virtualTime = queue.virtualTime;
+        queue.virtualTime += 1.0 / queue.weight;
+        if (queue.jobs.isEmpty()) {
+          backlog.remove(next.getKey());
+        }
+
+        inFlight++;
+        toStart.add(job);
+      }
+
+      if (wakeupDelay > 0 && !wakeupPending) {
+        wakeupPending = true;
+      } else {
+        wakeupDelay = 0L;
+      }
+    }
+
+    for (Job job : toStart) {
+      executor.execute(() -> {
+        try {
+          job.body().run();
+        } finally {
+          synchronized (this) {
+            if (job.metered()) {
+              inFlight--;
+            } else {
+              unmeteredInFlight--;
+            }
+          }
+          dispatch();
+        }
+      });
+    }
+
+    if (wakeupDelay > 0) {
+      wakeups.schedule(() -> {
+        synchronized (this) {
+          wakeupPending = false;
+        }
+        dispatch();
+      }, wakeupDelay, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Picks the backlogged run with the lowest virtual time.
+   */
+  private Map.Entry<String, RunQueue> nextRun() {
+    Map.Entry<String, RunQueue> best = null;
+    for (Map.Entry<String, RunQueue> entry : backlog.entrySet()) {
+      if (best == null || entry.getValue().virtualTime < best.getValue().virtualTime) {
+        best = entry;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Reserves a start permit from the rate budget.
+   *
+   * @return 0 if a permit was reserved, otherwise the nanoseconds until the next one is available
+   */
+  private long reservePermit() {
+    if (permitIntervalNanos == 0L) {
+      return 0L;
+    }
+    long now = System.nanoTime();
+    if (now < nextPermitAt) {
+      return nextPermitAt - now;
+    }
+    nextPermitAt = now + permitIntervalNanos;
+    return 0L;
+  }
+
+  /**
+   * Gives back the permit and virtual time charged for a task of a run that was
+   * cancelled after it was dispatched but before it started.
+   */
+  private synchronized void refund(String runId) {
+    if (permitIntervalNanos > 0L) {
+      nextPermitAt -= permitIntervalNanos;
+    }
+    RunQueue queue = backlog.get(runId);
+    if (queue != null) {
+      queue.virtualTime = Math.max(virtualTime, queue.virtualTime - 1.0 / queue.weight);
+    }
+  }
+
+  private static <T> void run(CompletableFuture<T> future, Callable<T> work) {
+    try {
+      future.complete(work.call());
+    } catch (Throwable t) {
+      future.completeExceptionally(t);
+    }
+  }
+
+  private static ThreadFactory namedThreads(String prefix) {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private record Job(CompletableFuture<?> future, boolean metered, Runnable body) {}
+
+  /**
+   * Future of a scheduled task. Starting the task and cancelling it race for the same
+   * flag, so a cancel that succeeds guarantees the task never runs.
+   */
+  private static final class TaskFuture<T> extends CompletableFuture<T> {
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    boolean start() {
+      return started.compareAndSet(false, true);
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      return started.compareAndSet(false, true) && super.cancel(false);
+    }
+  }
+
+  private static final class RunQueue {
+    final Deque<Job> jobs = new ArrayDeque<>();
+    double virtualTime;
+    int weight = 1;
+
+    RunQueue(double virtualTime) {
+      this.virtualTime = virtualTime;
+    }
+  }
+}
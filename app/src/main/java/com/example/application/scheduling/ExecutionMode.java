@@ -0,0 +1,56 @@
+package com.example.application.scheduling;
+
+import com.typesafe.config.Config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Kind of threads that run blocking evaluation work: LLM calls and synchronous component calls.
+ *
+ * VIRTUAL starts one virtual thread per task. A task blocked on I/O releases its carrier
+ * thread, so thousands of evaluations can be in flight without a platform thread each.
+ * PLATFORM runs tasks on a cached pool of daemon platform threads, one thread per task in flight.
+ */
+public enum ExecutionMode {
+  PLATFORM,
+  VIRTUAL;
+
+  /**
+   * Reads ai-judge.execution.threads ("platform" or "virtual"); platform when not configured.
+   */
+  public static ExecutionMode fromConfig(Config config) {
+    if (!config.hasPath("ai-judge.execution.threads")) {
+      return PLATFORM;
+    }
+    String threads = config.getString("ai-judge.execution.threads");
+    return switch (threads.toLowerCase()) {
+      case "platform" -> PLATFORM;
+      case "virtual" -> VIRTUAL;
+      default -> throw new IllegalArgumentException(
+          "ai-judge.execution.threads must be platform or virtual: " + threads);
+    };
+  }
+
+  /**
+   * Creates an executor for blocking tasks whose threads are named after the given prefix.
+   */
+  public ExecutorService newExecutor(String threadNamePrefix) {
+    return switch (this) {
+      case VIRTUAL -> Executors.newThreadPerTaskExecutor(
+          Thread.ofVirtual().name(threadNamePrefix + "-", 1).factory());
+      case PLATFORM -> Executors.newCachedThreadPool(daemonThreads(threadNamePrefix));
+    };
+  }
+
+  private static ThreadFactory daemonThreads(String prefix) {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
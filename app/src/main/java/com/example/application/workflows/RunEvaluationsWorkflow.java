@@ -6,18 +6,28 @@ import akka.javasdk.client.ComponentClient;
 import akka.javasdk.workflow.Workflow;
 import akka.javasdk.workflow.WorkflowContext;
 import com.example.application.agents.JudgeAgent;
+import com.example.application.llm.Deadline;
+import com.example.application.llm.DeadlineExceededException;
 import com.example.application.llm.LLMException;
+import com.example.application.planning.RunPlanner;
+import com.example.application.scheduling.EvaluationScheduler;
 import com.example.domain.*;
 import com.example.domain.entities.*;
-import com.example.domain.views.*;
-import com.example.domain.views.SubmissionsView;
 import com.example.domain.Submission;
+import com.typesafe.config.Config;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Workflow that orchestrates evaluation runs for a queue.
@@ -25,8 +35,25 @@ import java.util.stream.Collectors;
  * Responsibilities:
  * - Iterates over submissions and questions in a queue
  * - Looks up which judges are assigned to each question
- * - Invokes JudgeAgent for each (question × judge) pair
+ * - Invokes JudgeAgent for each (question × judge) pair, through the shared EvaluationScheduler
  * - Persists evaluations and updates run progress
+ *
+ * Runs with at least ai-judge.sharding.min-tasks tasks are sharded: this workflow (id = run id)
+ * becomes the coordinator, splits the plan into submission id ranges and starts each shard as a
+ * child workflow with its own id, so the cluster places shards on different nodes. The coordinator
+ * keeps only the ranges; each shard plans its own range. Shards report
+ * their own progress to the RunEntity and tell the coordinator when they are done; pause, resume
+ * and cancel on the coordinator are forwarded to the shards.
+ *
+ * Deadlines: every task gets ai-judge.deadlines.task from the moment its batch is submitted, capped
+ * by the run deadline, and the deadline is passed down to the LLM call. The step waits for a task
+ * until its deadline only; a task that misses it is rescheduled at the back of the queue (up to
+ * ai-judge.deadlines.max-task-attempts times, then it fails), so a straggler never holds up a batch.
+ * Once the run deadline has passed, the remaining tasks fail and the run ends.
+ *
+ * Every tuple that fails is recorded in FailedTaskEntity with its error and attempts. A RETRY_FAILED
+ * run plans only the failed tuples of its source run and marks each one retried once it is evaluated.
+ * A CONTINUOUS run is started by ContinuousRunStarter with the tasks of a batch of imported submissions.
  */
 @Component(id = "run-evaluations-workflow")
 public class RunEvaluationsWorkflow extends Workflow<RunEvaluationsWorkflowState> {
@@ -35,44 +62,99 @@ public class RunEvaluationsWorkflow extends Workflow<RunEvaluationsWorkflowState
   
   private final ComponentClient componentClient;
   private final JudgeAgent judgeAgent;
+  private final EvaluationScheduler scheduler;
+  private final RunPlanner planner;
   private final String workflowId;
+  private final int shardingMinTasks;
+  private final int tasksPerShard;
+  private final Duration taskDeadline;
+  private final int maxTaskAttempts;
+
+  // Time a batch step needs beyond its task deadline, for loading judges and recording progress
+  private static final Duration STEP_OVERHEAD = Duration.ofMinutes(1);
+  // Failed tuples recorded at once in the dead-letter store
+  private static final int FAILURE_RECORDING_CHUNK = 100;
 
   public RunEvaluationsWorkflow(
       WorkflowContext context,
       ComponentClient componentClient,
-      JudgeAgent judgeAgent
+      JudgeAgent judgeAgent,
+      EvaluationScheduler scheduler,
+      Config config
   ) {
     this.componentClient = componentClient;
     this.judgeAgent = judgeAgent;
+    this.scheduler = scheduler;
+    this.planner = new RunPlanner(componentClient);
     this.workflowId = context.workflowId();
+    this.shardingMinTasks = config.getBoolean("ai-judge.sharding.enabled")
+        ? config.getInt("ai-judge.sharding.min-tasks")
+        : Integer.MAX_VALUE;
+    this.tasksPerShard = config.getInt("ai-judge.sharding.tasks-per-shard");
+    this.taskDeadline = config.getDuration("ai-judge.deadlines.task");
+    this.maxTaskAttempts = config.getInt("ai-judge.deadlines.max-task-attempts");
+  }
+
+  /**
+   * Workflow id of a shard of a run.
+   */
+  public static String shardWorkflowId(String runId, int shard) {
+    return runId + "-shard-" + shard;
   }
 
   @Override
   public WorkflowSettings settings() {
+    // Planning reads the whole queue and keeps the long default; a batch is bounded by its task deadline
     return WorkflowSettings.builder()
         .defaultStepTimeout(Duration.ofMinutes(30))
+        .stepTimeout(RunEvaluationsWorkflow::processEvaluationsStep, taskDeadline.plus(STEP_OVERHEAD))
         .build();
   }
 
   @Override
   public RunEvaluationsWorkflowState emptyState() {
-    return new RunEvaluationsWorkflowState("", "", List.of(), 0, 0);
+    return new RunEvaluationsWorkflowState("", "", Run.RunMode.FULL, Run.RunPriority.NORMAL, Run.RunStatus.RUNNING,
+        RunEvaluationsWorkflowState.TaskIds.empty(), List.of(), 0, 0, null, null, null, 0, null, null);
   }
 
   /**
    * Command: Start an evaluation run for a queue.
+   * The workflow id is used as the run id, so the RunEntity with the same id must exist.
    */
   public Effect<Done> startRun(StartRunRequest request) {
-    String runId = java.util.UUID.randomUUID().toString();
-    logger.info("Starting evaluation run {} for queue {}", runId, request.queueId());
+    if (currentState().isStarted()) {
+      return effects().error("Run already started");
+    }
+
+    String runId = workflowId;
+    Run.RunMode mode = request.mode() != null ? request.mode() : Run.RunMode.FULL;
+    Run.RunPriority priority = request.priority() != null ? request.priority() : Run.RunPriority.NORMAL;
+    if (mode == Run.RunMode.RETRY_FAILED && request.sourceRunId() == null) {
+      return effects().error("sourceRunId is required for RETRY_FAILED runs");
+    }
+    if (mode == Run.RunMode.CONTINUOUS) {
+      return effects().error("CONTINUOUS runs are started with their planned tasks");
+    }
+    logger.info("Starting {} evaluation run {} for queue {} with {} priority",
+        mode, runId, request.queueId(), priority);
 
     // Create initial state
     RunEvaluationsWorkflowState initialState = new RunEvaluationsWorkflowState(
         runId,
         request.queueId(),
+        mode,
+        priority,
+        Run.RunStatus.RUNNING,
+        RunEvaluationsWorkflowState.TaskIds.empty(),
         List.of(), // Will be populated in the first step
         0,
-        0
+        0,
+        null,
+        null,
+        request.deadline(),
+        0,
+        request.sourceRunId(),
+        null
     );
 
     return effects()
@@ -82,247 +164,808 @@ public class RunEvaluationsWorkflow extends Workflow<RunEvaluationsWorkflowState
   }
 
   /**
-   * Step: Prepare evaluation tasks by querying submissions, questions, and judge assignments.
+   * Command: Start a run with tasks the caller has already planned, e.g. a continuous evaluation batch.
+   * The RunEntity with the same id must exist with the planned count. The run is never sharded.
+   * Starting it again replies Done without replanning, so a caller retrying the start is safe.
    */
-  private StepEffect prepareEvaluationsStep() {
-    String queueId = currentState().queueId();
-    logger.info("Preparing evaluations for queue {}", queueId);
+  public Effect<Done> startPlannedRun(StartPlannedRunRequest request) {
+    if (currentState().isStarted()) {
+      return effects().reply(Done.getInstance());
+    }
+    if (request.tasks().isEmpty()) {
+      return effects().error("A planned run needs at least one task");
+    }
 
-    try {
-      // Query questions for this queue
-      QuestionsView.QuestionsResult questionsResult = componentClient
-          .forView()
-          .method(QuestionsView::getQuestionsByQueue)
-          .invoke(queueId);
-
-      if (questionsResult == null || questionsResult.questions() == null || questionsResult.questions().isEmpty()) {
-        logger.warn("No questions found for queue {}", queueId);
-        return stepEffects()
-            .updateState(currentState().withPendingEvaluations(List.of()))
-            .thenEnd();
-      }
+    logger.info("Starting {} evaluation run {} for queue {} with {} planned tasks",
+        request.mode(), workflowId, request.queueId(), request.tasks().size());
+    RunEvaluationsWorkflowState initialState = new RunEvaluationsWorkflowState(
+        workflowId,
+        request.queueId(),
+        request.mode(),
+        request.priority(),
+        Run.RunStatus.RUNNING,
+        RunEvaluationsWorkflowState.TaskIds.empty(),
+        List.of(),
+        0,
+        0,
+        null,
+        null,
+        request.deadline(),
+        0,
+        null,
+        null
+    ).withPlannedTasks(request.tasks());
+
+    return effects()
+        .updateState(initialState)
+        .transitionTo(RunEvaluationsWorkflow::processEvaluationsStep)
+        .thenReply(Done.getInstance());
+  }
 
-      // Query submissions for this queue
-      SubmissionsView.SubmissionsResult submissionsResult = componentClient
-          .forView()
-          .method(SubmissionsView::getSubmissionsByQueue)
-          .invoke(queueId);
+  /**
+   * Command: Start a shard of a sharded run for its range of submissions, which the shard plans itself.
+   * Sent by the coordinator; starting a shard again is a no-op, so a retried coordinator step is safe.
+   */
+  public Effect<Done> startShard(StartShardRequest request) {
+    if (currentState().isStarted()) {
+      return effects().reply(Done.getInstance());
+    }
 
-      if (submissionsResult == null || submissionsResult.submissions() == null || submissionsResult.submissions().isEmpty()) {
-        logger.warn("No submissions found for queue {}", queueId);
-        return stepEffects()
-            .updateState(currentState().withPendingEvaluations(List.of()))
-            .thenEnd();
-      }
+    logger.info("Starting shard {} of run {} for submissions {}", request.shard(), request.runId(), request.submissionRange());
+    RunEvaluationsWorkflowState initialState = new RunEvaluationsWorkflowState(
+        request.runId(),
+        request.queueId(),
+        request.mode(),
+        request.priority(),
+        Run.RunStatus.RUNNING,
+        RunEvaluationsWorkflowState.TaskIds.empty(),
+        List.of(),
+        0,
+        0,
+        request.shard(),
+        null,
+        request.deadline(),
+        0,
+        request.sourceRunId(),
+        request.submissionRange()
+    );
 
-      // Query judge assignments for each question
-      List<RunEvaluationsWorkflowState.EvaluationTask> tasks = new ArrayList<>();
+    return effects()
+        .updateState(initialState)
+        .transitionTo(RunEvaluationsWorkflow::prepareEvaluationsStep)
+        .thenReply(Done.getInstance());
+  }
 
-      // Query active judges once
-      JudgesView.JudgesResult activeJudgesResult = componentClient
-          .forView()
-          .method(JudgesView::getActiveJudges)
-          .invoke();
+  /**
+   * Command: A shard reports that it has processed all of its tasks.
+   * The coordinator ends once every shard has finished.
+   */
+  public Effect<Done> shardFinished(int shard) {
+    if (!currentState().isCoordinator()) {
+      return effects().error("Run " + currentState().runId() + " is not sharded");
+    }
+    if (currentState().isCancelled()) {
+      return effects().reply(Done.getInstance());
+    }
+    if (!currentState().shards().started()) {
+      // startShardsStep replaces the state when it completes, which would drop this notice; the shard retries
+      return effects().error("Shards of run " + currentState().runId() + " are still being started");
+    }
 
-      Set<String> activeJudgeIds = activeJudgesResult != null && activeJudgesResult.judges() != null
-          ? activeJudgesResult.judges().stream()
-              .map(JudgesView.JudgeEntry::judgeId)
-              .collect(Collectors.toSet())
-          : Set.of();
-
-      // For each question and each submission, create tasks
-      for (QuestionsView.QuestionEntry question : questionsResult.questions()) {
-        // Query judge assignments for this question
-        String assignmentEntityId = queueId + "|" + question.questionTemplateId();
-        
-        try {
-          JudgeAssignment assignment = componentClient
-              .forKeyValueEntity(assignmentEntityId)
-              .method(JudgeAssignmentEntity::getAssignments)
-              .invoke();
-
-          if (assignment != null && assignment.judgeIds() != null) {
-            // For each submission and each assigned active judge, create a task
-            for (SubmissionsView.SubmissionEntry submission : submissionsResult.submissions()) {
-              for (String judgeId : assignment.judgeIds()) {
-                if (activeJudgeIds.contains(judgeId)) {
-                  tasks.add(new RunEvaluationsWorkflowState.EvaluationTask(
-                      submission.submissionId(),
-                      question.questionTemplateId(),
-                      judgeId,
-                      null // request - will be built in processEvaluationsStep
-                  ));
-                }
-              }
-            }
-          }
-        } catch (Exception e) {
-          logger.warn("Failed to get judge assignments for question {}: {}", 
-              question.questionTemplateId(), e.getMessage());
-        }
+    var shards = currentState().shards().withFinished(shard);
+    logger.info("Shard {} of run {} finished ({}/{})", shard, currentState().runId(), shards.finished().size(), shards.count());
+    if (shards.allFinished()) {
+      return effects()
+          .updateState(currentState().withShards(shards).withStatus(Run.RunStatus.COMPLETED))
+          .transitionTo(RunEvaluationsWorkflow::completeShardedRunStep)
+          .thenReply(Done.getInstance());
+    }
+    return effects()
+        .updateState(currentState().withShards(shards))
+        .pause()
+        .thenReply(Done.getInstance());
+  }
+
+  /**
+   * Command: Pause the run after the evaluation currently in flight.
+   */
+  public Effect<Done> pause() {
+    if (!currentState().isStarted()) {
+      return effects().error("Run not found");
+    }
+    if (currentState().status() != Run.RunStatus.RUNNING) {
+      return effects().error("Run is not running: " + currentState().status());
+    }
+
+    logger.info("Pausing run {}", currentState().runId());
+    if (!currentState().isCoordinator()) {
+      scheduler.dropQueuedTasks(currentState().runId());
+    }
+    return effects()
+        .updateState(currentState().withStatus(Run.RunStatus.PAUSED))
+        .transitionTo(RunEvaluationsWorkflow::syncRunStatusStep)
+        .thenReply(Done.getInstance());
+  }
+
+  /**
+   * Command: Resume a paused run with its remaining evaluations.
+   */
+  public Effect<Done> resume() {
+    if (!currentState().isPaused()) {
+      return effects().error("Run is not paused: " + currentState().status());
+    }
+
+    logger.info("Resuming run {} with {} pending evaluations",
+        currentState().runId(), currentState().pendingEvaluations().size());
+    return effects()
+        .updateState(currentState().withStatus(Run.RunStatus.RUNNING))
+        .transitionTo(RunEvaluationsWorkflow::syncRunStatusStep)
+        .thenReply(Done.getInstance());
+  }
+
+  /**
+   * Command: Whether the run has been started.
+   */
+  public ReadOnlyEffect<Boolean> isStarted() {
+    return effects().reply(currentState().isStarted());
+  }
+
+  /**
+   * Command: Cancel the run. Pending evaluations are dropped; recorded ones are kept.
+   */
+  public Effect<Done> cancel() {
+    if (!currentState().isStarted()) {
+      return effects().error("Run not found");
+    }
+    if (currentState().status() != Run.RunStatus.RUNNING && !currentState().isPaused()) {
+      return effects().error("Run already finished: " + currentState().status());
+    }
+
+    logger.info("Cancelling run {} with {} pending evaluations",
+        currentState().runId(), currentState().pendingEvaluations().size());
+    if (currentState().isCoordinator()) {
+      return effects()
+          .updateState(currentState().withStatus(Run.RunStatus.CANCELLED))
+          .transitionTo(RunEvaluationsWorkflow::syncRunStatusStep)
+          .thenReply(Done.getInstance());
+    }
+    scheduler.dropQueuedTasks(currentState().runId());
+    return effects()
+        .updateState(currentState()
+            .withStatus(Run.RunStatus.CANCELLED)
+            .withPendingEvaluations(List.of()))
+        .transitionTo(RunEvaluationsWorkflow::syncRunStatusStep)
+        .thenReply(Done.getInstance());
+  }
+
+  /**
+   * Step: Bring the RunEntity to the workflow's status (paused, running or cancelled), then carry on
+   * accordingly. The workflow is the only writer of the run status, and a failed update is retried
+   * with the step, so the two cannot disagree. Shards leave the run status to their coordinator.
+   */
+  private StepEffect syncRunStatusStep() {
+    Run.RunStatus status = currentState().status();
+    if (currentState().shard() == null) {
+      var run = componentClient.forEventSourcedEntity(currentState().runId());
+      switch (status) {
+        case PAUSED -> run.method(RunEntity::pauseRun).invoke();
+        case RUNNING -> run.method(RunEntity::resumeRun).invoke();
+        case CANCELLED -> run.method(RunEntity::cancelRun).invoke();
+        default -> { }
       }
+    }
 
-      logger.info("Prepared {} evaluation tasks for queue {}", tasks.size(), queueId);
+    if (currentState().isCoordinator()) {
+      return stepEffects().thenTransitionTo(RunEvaluationsWorkflow::signalShardsStep);
+    }
+    return switch (status) {
+      case RUNNING -> stepEffects().thenTransitionTo(RunEvaluationsWorkflow::processEvaluationsStep);
+      case PAUSED -> stepEffects().thenPause();
+      default -> stepEffects().thenEnd();
+    };
+  }
+
+  /**
+   * Step: Prepare evaluation tasks by querying submissions, questions, and judge assignments.
+   * A shard plans only its range of submissions; the coordinator has already recorded the run's
+   * planned count.
+   */
+  private StepEffect prepareEvaluationsStep() {
+    String queueId = currentState().queueId();
+    if (currentState().shard() != null) {
+      return prepareShard();
+    }
+    logger.info("Preparing evaluations for queue {}", queueId);
+
+    try {
+      RunPlanner.Plan plan = planner.plan(queueId, currentState().mode(), currentState().sourceRunId());
+      List<RunEvaluationsWorkflowState.EvaluationTask> tasks = plan.tasks();
 
       if (tasks.isEmpty()) {
         logger.warn("No evaluation tasks created for queue {}", queueId);
-        return stepEffects()
-            .updateState(currentState().withPendingEvaluations(List.of()))
-            .thenEnd();
+        return endWithoutTasks();
       }
 
-      // Create run entity with planned count
+      // Record the planned count on the run entity, counting every tuple including duplicates
       componentClient
           .forEventSourcedEntity(currentState().runId())
-          .method(RunEntity::startRun)
-          .invoke(new RunEntity.StartRunRequest(queueId, tasks.size()));
+          .method(RunEntity::planRun)
+          .invoke(plan.tupleCount());
+
+      if (tasks.size() >= shardingMinTasks) {
+        // Keep only the shard ranges, recorded before any shard starts so every shard finds its
+        // coordinator; each shard plans its own range, so the plan never lives on the coordinator
+        List<RunEvaluationsWorkflowState.SubmissionRange> ranges = RunPlanner.shardRanges(tasks, tasksPerShard);
+        logger.info("Sharding run {} with {} tasks into {} shards", currentState().runId(), tasks.size(), ranges.size());
+        return stepEffects()
+            .updateState(currentState().withShards(RunEvaluationsWorkflowState.Shards.of(ranges)))
+            .thenTransitionTo(RunEvaluationsWorkflow::startShardsStep);
+      }
 
       // Update state with tasks and transition to processing step
       return stepEffects()
-          .updateState(currentState().withPendingEvaluations(tasks))
+          .updateState(currentState().withPlannedTasks(tasks))
           .thenTransitionTo(RunEvaluationsWorkflow::processEvaluationsStep);
 
     } catch (Exception e) {
       logger.error("Failed to prepare evaluations for queue {}", queueId, e);
       return stepEffects()
-          .updateState(currentState())
-          .thenEnd(); // End workflow on error
+          .updateState(currentState().withStatus(Run.RunStatus.FAILED))
+          .thenTransitionTo(RunEvaluationsWorkflow::failRunStep);
+    }
+  }
+
+  /**
+   * Plans a shard's range of submissions. A shard whose range has nothing left to evaluate
+   * finishes right away.
+   */
+  private StepEffect prepareShard() {
+    RunEvaluationsWorkflowState.SubmissionRange range = currentState().submissionRange();
+    logger.info("Preparing shard {} of run {} for submissions {}", currentState().shard(), currentState().runId(), range);
+
+    try {
+      RunPlanner.Plan plan = planner.plan(
+          currentState().queueId(), currentState().mode(), currentState().sourceRunId(), range);
+      if (plan.tasks().isEmpty()) {
+        return endCompleted(currentState());
+      }
+      return stepEffects()
+          .updateState(currentState().withPlannedTasks(plan.tasks()))
+          .thenTransitionTo(RunEvaluationsWorkflow::processEvaluationsStep);
+
+    } catch (Exception e) {
+      logger.error("Failed to prepare shard {} of run {}", currentState().shard(), currentState().runId(), e);
+      return stepEffects()
+          .updateState(currentState().withStatus(Run.RunStatus.FAILED))
+          .thenTransitionTo(RunEvaluationsWorkflow::failRunStep);
+    }
+  }
+
+  /**
+   * Step: Mark the RunEntity failed and end the workflow. Retried until the run entity has
+   * recorded it, so a failed run is never left reported as running. A shard then still tells its
+   * coordinator it is done, so the coordinator does not wait for it forever.
+   */
+  private StepEffect failRunStep() {
+    componentClient
+        .forEventSourcedEntity(currentState().runId())
+        .method(RunEntity::failRun)
+        .invoke();
+    if (currentState().shard() != null) {
+      return stepEffects().thenTransitionTo(RunEvaluationsWorkflow::notifyCoordinatorStep);
+    }
+    return stepEffects().thenEnd();
+  }
+
+  /**
+   * Step: Complete the RunEntity once every shard has finished, then end the coordinator.
+   * The shards planned their own ranges, so they may have settled a slightly different number of
+   * tuples than the coordinator planned (e.g. assignments changed in between); progress counts
+   * alone could then leave the run RUNNING.
+   */
+  private StepEffect completeShardedRunStep() {
+    componentClient
+        .forEventSourcedEntity(currentState().runId())
+        .method(RunEntity::completeRun)
+        .invoke();
+    return stepEffects().thenEnd();
+  }
+
+  /**
+   * Step: Start a child workflow for each shard range; each shard plans its own range.
+   * The coordinator then waits (paused) for the shards to report that they are done.
+   */
+  private StepEffect startShardsStep() {
+    String runId = currentState().runId();
+    List<RunEvaluationsWorkflowState.SubmissionRange> ranges = currentState().shards().ranges();
+
+    for (int shard = 0; shard < ranges.size(); shard++) {
+      componentClient
+          .forWorkflow(shardWorkflowId(runId, shard))
+          .method(RunEvaluationsWorkflow::startShard)
+          .invoke(new StartShardRequest(
+              runId,
+              currentState().queueId(),
+              currentState().mode(),
+              currentState().priority(),
+              shard,
+              ranges.get(shard),
+              currentState().deadline(),
+              currentState().sourceRunId()));
+    }
+
+    // Shards that finish before this step completes are turned away by shardFinished and notify
+    // again, so none is lost when the step replaces the state.
+    return stepEffects()
+        .updateState(currentState().withShards(currentState().shards().withStarted()))
+        .thenPause();
+  }
+
+  /**
+   * Step: Forward the coordinator's status (paused, running or cancelled) to its unfinished shards.
+   * A shard that already finished or is already in that status rejects the command, which is ignored.
+   */
+  private StepEffect signalShardsStep() {
+    String runId = currentState().runId();
+    Run.RunStatus status = currentState().status();
+    var shards = currentState().shards();
+
+    for (int shard = 0; shard < shards.count(); shard++) {
+      if (shards.finished().contains(shard)) {
+        continue;
+      }
+      var shardWorkflow = componentClient.forWorkflow(shardWorkflowId(runId, shard));
+      try {
+        switch (status) {
+          case PAUSED -> shardWorkflow.method(RunEvaluationsWorkflow::pause).invoke();
+          case RUNNING -> shardWorkflow.method(RunEvaluationsWorkflow::resume).invoke();
+          case CANCELLED -> shardWorkflow.method(RunEvaluationsWorkflow::cancel).invoke();
+          default -> { }
+        }
+      } catch (Exception e) {
+        logger.warn("Could not set shard {} of run {} to {}: {}", shard, runId, status, e.getMessage());
+      }
     }
+
+    return currentState().isCancelled() ? stepEffects().thenEnd() : stepEffects().thenPause();
+  }
+
+  /**
+   * Step: Tell the coordinator that this shard has processed all of its tasks, then end.
+   * The coordinator rejects the notice while it is still starting shards; the step is then retried.
+   */
+  private StepEffect notifyCoordinatorStep() {
+    componentClient
+        .forWorkflow(currentState().runId())
+        .method(RunEvaluationsWorkflow::shardFinished)
+        .invoke(currentState().shard());
+    return stepEffects().thenEnd();
   }
 
   /**
-   * Step: Process evaluations one by one.
-   * For each task, builds EvaluationRequest, calls JudgeAgent, and persists results.
+   * Ends a run, or a shard after notifying its coordinator, once all of its tasks are processed.
+   */
+  private StepEffect endCompleted(RunEvaluationsWorkflowState state) {
+    logger.info("All evaluations completed for run {}", state.runId());
+    var effect = stepEffects().updateState(state.withStatus(Run.RunStatus.COMPLETED));
+    return state.shard() == null
+        ? effect.thenEnd()
+        : effect.thenTransitionTo(RunEvaluationsWorkflow::notifyCoordinatorStep);
+  }
+
+  /**
+   * Ends the workflow for a run that has nothing to evaluate, completing the run entity.
+   */
+  private StepEffect endWithoutTasks() {
+    componentClient
+        .forEventSourcedEntity(currentState().runId())
+        .method(RunEntity::planRun)
+        .invoke(0);
+
+    return stepEffects()
+        .updateState(currentState()
+            .withPendingEvaluations(List.of())
+            .withStatus(Run.RunStatus.COMPLETED))
+        .thenEnd();
+  }
+
+  /**
+   * Step: Process the next batch of evaluations.
+   * Tasks are submitted to the shared EvaluationScheduler, which decides when each one runs
+   * relative to other runs. For each task, builds EvaluationRequest, calls JudgeAgent, and
+   * persists results.
    */
   private StepEffect processEvaluationsStep() {
-    if (currentState().isComplete()) {
-      logger.info("All evaluations completed for run {}", currentState().runId());
+    if (currentState().isCancelled()) {
+      logger.info("Run {} cancelled, stopping", currentState().runId());
       return stepEffects().thenEnd();
     }
+    if (currentState().isPaused()) {
+      logger.info("Run {} paused with {} pending evaluations",
+          currentState().runId(), currentState().pendingEvaluations().size());
+      return stepEffects().thenPause();
+    }
+    if (currentState().isComplete()) {
+      return endCompleted(currentState());
+    }
 
-    // Process one evaluation at a time
-    RunEvaluationsWorkflowState.EvaluationTask task = currentState().pendingEvaluations().get(0);
-    List<RunEvaluationsWorkflowState.EvaluationTask> remainingTasks = 
-        currentState().pendingEvaluations().subList(1, currentState().pendingEvaluations().size());
+    if (currentState().isPastDeadline(Instant.now())) {
+      // Recording every remaining tuple can outlast this step's short timeout, so it gets its own step
+      return stepEffects().thenTransitionTo(RunEvaluationsWorkflow::failPastDeadlineStep);
+    }
 
-    logger.info("Processing evaluation: question={}, judge={}", 
-        task.questionTemplateId(), task.judgeId());
+    String runId = currentState().runId();
+    String queueId = currentState().queueId();
+    List<RunEvaluationsWorkflowState.PendingTask> pending = currentState().pendingEvaluations();
+    int batchSize = Math.min(pending.size(), scheduler.maxConcurrency());
+    List<RunEvaluationsWorkflowState.PendingTask> batch = pending.subList(0, batchSize);
 
-    try {
-      // Build EvaluationRequest
-      // TODO: Get submission data and judge data to build the full request
-      // For now, this is a simplified version - in production, we'd query:
-      // - Submission data from SubmissionsEntity
-      // - Judge data from JudgeEntity
-      // - Question data from QuestionsView
+    logger.info("Processing {} evaluations for run {} ({} pending)", batchSize, runId, pending.size());
 
-      // This is a placeholder - the actual implementation would query entities
-      EvaluationRequest request = buildEvaluationRequest(task);
+    Map<String, Judge> judges = loadJudges(batch);
+    Deadline deadline = Deadline.after(taskDeadline).earliest(Deadline.at(currentState().deadline()));
+    List<CompletableFuture<Void>> results = new ArrayList<>(batchSize);
+    for (RunEvaluationsWorkflowState.PendingTask pendingTask : batch) {
+      RunEvaluationsWorkflowState.EvaluationTask task = currentState().decode(pendingTask);
+      Judge judge = judges.get(task.judgeId());
+      String sourceRunId = currentState().sourceRunId();
+      Callable<Void> work = () -> evaluateTask(runId, queueId, task, judge, deadline, sourceRunId);
+      if (judge != null && judge.rule() != null) {
+        // Rule judges make no LLM call, so they do not take a share of the LLM budgets
+        results.add(scheduler.submitUnmetered(work));
+      } else {
+        results.add(scheduler.submit(runId, currentState().priority(), work));
+      }
+    }
 
-      // Call JudgeAgent
-      EvaluationResponse response = judgeAgent.evaluate(request);
+    int completed = 0;
+    int failed = 0;
+    int expired = 0;
+    List<FailedAttempt> failures = new ArrayList<>();
+    List<RunEvaluationsWorkflowState.PendingTask> remainingTasks = new ArrayList<>();
+    List<RunEvaluationsWorkflowState.PendingTask> rescheduledTasks = new ArrayList<>();
+    for (int i = 0; i < batchSize; i++) {
+      RunEvaluationsWorkflowState.PendingTask task = batch.get(i);
+      Throwable error = awaitTask(results.get(i), deadline);
 
-      // Persist evaluation
-      String evaluationId = java.util.UUID.randomUUID().toString();
+      if (error == null) {
+        completed += task.tupleCount();
+      } else if (error instanceof CancellationException) {
+        // Dropped by the scheduler before it started (run paused or cancelled), keep it pending
+        remainingTasks.add(task);
+      } else if (error instanceof DeadlineExceededException && results.get(i).cancel(false)) {
+        // Still queued behind other runs when its deadline passed; cancelled before it started, so it
+        // never runs, its run is not charged for it and no attempt is spent
+        rescheduledTasks.add(task);
+      } else if (error instanceof DeadlineExceededException) {
+        // A straggler: move it to the back of the queue and let the rest of the run go ahead
+        expired++;
+        if (task.attempts() + 1 < maxTaskAttempts) {
+          logger.warn("Task missed its deadline, rescheduling (attempt {}): {}", task.attempts() + 1, currentState().decode(task));
+          rescheduledTasks.add(task.withExpiredAttempt());
+        } else {
+          logger.error("Task missed its deadline {} times, failing it: {}", maxTaskAttempts, currentState().decode(task));
+          failed += task.tupleCount();
+          failures.add(new FailedAttempt(task, error, task.attempts() + 1));
+        }
+      } else {
+        if (error instanceof LLMException) {
+          logger.error("LLM evaluation failed for task: {}", currentState().decode(task), error);
+        } else {
+          logger.error("Unexpected error processing evaluation: {}", currentState().decode(task), error);
+        }
+        failed += task.tupleCount();
+        failures.add(new FailedAttempt(task, error, task.attempts() + 1));
+      }
+    }
+    recordFailures(failures);
+    remainingTasks.addAll(pending.subList(batchSize, pending.size()));
+    remainingTasks.addAll(rescheduledTasks);
+
+    // Update workflow state
+    RunEvaluationsWorkflowState newState = currentState()
+        .withPendingEvaluations(remainingTasks)
+        .withCompletedCount(currentState().completedCount() + completed)
+        .withFailedCount(currentState().failedCount() + failed)
+        .withExpiredCount(currentState().expiredCount() + expired);
+
+    // Report absolute counts once per batch; a retried step reports the same counts again
+    reportProgress(newState);
+
+    // Continue processing or end if complete
+    return continueOrEnd(newState);
+  }
+
+  /**
+   * Step: End a run whose deadline has passed: its remaining tasks fail, so the run completes
+   * (its SLA status then shows the miss) instead of running on past its deadline.
+   * Runs under the default step timeout, as it records a failure for every remaining tuple.
+   */
+  private StepEffect failPastDeadlineStep() {
+    int remaining = currentState().pendingEvaluations().stream()
+        .mapToInt(RunEvaluationsWorkflowState.PendingTask::tupleCount)
+        .sum();
+    logger.warn("Run {} passed its deadline {}, failing {} remaining evaluations",
+        currentState().runId(), currentState().deadline(), remaining);
+
+    DeadlineExceededException error = new DeadlineExceededException("Run deadline " + currentState().deadline() + " passed");
+    recordFailures(currentState().pendingEvaluations().stream()
+        .map(task -> new FailedAttempt(task, error, task.attempts()))
+        .toList());
+
+    RunEvaluationsWorkflowState newState = currentState()
+        .withPendingEvaluations(List.of())
+        .withFailedCount(currentState().failedCount() + remaining);
+    reportProgress(newState);
+    return continueOrEnd(newState);
+  }
+
+  /**
+   * Records each tuple of the failed tasks, duplicates included, in the dead-letter store.
+   * Recording is idempotent, so a retried step records the same failures again harmlessly.
+   * A failure that cannot be recorded is logged; it is still counted as failed on the run.
+   */
+  private void recordFailures(List<FailedAttempt> failures) {
+    List<FailedTaskEntity.RecordFailureRequest> requests = new ArrayList<>();
+    for (FailedAttempt failure : failures) {
+      RunEvaluationsWorkflowState.EvaluationTask task = currentState().decode(failure.task());
+      List<RunEvaluationsWorkflowState.DuplicateTuple> tuples = new ArrayList<>(task.duplicates());
+      tuples.add(0, new RunEvaluationsWorkflowState.DuplicateTuple(task.submissionId(), task.questionTemplateId()));
+      for (RunEvaluationsWorkflowState.DuplicateTuple tuple : tuples) {
+        requests.add(new FailedTaskEntity.RecordFailureRequest(
+            currentState().runId(),
+            currentState().queueId(),
+            tuple.submissionId(),
+            tuple.questionTemplateId(),
+            task.judgeId(),
+            failure.error().getClass().getSimpleName(),
+            failure.error().getMessage(),
+            failure.attempts()));
+      }
+    }
+
+    // In chunks, so failing a whole run at its deadline does not flood the entities at once
+    for (int start = 0; start < requests.size(); start += FAILURE_RECORDING_CHUNK) {
+      List<CompletableFuture<Done>> recorded = new ArrayList<>();
+      for (FailedTaskEntity.RecordFailureRequest request
+          : requests.subList(start, Math.min(start + FAILURE_RECORDING_CHUNK, requests.size()))) {
+        recorded.add(componentClient
+            .forEventSourcedEntity(FailedTask.idFor(
+                request.runId(), request.submissionId(), request.questionTemplateId(), request.judgeId()))
+            .method(FailedTaskEntity::recordFailure)
+            .invokeAsync(request)
+            .toCompletableFuture());
+      }
+      try {
+        CompletableFuture.allOf(recorded.toArray(new CompletableFuture[0])).join();
+      } catch (CompletionException e) {
+        logger.error("Failed to record failed tasks of run {}", currentState().runId(), e.getCause());
+      }
+    }
+  }
+
+  /**
+   * A task that failed, the error of its last attempt and the attempts made.
+   */
+  private record FailedAttempt(RunEvaluationsWorkflowState.PendingTask task, Throwable error, int attempts) {}
+
+  private void reportProgress(RunEvaluationsWorkflowState state) {
+    componentClient
+        .forEventSourcedEntity(state.runId())
+        .method(RunEntity::recordProgress)
+        .invoke(new RunEntity.ProgressReport(state.completedCount(), state.failedCount(), state.shard(), state.expiredCount()));
+  }
+
+  /**
+   * Evaluates a single task and persists the result, also for every duplicate tuple
+   * that shares the task's answer content. Runs on a scheduler thread.
+   */
+  private Void evaluateTask(
+      String runId,
+      String queueId,
+      RunEvaluationsWorkflowState.EvaluationTask task,
+      Judge judge,
+      Deadline deadline,
+      String sourceRunId
+  ) throws Exception {
+    logger.info("Processing evaluation: question={}, judge={}, duplicates={}",
+        task.questionTemplateId(), task.judgeId(), task.duplicates().size());
+
+    // Deterministic id, so a task retried after a crash finds its earlier result
+    String evaluationId = Evaluation.idFor(runId, task.submissionId(), task.questionTemplateId(), task.judgeId());
+    boolean recorded = componentClient
+        .forEventSourcedEntity(evaluationId)
+        .method(EvaluationEntity::isRecorded)
+        .invoke();
+
+    EvaluationEntity.RecordEvaluationRequest result;
+    if (recorded) {
+      logger.info("Evaluation {} already recorded, skipping LLM call", evaluationId);
+      Evaluation evaluation = componentClient
+          .forEventSourcedEntity(evaluationId)
+          .method(EvaluationEntity::getEvaluation)
+          .invoke();
+      result = new EvaluationEntity.RecordEvaluationRequest(
+          runId,
+          evaluation.submissionId(),
+          queueId,
+          evaluation.questionTemplateId(),
+          evaluation.judgeId(),
+          evaluation.judgeVersion(),
+          evaluation.judgeFingerprint(),
+          evaluation.verdict(),
+          evaluation.reasoning(),
+          evaluation.model(),
+          evaluation.tier(),
+          evaluation.confidence()
+      );
+    } else if (judge != null && judge.rule() != null) {
+      EvaluationResponse response = judge.rule().evaluate(findQuestionAnswer(task));
+      result = new EvaluationEntity.RecordEvaluationRequest(
+          runId,
+          task.submissionId(),
+          queueId,
+          task.questionTemplateId(),
+          task.judgeId(),
+          judge.version(),
+          judge.fingerprint(),
+          response.verdict(),
+          response.reasoning(),
+          response.model(),
+          response.tier(),
+          response.confidence()
+      );
       componentClient
           .forEventSourcedEntity(evaluationId)
           .method(EvaluationEntity::recordEvaluation)
-          .invoke(new EvaluationEntity.RecordEvaluationRequest(
-              currentState().runId(),
-              request.submissionId(),
-              request.queueId(),
-              request.questionTemplateId(),
-              request.judgeId(),
-              response.verdict(),
-              response.reasoning()
-          ));
-
-      // Update run progress
-      componentClient
-          .forEventSourcedEntity(currentState().runId())
-          .method(RunEntity::markCompleted)
-          .invoke();
+          .invoke(result);
+    } else {
+      EvaluationRequest request = buildEvaluationRequest(runId, queueId, task, judge);
 
-      // Update workflow state
-      RunEvaluationsWorkflowState newState = currentState()
-          .withPendingEvaluations(remainingTasks)
-          .withCompletedCount(currentState().completedCount() + 1);
+      // Call JudgeAgent; the LLM call gives up at the task deadline
+      EvaluationResponse response = judgeAgent.evaluate(request, deadline);
 
-      // Continue processing or end if complete
-      if (newState.isComplete()) {
-        logger.info("All evaluations completed for run {}", currentState().runId());
-        return stepEffects()
-            .updateState(newState)
-            .thenEnd();
-      } else {
-        return stepEffects()
-            .updateState(newState)
-            .thenTransitionTo(RunEvaluationsWorkflow::processEvaluationsStep);
-      }
-
-    } catch (LLMException e) {
-      logger.error("LLM evaluation failed for task: {}", task, e);
-      
-      // Mark as failed
+      // Persist evaluation
+      result = new EvaluationEntity.RecordEvaluationRequest(
+          runId,
+          request.submissionId(),
+          request.queueId(),
+          request.questionTemplateId(),
+          request.judgeId(),
+          request.judgeVersion(),
+          request.judgeFingerprint(),
+          response.verdict(),
+          response.reasoning(),
+          response.model(),
+          response.tier(),
+          response.confidence()
+      );
       componentClient
-          .forEventSourcedEntity(currentState().runId())
-          .method(RunEntity::markFailed)
-          .invoke();
+          .forEventSourcedEntity(evaluationId)
+          .method(EvaluationEntity::recordEvaluation)
+          .invoke(result);
+    }
 
-      // Update workflow state
-      RunEvaluationsWorkflowState newState = currentState()
-          .withPendingEvaluations(remainingTasks)
-          .withFailedCount(currentState().failedCount() + 1);
+    // Fan the verdict out to tuples with identical answers; recording is idempotent per tuple
+    List<CompletableFuture<Done>> fanOut = new ArrayList<>();
+    for (RunEvaluationsWorkflowState.DuplicateTuple duplicate : task.duplicates()) {
+      fanOut.add(componentClient
+          .forEventSourcedEntity(Evaluation.idFor(runId, duplicate.submissionId(), duplicate.questionTemplateId(), task.judgeId()))
+          .method(EvaluationEntity::recordEvaluation)
+          .invokeAsync(result.forTuple(duplicate.submissionId(), duplicate.questionTemplateId()))
+          .toCompletableFuture());
+    }
+    CompletableFuture.allOf(fanOut.toArray(new CompletableFuture[0])).join();
 
-      // Continue processing even on failure
-      if (newState.isComplete()) {
-        return stepEffects()
-            .updateState(newState)
-            .thenEnd();
+    // A retry run settles the source run's failure, so a later retry leaves the tuple out
+    if (sourceRunId != null) {
+      componentClient
+          .forEventSourcedEntity(FailedTask.idFor(sourceRunId, task.submissionId(), task.questionTemplateId(), task.judgeId()))
+          .method(FailedTaskEntity::markRetried)
+          .invoke(runId);
+    }
+    return null;
+  }
+
+  /**
+   * Waits for a scheduled task until its deadline and returns its failure, or null if it succeeded.
+   * A task still running (or queued) at the deadline is left behind with a DeadlineExceededException.
+   */
+  private static Throwable awaitTask(CompletableFuture<Void> result, Deadline deadline) {
+    try {
+      if (deadline.isNone()) {
+        result.join();
       } else {
-        return stepEffects()
-            .updateState(newState)
-            .thenTransitionTo(RunEvaluationsWorkflow::processEvaluationsStep);
+        result.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
       }
-    } catch (Exception e) {
-      logger.error("Unexpected error processing evaluation: {}", task, e);
-      
-      // Mark as failed and continue
-      componentClient
-          .forEventSourcedEntity(currentState().runId())
-          .method(RunEntity::markFailed)
-          .invoke();
+      return null;
+    } catch (TimeoutException e) {
+      return new DeadlineExceededException("Task exceeded its deadline");
+    } catch (CancellationException e) {
+      return e;
+    } catch (CompletionException | ExecutionException e) {
+      return e.getCause() != null ? e.getCause() : e;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return e;
+    }
+  }
 
-      RunEvaluationsWorkflowState newState = currentState()
-          .withPendingEvaluations(remainingTasks)
-          .withFailedCount(currentState().failedCount() + 1);
+  /**
+   * Transitions to the next evaluation, or ends the workflow when nothing is pending.
+   */
+  private StepEffect continueOrEnd(RunEvaluationsWorkflowState newState) {
+    if (newState.isComplete()) {
+      return endCompleted(newState);
+    }
+    return stepEffects()
+        .updateState(newState)
+        .thenTransitionTo(RunEvaluationsWorkflow::processEvaluationsStep);
+  }
 
-      if (newState.isComplete()) {
-        return stepEffects()
-            .updateState(newState)
-            .thenEnd();
-      } else {
-        return stepEffects()
-            .updateState(newState)
-            .thenTransitionTo(RunEvaluationsWorkflow::processEvaluationsStep);
+  /**
+   * Loads the judges of a batch once each instead of once per task.
+   * A judge that cannot be loaded is left out; its tasks then fail with "Judge not found".
+   */
+  private Map<String, Judge> loadJudges(List<RunEvaluationsWorkflowState.PendingTask> batch) {
+    Map<String, Judge> judges = new HashMap<>();
+    for (RunEvaluationsWorkflowState.PendingTask pendingTask : batch) {
+      String judgeId = currentState().decode(pendingTask).judgeId();
+      if (judges.containsKey(judgeId)) {
+        continue;
+      }
+      try {
+        judges.put(judgeId, componentClient
+            .forEventSourcedEntity(judgeId)
+            .method(JudgeEntity::getJudge)
+            .invoke());
+      } catch (Exception e) {
+        logger.error("Failed to load judge {}", judgeId, e);
+        judges.put(judgeId, null);
       }
     }
+    return judges;
   }
 
   /**
    * Builds an EvaluationRequest from an EvaluationTask.
    */
-  private EvaluationRequest buildEvaluationRequest(RunEvaluationsWorkflowState.EvaluationTask task) throws Exception {
-    // Query judge data
-    Judge judge = componentClient
-        .forEventSourcedEntity(task.judgeId())
-        .method(JudgeEntity::getJudge)
-        .invoke();
-
+  private EvaluationRequest buildEvaluationRequest(
+      String runId,
+      String queueId,
+      RunEvaluationsWorkflowState.EvaluationTask task,
+      Judge judge
+  ) throws Exception {
     if (judge == null) {
       throw new Exception("Judge not found: " + task.judgeId());
     }
 
+    Submission.QuestionAnswer questionAnswer = findQuestionAnswer(task);
+
+    return new EvaluationRequest(
+        runId,
+        task.submissionId(),
+        queueId,
+        task.questionTemplateId(),
+        task.judgeId(),
+        questionAnswer.questionText(),
+        questionAnswer.answerChoice(),
+        questionAnswer.answerReasoning(),
+        questionAnswer.metadata() != null ? questionAnswer.metadata() : Map.of(),
+        judge.name(),
+        judge.systemPrompt(),
+        judge.targetModel(),
+        judge.cascade(),
+        judge.version(),
+        EvaluationRequest.IncludedFields.defaults(),
+        List.of() // attachmentUrls
+    );
+  }
+
+  /**
+   * Loads the task's submission and finds the answer being evaluated.
+   */
+  private Submission.QuestionAnswer findQuestionAnswer(RunEvaluationsWorkflowState.EvaluationTask task) throws Exception {
     // Query submission data
     Submission submission = componentClient
         .forEventSourcedEntity(task.submissionId())
@@ -345,25 +988,42 @@ public class RunEvaluationsWorkflow extends Workflow<RunEvaluationsWorkflowState
     if (questionAnswer == null) {
       throw new Exception("Question " + task.questionTemplateId() + " not found in submission " + task.submissionId());
     }
+    return questionAnswer;
+  }
 
-    return new EvaluationRequest(
-        currentState().runId(),
-        task.submissionId(),
-        currentState().queueId(),
-        task.questionTemplateId(),
-        task.judgeId(),
-        questionAnswer.questionText(),
-        questionAnswer.answerChoice(),
-        questionAnswer.answerReasoning(),
-        questionAnswer.metadata() != null ? questionAnswer.metadata() : Map.of(),
-        judge.name(),
-        judge.systemPrompt(),
-        judge.targetModel(),
-        EvaluationRequest.IncludedFields.defaults(),
-        List.of() // attachmentUrls
-    );
+  /**
+   * @param deadline    when the run should be finished, or null for no deadline
+   * @param sourceRunId for RETRY_FAILED, the run whose failed tuples are evaluated again
+   */
+  public record StartRunRequest(
+      String queueId,
+      Run.RunMode mode,
+      Run.RunPriority priority,
+      Instant deadline,
+      String sourceRunId
+  ) {
+    public StartRunRequest(String queueId, Run.RunMode mode, Run.RunPriority priority) {
+      this(queueId, mode, priority, null, null);
+    }
   }
 
-  public record StartRunRequest(String queueId) {}
+  public record StartPlannedRunRequest(
+      String queueId,
+      Run.RunMode mode,
+      Run.RunPriority priority,
+      List<RunEvaluationsWorkflowState.EvaluationTask> tasks,
+      Instant deadline
+  ) {}
+
+  public record StartShardRequest(
+      String runId,
+      String queueId,
+      Run.RunMode mode,
+      Run.RunPriority priority,
+      int shard,
+      RunEvaluationsWorkflowState.SubmissionRange submissionRange,
+      Instant deadline,
+      String sourceRunId
+  ) {}
 }
 
@@ -1,20 +1,92 @@
 package com.example.application.workflows;
 
-import com.example.domain.EvaluationRequest;
+import com.example.domain.Run;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * State for RunEvaluationsWorkflow.
  * Tracks the evaluation run progress and pending evaluations.
+ *
+ * Pending evaluations are dictionary-encoded: each distinct submission, question and judge id is
+ * stored once in taskIds and tasks refer to them by index. A run of many thousand tasks then holds
+ * (and serializes) a few hundred id strings instead of three strings per task.
+ *
+ * A large run is sharded: the workflow with the run id plans the run and acts as coordinator
+ * (shards set, no pending evaluations of its own) and each shard is a child workflow that plans
+ * and processes the tasks of a range of submission ids (shard and submissionRange set) and reports
+ * its own progress. The coordinator keeps only the shards' ranges, never the plan itself.
+ *
+ * deadline is the run deadline (null for none), shared by the coordinator and its shards.
+ * expiredCount counts task attempts that missed their per-task deadline; a pending task's
+ * attempts counts how often it has done so.
+ *
+ * sourceRunId is the run whose failed tuples a RETRY_FAILED run evaluates again (null otherwise).
  */
 public record RunEvaluationsWorkflowState(
     String runId,
     String queueId,
-    List<EvaluationTask> pendingEvaluations,
+    Run.RunMode mode,
+    Run.RunPriority priority,
+    Run.RunStatus status,
+    TaskIds taskIds,
+    List<PendingTask> pendingEvaluations,
     int completedCount,
-    int failedCount
+    int failedCount,
+    Integer shard,
+    Shards shards,
+    Instant deadline,
+    int expiredCount,
+    String sourceRunId,
+    SubmissionRange submissionRange
 ) {
+  /**
+   * Shards of a coordinator: the submission range of each, whether all have been started, and the
+   * indexes of those that have finished.
+   */
+  public record Shards(int count, List<Integer> finished, List<SubmissionRange> ranges, boolean started) {
+    public Shards {
+      finished = finished != null ? List.copyOf(finished) : List.of();
+      ranges = ranges != null ? List.copyOf(ranges) : List.of();
+    }
+
+    public static Shards of(List<SubmissionRange> ranges) {
+      return new Shards(ranges.size(), List.of(), ranges, false);
+    }
+
+    public Shards withFinished(int index) {
+      if (finished.contains(index)) {
+        return this;
+      }
+      List<Integer> newFinished = new ArrayList<>(finished);
+      newFinished.add(index);
+      return new Shards(count, newFinished, ranges, started);
+    }
+
+    public Shards withStarted() {
+      return new Shards(count, finished, ranges, true);
+    }
+
+    public boolean allFinished() {
+      return finished.size() >= count;
+    }
+  }
+
+  /**
+   * Submission ids from fromSubmissionId (inclusive) up to toSubmissionId (exclusive), or up to the
+   * last submission when toSubmissionId is null. The ranges of a run's shards cover every id once.
+   */
+  public record SubmissionRange(String fromSubmissionId, String toSubmissionId) {
+    public boolean contains(String submissionId) {
+      return submissionId.compareTo(fromSubmissionId) >= 0
+          && (toSubmissionId == null || submissionId.compareTo(toSubmissionId) < 0);
+    }
+  }
+
   /**
    * Represents a single evaluation task to be processed.
    */
@@ -22,19 +94,182 @@ public record RunEvaluationsWorkflowState(
       String submissionId,
       String questionTemplateId,
       String judgeId,
-      EvaluationRequest request
+      // Tuples whose answer content is identical; they receive this task's verdict
+      List<DuplicateTuple> duplicates
+  ) {
+    public EvaluationTask {
+      duplicates = duplicates != null ? duplicates : List.of();
+    }
+
+    public EvaluationTask(String submissionId, String questionTemplateId, String judgeId) {
+      this(submissionId, questionTemplateId, judgeId, List.of());
+    }
+
+    public EvaluationTask withDuplicates(List<DuplicateTuple> duplicates) {
+      return new EvaluationTask(submissionId, questionTemplateId, judgeId, duplicates);
+    }
+
+    /**
+     * Number of (submission, question, judge) tuples this task settles.
+     */
+    public int tupleCount() {
+      return 1 + duplicates.size();
+    }
+  }
+
+  /**
+   * A (submission, question) pair with the same answer content as the task that evaluates it.
+   */
+  public record DuplicateTuple(
+      String submissionId,
+      String questionTemplateId
   ) {}
 
+  /**
+   * Id dictionaries of a run. Indexes are stable for the lifetime of the run.
+   */
+  public record TaskIds(
+      List<String> submissionIds,
+      List<String> questionTemplateIds,
+      List<String> judgeIds
+  ) {
+    public static TaskIds empty() {
+      return new TaskIds(List.of(), List.of(), List.of());
+    }
+  }
+
+  /**
+   * An evaluation task encoded against TaskIds.
+   * duplicates holds (submission, question) index pairs, flattened.
+   */
+  public record PendingTask(
+      int submission,
+      int question,
+      int judge,
+      int[] duplicates,
+      int attempts
+  ) {
+    public PendingTask {
+      duplicates = duplicates != null ? duplicates : new int[0];
+    }
+
+    public PendingTask(int submission, int question, int judge, int[] duplicates) {
+      this(submission, question, judge, duplicates, 0);
+    }
+
+    public int tupleCount() {
+      return 1 + duplicates.length / 2;
+    }
+
+    /**
+     * The task after another attempt missed its deadline.
+     */
+    public PendingTask withExpiredAttempt() {
+      return new PendingTask(submission, question, judge, duplicates, attempts + 1);
+    }
+  }
+
+  /**
+   * Replaces the pending evaluations with newly planned tasks, building the id dictionaries.
+   */
+  public RunEvaluationsWorkflowState withPlannedTasks(List<EvaluationTask> tasks) {
+    Dictionary submissions = new Dictionary();
+    Dictionary questions = new Dictionary();
+    Dictionary judges = new Dictionary();
+
+    List<PendingTask> encoded = new ArrayList<>(tasks.size());
+    for (EvaluationTask task : tasks) {
+      int[] duplicates = new int[task.duplicates().size() * 2];
+      for (int i = 0; i < task.duplicates().size(); i++) {
+        duplicates[2 * i] = submissions.indexOf(task.duplicates().get(i).submissionId());
+        duplicates[2 * i + 1] = questions.indexOf(task.duplicates().get(i).questionTemplateId());
+      }
+      encoded.add(new PendingTask(
+          submissions.indexOf(task.submissionId()),
+          questions.indexOf(task.questionTemplateId()),
+          judges.indexOf(task.judgeId()),
+          duplicates));
+    }
+
+    TaskIds newTaskIds = new TaskIds(submissions.ids, questions.ids, judges.ids);
+    return new RunEvaluationsWorkflowState(runId, queueId, mode, priority, status, newTaskIds, encoded, completedCount, failedCount, shard, shards, deadline, expiredCount, sourceRunId, submissionRange);
+  }
+
+  /**
+   * Decodes a pending task into its ids.
+   */
+  public EvaluationTask decode(PendingTask task) {
+    List<DuplicateTuple> duplicates = new ArrayList<>(task.duplicates().length / 2);
+    for (int i = 0; i < task.duplicates().length; i += 2) {
+      duplicates.add(new DuplicateTuple(
+          taskIds.submissionIds().get(task.duplicates()[i]),
+          taskIds.questionTemplateIds().get(task.duplicates()[i + 1])));
+    }
+    return new EvaluationTask(
+        taskIds.submissionIds().get(task.submission()),
+        taskIds.questionTemplateIds().get(task.question()),
+        taskIds.judgeIds().get(task.judge()),
+        duplicates);
+  }
+
+  public RunEvaluationsWorkflowState withStatus(Run.RunStatus status) {
+    return new RunEvaluationsWorkflowState(runId, queueId, mode, priority, status, taskIds, pendingEvaluations, completedCount, failedCount, shard, shards, deadline, expiredCount, sourceRunId, submissionRange);
+  }
+
+  public boolean isStarted() {
+    return !runId.isEmpty();
+  }
+
+  public boolean isPaused() {
+    return status == Run.RunStatus.PAUSED;
+  }
+
+  public boolean isCancelled() {
+    return status == Run.RunStatus.CANCELLED;
+  }
+
+  public boolean isCoordinator() {
+    return shards != null;
+  }
+
+  public RunEvaluationsWorkflowState withTaskIds(TaskIds taskIds) {
+    return new RunEvaluationsWorkflowState(runId, queueId, mode, priority, status, taskIds, pendingEvaluations, completedCount, failedCount, shard, shards, deadline, expiredCount, sourceRunId, submissionRange);
+  }
+
+  public RunEvaluationsWorkflowState withShards(Shards shards) {
+    return new RunEvaluationsWorkflowState(runId, queueId, mode, priority, status, taskIds, pendingEvaluations, completedCount, failedCount, shard, shards, deadline, expiredCount, sourceRunId, submissionRange);
+  }
+
+  public RunEvaluationsWorkflowState withDeadline(Instant deadline) {
+    return new RunEvaluationsWorkflowState(runId, queueId, mode, priority, status, taskIds, pendingEvaluations, completedCount, failedCount, shard, shards, deadline, expiredCount, sourceRunId, submissionRange);
+  }
+
+  public RunEvaluationsWorkflowState withExpiredCount(int expiredCount) {
+    return new RunEvaluationsWorkflowState(runId, queueId, mode, priority, status, taskIds, pendingEvaluations, completedCount, failedCount, shard, shards, deadline, expiredCount, sourceRunId, submissionRange);
+  }
+
+  public boolean isPastDeadline(Instant now) {
+    return deadline != null && now.isAfter(deadline);
+  }
+
+  public boolean isIncremental() {
+    return mode == Run.RunMode.INCREMENTAL;
+  }
+
+  public boolean isRetry() {
+    return mode == Run.RunMode.RETRY_FAILED;
+  }
+
   public RunEvaluationsWorkflowState withCompletedCount(int completedCount) {
-    return new RunEvaluationsWorkflowState(runId, queueId, pendingEvaluations, completedCount, failedCount);
+    return new RunEvaluationsWorkflowState(runId, queueId, mode, priority, status, taskIds, pendingEvaluations, completedCount, failedCount, shard, shards, deadline, expiredCount, sourceRunId, submissionRange);
   }
 
   public RunEvaluationsWorkflowState withFailedCount(int failedCount) {
-    return new RunEvaluationsWorkflowState(runId, queueId, pendingEvaluations, completedCount, failedCount);
+    return new RunEvaluationsWorkflowState(runId, queueId, mode, priority, status, taskIds, pendingEvaluations, completedCount, failedCount, shard, shards, deadline, expiredCount, sourceRunId, submissionRange);
   }
 
-  public RunEvaluationsWorkflowState withPendingEvaluations(List<EvaluationTask> pendingEvaluations) {
-    return new RunEvaluationsWorkflowState(runId, queueId, pendingEvaluations, completedCount, failedCount);
+  public RunEvaluationsWorkflowState withPendingEvaluations(List<PendingTask> pendingEvaluations) {
+    return new RunEvaluationsWorkflowState(runId, queueId, mode, priority, status, taskIds, pendingEvaluations, completedCount, failedCount, shard, shards, deadline, expiredCount, sourceRunId, submissionRange);
   }
 
   public boolean isComplete() {
@@ -44,5 +279,19 @@ public record RunEvaluationsWorkflowState(
   public int getTotalProcessed() {
     return completedCount + failedCount;
   }
-}
 
+  /**
+   * Assigns each distinct id the next index, sharing one String instance per id.
+   */
+  private static final class Dictionary {
+    final List<String> ids = new ArrayList<>();
+    final Map<String, Integer> indexes = new HashMap<>();
+
+    int indexOf(String id) {
+      return indexes.computeIfAbsent(id, key -> {
+        ids.add(key);
+        return ids.size() - 1;
+      });
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package com.example.domain;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Continuous evaluation of a queue: when enabled, submissions imported into the queue are collected
+ * into a micro-batch that is evaluated as soon as it is full or has waited long enough.
+ *
+ * A batch being started stays in flight under the id of the run that evaluates it until that run's
+ * workflow has started, so a start that fails or is interrupted is retried with the same run id
+ * instead of losing the batch.
+ *
+ * @param pendingSubmissionIds  submissions imported since the last batch was started, in import order
+ * @param batchOpenedAt         when the first pending submission was added, or null if none are pending
+ * @param inFlightRunId         id of the run the in-flight batch is started as, or null if none is in flight
+ * @param inFlightSubmissionIds submissions of the in-flight batch
+ * @param inFlightSince         when the in-flight batch was taken; its run deadline counts from then
+ */
+public record ContinuousEvaluation(
+    String queueId,
+    boolean enabled,
+    List<String> pendingSubmissionIds,
+    Instant batchOpenedAt,
+    String inFlightRunId,
+    List<String> inFlightSubmissionIds,
+    Instant inFlightSince
+) {
+  public static ContinuousEvaluation disabled(String queueId) {
+    return new ContinuousEvaluation(queueId, false, List.of(), null, null, List.of(), null);
+  }
+
+  public boolean hasPendingSubmissions() {
+    return !pendingSubmissionIds.isEmpty();
+  }
+
+  public boolean hasBatchInFlight() {
+    return inFlightRunId != null;
+  }
+
+  /**
+   * Turns continuous evaluation on or off. Turning it off drops the pending batch; a batch already
+   * in flight is still started.
+   */
+  public ContinuousEvaluation withEnabled(boolean enabled) {
+    return enabled
+        ? new ContinuousEvaluation(queueId, true, pendingSubmissionIds, batchOpenedAt,
+            inFlightRunId, inFlightSubmissionIds, inFlightSince)
+        : new ContinuousEvaluation(queueId, false, List.of(), null,
+            inFlightRunId, inFlightSubmissionIds, inFlightSince);
+  }
+
+  /**
+   * Adds a submission to the pending batch, opening the batch if it is empty.
+   * A submission already pending or in flight (a redelivered import) is not added twice.
+   */
+  public ContinuousEvaluation withPendingSubmission(String submissionId, Instant now) {
+    if (pendingSubmissionIds.contains(submissionId) || inFlightSubmissionIds.contains(submissionId)) {
+      return this;
+    }
+    List<String> pending = new ArrayList<>(pendingSubmissionIds);
+    pending.add(submissionId);
+    return new ContinuousEvaluation(queueId, enabled, List.copyOf(pending),
+        batchOpenedAt != null ? batchOpenedAt : now, inFlightRunId, inFlightSubmissionIds, inFlightSince);
+  }
+
+  /**
+   * Takes the pending batch in flight as the given run, leaving an empty pending batch.
+   */
+  public ContinuousEvaluation withBatchInFlight(String runId, Instant now) {
+    if (hasBatchInFlight()) {
+      throw new IllegalStateException("Batch of run " + inFlightRunId + " is already in flight");
+    }
+    return new ContinuousEvaluation(queueId, enabled, List.of(), null, runId, pendingSubmissionIds, now);
+  }
+
+  /**
+   * The state after the in-flight batch's run has started. Ignored for any other run.
+   */
+  public ContinuousEvaluation withBatchStarted(String runId) {
+    if (!runId.equals(inFlightRunId)) {
+      return this;
+    }
+    return new ContinuousEvaluation(queueId, enabled, pendingSubmissionIds, batchOpenedAt, null, List.of(), null);
+  }
+
+  /**
+   * Puts the in-flight batch back ahead of the pending submissions, for a new run to start it.
+   * Ignored for any other run; dropped if continuous evaluation has been turned off meanwhile.
+   */
+  public ContinuousEvaluation withBatchReturned(String runId, Instant now) {
+    if (!runId.equals(inFlightRunId)) {
+      return this;
+    }
+    if (!enabled) {
+      return new ContinuousEvaluation(queueId, false, List.of(), null, null, List.of(), null);
+    }
+    List<String> pending = new ArrayList<>(inFlightSubmissionIds);
+    pendingSubmissionIds.stream().filter(id -> !pending.contains(id)).forEach(pending::add);
+    return new ContinuousEvaluation(queueId, enabled, List.copyOf(pending),
+        batchOpenedAt != null ? batchOpenedAt : now, null, List.of(), null);
+  }
+}
@@ -3,7 +3,10 @@ package com.example.domain;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
 
 /**
  * Represents an individual evaluation result.
@@ -16,9 +19,15 @@ public record Evaluation(
     String queueId,
     String questionTemplateId,
     String judgeId,
+    int judgeVersion,
+    String judgeFingerprint,
     Verdict verdict,
     String reasoning,
-    Instant evaluatedAt
+    Instant evaluatedAt,
+    // Which model decided the verdict, and how confident it was (null if not reported)
+    String model,
+    Tier tier,
+    Double confidence
 ) {
   /**
    * Possible verdict values from a judge evaluation.
@@ -29,6 +38,17 @@ public record Evaluation(
     INCONCLUSIVE
   }
 
+  /**
+   * Which tier of a judge produced the verdict.
+   * SINGLE: judge without a cascade. FIRST: the cascade's cheap model decided.
+   * ESCALATED: the cheap verdict was inconclusive or not confident enough, the target model decided.
+   */
+  public enum Tier {
+    SINGLE,
+    FIRST,
+    ESCALATED
+  }
+
   @JsonCreator
   public Evaluation(
       @JsonProperty("evaluationId") String evaluationId,
@@ -37,9 +57,14 @@ public record Evaluation(
       @JsonProperty("queueId") String queueId,
       @JsonProperty("questionTemplateId") String questionTemplateId,
       @JsonProperty("judgeId") String judgeId,
+      @JsonProperty("judgeVersion") int judgeVersion,
+      @JsonProperty("judgeFingerprint") String judgeFingerprint,
       @JsonProperty("verdict") Verdict verdict,
       @JsonProperty("reasoning") String reasoning,
-      @JsonProperty("evaluatedAt") Instant evaluatedAt
+      @JsonProperty("evaluatedAt") Instant evaluatedAt,
+      @JsonProperty("model") String model,
+      @JsonProperty("tier") Tier tier,
+      @JsonProperty("confidence") Double confidence
   ) {
     this.evaluationId = evaluationId != null ? evaluationId : java.util.UUID.randomUUID().toString();
     this.runId = runId;
@@ -47,17 +72,41 @@ public record Evaluation(
     this.queueId = queueId;
     this.questionTemplateId = questionTemplateId;
     this.judgeId = judgeId;
+    this.judgeVersion = judgeVersion;
+    this.judgeFingerprint = judgeFingerprint;
     this.verdict = verdict;
     this.reasoning = reasoning;
     this.evaluatedAt = evaluatedAt != null ? evaluatedAt : Instant.now();
+    this.model = model;
+    this.tier = tier != null ? tier : Tier.SINGLE;
+    this.confidence = confidence;
+  }
+
+  /**
+   * Deterministic evaluation id for a (run, submission, question, judge) tuple.
+   * Retrying the same tuple within a run always targets the same evaluation.
+   */
+  public static String idFor(String runId, String submissionId, String questionTemplateId, String judgeId) {
+    String key = Fingerprints.of(runId, submissionId, questionTemplateId, judgeId);
+    return UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString();
+  }
+
+  /**
+   * Whether this evaluation is for the given tuple.
+   */
+  public boolean isFor(String runId, String submissionId, String questionTemplateId, String judgeId) {
+    return Objects.equals(this.runId, runId)
+        && Objects.equals(this.submissionId, submissionId)
+        && Objects.equals(this.questionTemplateId, questionTemplateId)
+        && Objects.equals(this.judgeId, judgeId);
   }
 
   public Evaluation withVerdict(Verdict verdict) {
-    return new Evaluation(evaluationId, runId, submissionId, queueId, questionTemplateId, judgeId, verdict, reasoning, evaluatedAt);
+    return new Evaluation(evaluationId, runId, submissionId, queueId, questionTemplateId, judgeId, judgeVersion, judgeFingerprint, verdict, reasoning, evaluatedAt, model, tier, confidence);
   }
 
   public Evaluation withReasoning(String reasoning) {
-    return new Evaluation(evaluationId, runId, submissionId, queueId, questionTemplateId, judgeId, verdict, reasoning, evaluatedAt);
+    return new Evaluation(evaluationId, runId, submissionId, queueId, questionTemplateId, judgeId, judgeVersion, judgeFingerprint, verdict, reasoning, evaluatedAt, model, tier, confidence);
   }
 }
 
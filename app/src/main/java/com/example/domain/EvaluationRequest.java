@@ -25,6 +25,8 @@ public record EvaluationRequest(
     String judgeName,
     String judgeSystemPrompt,
     String targetModel,
+    Judge.Cascade cascade,
+    int judgeVersion,
     // Prompt shaping options
     IncludedFields includedFields,
     // Optional: attachment URLs or IDs
@@ -75,6 +77,8 @@ public record EvaluationRequest(
       @JsonProperty("judgeName") String judgeName,
       @JsonProperty("judgeSystemPrompt") String judgeSystemPrompt,
       @JsonProperty("targetModel") String targetModel,
+      @JsonProperty("cascade") Judge.Cascade cascade,
+      @JsonProperty("judgeVersion") int judgeVersion,
       @JsonProperty("includedFields") IncludedFields includedFields,
       @JsonProperty("attachmentUrls") List<String> attachmentUrls
   ) {
@@ -90,8 +94,64 @@ public record EvaluationRequest(
     this.judgeName = judgeName;
     this.judgeSystemPrompt = judgeSystemPrompt;
     this.targetModel = targetModel;
+    this.cascade = cascade;
+    this.judgeVersion = judgeVersion;
     this.includedFields = includedFields != null ? includedFields : IncludedFields.defaults();
     this.attachmentUrls = attachmentUrls != null ? attachmentUrls : List.of();
   }
+
+  /**
+   * Creates a request for a judge version without a cascade.
+   */
+  public EvaluationRequest(
+      String runId,
+      String submissionId,
+      String queueId,
+      String questionTemplateId,
+      String judgeId,
+      String questionText,
+      String answerChoice,
+      String answerReasoning,
+      Map<String, Object> metadata,
+      String judgeName,
+      String judgeSystemPrompt,
+      String targetModel,
+      int judgeVersion,
+      IncludedFields includedFields,
+      List<String> attachmentUrls
+  ) {
+    this(runId, submissionId, queueId, questionTemplateId, judgeId, questionText, answerChoice,
+        answerReasoning, metadata, judgeName, judgeSystemPrompt, targetModel, null, judgeVersion, includedFields, attachmentUrls);
+  }
+
+  /**
+   * Creates a request that is not tied to a stored judge version.
+   */
+  public EvaluationRequest(
+      String runId,
+      String submissionId,
+      String queueId,
+      String questionTemplateId,
+      String judgeId,
+      String questionText,
+      String answerChoice,
+      String answerReasoning,
+      Map<String, Object> metadata,
+      String judgeName,
+      String judgeSystemPrompt,
+      String targetModel,
+      IncludedFields includedFields,
+      List<String> attachmentUrls
+  ) {
+    this(runId, submissionId, queueId, questionTemplateId, judgeId, questionText, answerChoice,
+        answerReasoning, metadata, judgeName, judgeSystemPrompt, targetModel, null, 0, includedFields, attachmentUrls);
+  }
+
+  /**
+   * Fingerprint of the judge configuration this request was built from.
+   */
+  public String judgeFingerprint() {
+    return Judge.fingerprintOf(judgeSystemPrompt, targetModel, cascade);
+  }
 }
 
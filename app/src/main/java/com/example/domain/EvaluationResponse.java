@@ -5,19 +5,49 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 
 /**
  * Output type from JudgeAgent.
- * Contains the structured verdict and reasoning from the LLM evaluation.
+ * Contains the structured verdict and reasoning from the LLM evaluation,
+ * the model's self-reported confidence if any, and which model and tier produced it.
  */
 public record EvaluationResponse(
     Evaluation.Verdict verdict,
-    String reasoning
+    String reasoning,
+    Double confidence,
+    String model,
+    Evaluation.Tier tier
 ) {
   @JsonCreator
   public EvaluationResponse(
       @JsonProperty("verdict") Evaluation.Verdict verdict,
-      @JsonProperty("reasoning") String reasoning
+      @JsonProperty("reasoning") String reasoning,
+      @JsonProperty("confidence") Double confidence,
+      @JsonProperty("model") String model,
+      @JsonProperty("tier") Evaluation.Tier tier
   ) {
     this.verdict = verdict;
     this.reasoning = reasoning != null ? reasoning : "";
+    this.confidence = confidence;
+    this.model = model;
+    this.tier = tier != null ? tier : Evaluation.Tier.SINGLE;
+  }
+
+  public EvaluationResponse(Evaluation.Verdict verdict, String reasoning, Double confidence) {
+    this(verdict, reasoning, confidence, null, null);
+  }
+
+  public EvaluationResponse(Evaluation.Verdict verdict, String reasoning) {
+    this(verdict, reasoning, null, null, null);
+  }
+
+  public EvaluationResponse withTier(Evaluation.Tier tier, String model) {
+    return new EvaluationResponse(verdict, reasoning, confidence, model, tier);
+  }
+
+  /**
+   * Whether a cascade's first tier may keep this verdict: conclusive and at least minConfidence.
+   * A response without a confidence is treated as not confident.
+   */
+  public boolean isConfident(double minConfidence) {
+    return verdict != Evaluation.Verdict.INCONCLUSIVE && confidence != null && confidence >= minConfidence;
   }
 
   /**
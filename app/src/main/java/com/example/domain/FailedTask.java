@@ -0,0 +1,40 @@
+package com.example.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A (submission, question, judge) tuple that a run failed to evaluate, kept so it can be
+ * inspected and retried on its own (dead-letter store).
+ *
+ * @param errorClass     simple class name of the error that failed the last attempt
+ * @param attempts       attempts the run made, including the one that failed
+ * @param retriedByRunId the RETRY_FAILED run that has since evaluated the tuple, or null
+ */
+public record FailedTask(
+    String failedTaskId,
+    String runId,
+    String queueId,
+    String submissionId,
+    String questionTemplateId,
+    String judgeId,
+    String errorClass,
+    String errorMessage,
+    int attempts,
+    Instant failedAt,
+    String retriedByRunId
+) {
+  /**
+   * Deterministic id of a run's failed tuple, so recording the same failure again is idempotent.
+   */
+  public static String idFor(String runId, String submissionId, String questionTemplateId, String judgeId) {
+    String key = Fingerprints.of("failed", runId, submissionId, questionTemplateId, judgeId);
+    return UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString();
+  }
+
+  public FailedTask withRetriedByRunId(String retriedByRunId) {
+    return new FailedTask(failedTaskId, runId, queueId, submissionId, questionTemplateId, judgeId,
+        errorClass, errorMessage, attempts, failedAt, retriedByRunId);
+  }
+}
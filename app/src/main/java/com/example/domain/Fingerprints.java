@@ -0,0 +1,93 @@
+package com.example.domain;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Content hashing helpers.
+ * Produces stable SHA-256 fingerprints over an ordered list of string parts.
+ */
+public final class Fingerprints {
+
+  private Fingerprints() {}
+
+  /**
+   * Returns the hex-encoded SHA-256 of the given parts.
+   * Each part is length-prefixed so that ("ab", "c") and ("a", "bc") hash differently.
+   * Null parts are hashed distinctly from empty strings.
+   */
+  public static String of(String... parts) {
+    MessageDigest digest = sha256();
+    for (String part : parts) {
+      if (part == null) {
+        digest.update((byte) 0);
+        continue;
+      }
+      byte[] bytes = part.getBytes(StandardCharsets.UTF_8);
+      digest.update((byte) 1);
+      digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.US_ASCII));
+      digest.update((byte) ':');
+      digest.update(bytes);
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  /**
+   * Renders a value as a typed, length-prefixed encoding with map keys sorted, so equal values always
+   * hash the same and different ones never do: every string is length-prefixed, so no separator inside
+   * it can be mistaken for structure, and every value is tagged with its type, so 1 and "1" differ.
+   */
+  public static String canonical(Object value) {
+    StringBuilder result = new StringBuilder();
+    appendCanonical(result, value);
+    return result.toString();
+  }
+
+  private static void appendCanonical(StringBuilder result, Object value) {
+    if (value == null) {
+      result.append('n');
+    } else if (value instanceof Map<?, ?> map) {
+      Map<String, Object> sorted = new TreeMap<>();
+      map.forEach((key, entryValue) -> sorted.putIfAbsent(String.valueOf(key), entryValue));
+      result.append('{').append(sorted.size()).append(':');
+      sorted.forEach((key, entryValue) -> {
+        appendText(result, 's', key);
+        appendCanonical(result, entryValue);
+      });
+      result.append('}');
+    } else if (value instanceof List<?> list) {
+      result.append('[').append(list.size()).append(':');
+      list.forEach(element -> appendCanonical(result, element));
+      result.append(']');
+    } else if (value instanceof String text) {
+      appendText(result, 's', text);
+    } else if (value instanceof Boolean bool) {
+      appendText(result, 'b', bool.toString());
+    } else if (value instanceof Integer || value instanceof Long || value instanceof Short
+        || value instanceof Byte || value instanceof BigInteger) {
+      appendText(result, 'i', value.toString());
+    } else if (value instanceof Number number) {
+      appendText(result, 'f', number.toString());
+    } else {
+      appendText(result, 'o', value.toString());
+    }
+  }
+
+  private static void appendText(StringBuilder result, char type, String text) {
+    result.append(type).append(text.length()).append(':').append(text);
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
@@ -3,46 +3,132 @@ package com.example.domain;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.time.Instant;
+
 /**
  * Represents an AI judge definition.
  * A judge contains a rubric (system prompt) and specifies which LLM model to use.
+ *
+ * Every change to the rubric or model produces a new immutable version. The fingerprint
+ * is a content hash of (systemPrompt, targetModel, cascade) and is always derived, never supplied.
+ *
+ * An optional cascade first evaluates with a cheaper model and only escalates to the
+ * target model when that verdict is inconclusive or not confident enough.
+ *
+ * A judge with a rule is evaluated in-process by the rule instead of by an LLM; its prompt,
+ * model and cascade are ignored and its fingerprint is the rule's fingerprint.
  */
 public record Judge(
     String judgeId,
     String name,
     String systemPrompt,
     String targetModel,
-    boolean active
+    Cascade cascade,
+    JudgeRule rule,
+    boolean active,
+    int version,
+    String fingerprint,
+    Instant versionCreatedAt
 ) {
+  /**
+   * Cascade configuration of a judge.
+   *
+   * @param firstModel    cheap model that evaluates first
+   * @param minConfidence confidence (0 to 1) the first model must report for its verdict to stand
+   */
+  public record Cascade(String firstModel, double minConfidence) {
+    @JsonCreator
+    public Cascade(
+        @JsonProperty("firstModel") String firstModel,
+        @JsonProperty("minConfidence") double minConfidence
+    ) {
+      if (firstModel == null || firstModel.isBlank()) {
+        throw new IllegalArgumentException("Cascade firstModel is required");
+      }
+      if (minConfidence < 0.0 || minConfidence > 1.0) {
+        throw new IllegalArgumentException("Cascade minConfidence must be between 0 and 1");
+      }
+      this.firstModel = firstModel;
+      this.minConfidence = minConfidence;
+    }
+  }
+
   @JsonCreator
   public Judge(
       @JsonProperty("judgeId") String judgeId,
       @JsonProperty("name") String name,
       @JsonProperty("systemPrompt") String systemPrompt,
       @JsonProperty("targetModel") String targetModel,
-      @JsonProperty("active") boolean active
+      @JsonProperty("cascade") Cascade cascade,
+      @JsonProperty("rule") JudgeRule rule,
+      @JsonProperty("active") boolean active,
+      @JsonProperty("version") int version,
+      @JsonProperty("fingerprint") String fingerprint,
+      @JsonProperty("versionCreatedAt") Instant versionCreatedAt
   ) {
     this.judgeId = judgeId != null ? judgeId : java.util.UUID.randomUUID().toString();
     this.name = name;
     this.systemPrompt = systemPrompt;
     this.targetModel = targetModel != null ? targetModel : "gpt-4o-mini";
+    this.cascade = cascade;
+    this.rule = rule;
     this.active = active;
+    this.version = version > 0 ? version : 1;
+    this.fingerprint = rule != null ? rule.fingerprint() : fingerprintOf(this.systemPrompt, this.targetModel, this.cascade);
+    this.versionCreatedAt = versionCreatedAt;
+  }
+
+  public Judge(String judgeId, String name, String systemPrompt, String targetModel, boolean active) {
+    this(judgeId, name, systemPrompt, targetModel, null, null, active, 1, null, Instant.now());
   }
 
   public Judge withActive(boolean active) {
-    return new Judge(judgeId, name, systemPrompt, targetModel, active);
+    return new Judge(judgeId, name, systemPrompt, targetModel, cascade, rule, active, version, null, versionCreatedAt);
   }
 
   public Judge withName(String name) {
-    return new Judge(judgeId, name, systemPrompt, targetModel, active);
+    return new Judge(judgeId, name, systemPrompt, targetModel, cascade, rule, active, version, null, versionCreatedAt);
   }
 
   public Judge withSystemPrompt(String systemPrompt) {
-    return new Judge(judgeId, name, systemPrompt, targetModel, active);
+    return new Judge(judgeId, name, systemPrompt, targetModel, cascade, rule, active, version, null, versionCreatedAt);
   }
 
   public Judge withTargetModel(String targetModel) {
-    return new Judge(judgeId, name, systemPrompt, targetModel, active);
+    return new Judge(judgeId, name, systemPrompt, targetModel, cascade, rule, active, version, null, versionCreatedAt);
+  }
+
+  public Judge withCascade(Cascade cascade) {
+    return new Judge(judgeId, name, systemPrompt, targetModel, cascade, rule, active, version, null, versionCreatedAt);
+  }
+
+  public Judge withRule(JudgeRule rule) {
+    return new Judge(judgeId, name, systemPrompt, targetModel, cascade, rule, active, version, null, versionCreatedAt);
+  }
+
+  public Judge withVersion(int version, Instant versionCreatedAt) {
+    return new Judge(judgeId, name, systemPrompt, targetModel, cascade, rule, active, version, null, versionCreatedAt);
+  }
+
+  /**
+   * Whether this judge evaluates differently from the given one, i.e. rubric, model, cascade or rule changed.
+   */
+  public boolean differsInContentFrom(Judge other) {
+    return other == null || !fingerprint.equals(other.fingerprint());
   }
-}
 
+  public static String fingerprintOf(String systemPrompt, String targetModel) {
+    return fingerprintOf(systemPrompt, targetModel, null);
+  }
+
+  /**
+   * Judges without a cascade keep the fingerprint they had before cascades existed,
+   * so their earlier evaluations still count as up to date.
+   */
+  public static String fingerprintOf(String systemPrompt, String targetModel, Cascade cascade) {
+    if (cascade == null) {
+      return Fingerprints.of(systemPrompt, targetModel);
+    }
+    return Fingerprints.of(systemPrompt, targetModel, cascade.firstModel(), Double.toString(cascade.minConfidence()));
+  }
+}
@@ -0,0 +1,359 @@
+package com.example.domain;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Deterministic check of one answer field, evaluated in-process instead of by an LLM.
+ *
+ * field is answerChoice, answerReasoning, questionText, metadata (the whole map) or
+ * metadata.a.b (a nested metadata value). The verdict is PASS when the check holds, FAIL when
+ * it does not and INCONCLUSIVE when the field is missing or, for NUMERIC, not a number.
+ *
+ * @param kind       which check to run
+ * @param field      answer field the check reads
+ * @param value      EQUALS: expected value; REGEX: pattern (found anywhere unless anchored); NUMERIC: target number
+ * @param values     ONE_OF: allowed values
+ * @param tolerance  NUMERIC: allowed absolute difference from the target (default 0)
+ * @param schema     JSON_SCHEMA: schema document (JSON text) the value must satisfy; when the schema allows an
+ *                   object or array, text holding a JSON object or array is checked as the parsed value
+ * @param ignoreCase EQUALS, ONE_OF and REGEX: compare case-insensitively
+ */
+public record JudgeRule(
+    Kind kind,
+    String field,
+    String value,
+    List<String> values,
+    Double tolerance,
+    String schema,
+    boolean ignoreCase
+) {
+  /**
+   * Model name recorded on evaluations produced by a rule.
+   */
+  public static final String MODEL = "rule";
+
+  public enum Kind {
+    EQUALS,
+    ONE_OF,
+    REGEX,
+    NUMERIC,
+    JSON_SCHEMA
+  }
+
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+  // Compiled patterns and parsed schemas shared by all rules
+  private static final Map<String, Pattern> patterns = new ConcurrentHashMap<>();
+  private static final Map<String, Map<?, ?>> schemas = new ConcurrentHashMap<>();
+
+  @JsonCreator
+  public JudgeRule(
+      @JsonProperty("kind") Kind kind,
+      @JsonProperty("field") String field,
+      @JsonProperty("value") String value,
+      @JsonProperty("values") List<String> values,
+      @JsonProperty("tolerance") Double tolerance,
+      @JsonProperty("schema") String schema,
+      @JsonProperty("ignoreCase") boolean ignoreCase
+  ) {
+    if (kind == null) {
+      throw new IllegalArgumentException("Rule kind is required");
+    }
+    if (field == null || !(field.equals("answerChoice") || field.equals("answerReasoning")
+        || field.equals("questionText") || field.equals("metadata") || field.startsWith("metadata."))) {
+      throw new IllegalArgumentException(
+          "Rule field must be answerChoice, answerReasoning, questionText, metadata or metadata.<key>: " + field);
+    }
+    switch (kind) {
+      case EQUALS -> require(value != null, "EQUALS rule requires a value");
+      case ONE_OF -> require(values != null && !values.isEmpty(), "ONE_OF rule requires values");
+      case REGEX -> {
+        require(value != null, "REGEX rule requires a pattern as value");
+        pattern(value, ignoreCase);
+      }
+      case NUMERIC -> require(value != null && parseNumber(value) != null, "NUMERIC rule requires a numeric value");
+      case JSON_SCHEMA -> {
+        require(schema != null, "JSON_SCHEMA rule requires a schema");
+        JsonSchemaCheck.validate(parsedSchema(schema));
+      }
+    }
+    this.kind = kind;
+    this.field = field;
+    this.value = value;
+    this.values = values != null ? List.copyOf(values) : List.of();
+    this.tolerance = tolerance != null ? Math.abs(tolerance) : 0.0;
+    this.schema = schema;
+    this.ignoreCase = ignoreCase;
+  }
+
+  /**
+   * Evaluates the rule against an answer. Never calls out of process.
+   */
+  public EvaluationResponse evaluate(Submission.QuestionAnswer answer) {
+    Object actual = resolve(answer);
+    if (actual == null) {
+      return response(Evaluation.Verdict.INCONCLUSIVE, field + " is missing");
+    }
+
+    return switch (kind) {
+      case EQUALS -> {
+        String text = String.valueOf(actual);
+        boolean equal = ignoreCase ? text.equalsIgnoreCase(value) : text.equals(value);
+        yield equal
+            ? response(Evaluation.Verdict.PASS, field + " equals \"" + value + "\"")
+            : response(Evaluation.Verdict.FAIL, field + " \"" + text + "\" does not equal \"" + value + "\"");
+      }
+      case ONE_OF -> {
+        String text = String.valueOf(actual);
+        boolean member = values.stream().anyMatch(v -> ignoreCase ? v.equalsIgnoreCase(text) : v.equals(text));
+        yield member
+            ? response(Evaluation.Verdict.PASS, field + " \"" + text + "\" is one of " + values)
+            : response(Evaluation.Verdict.FAIL, field + " \"" + text + "\" is not one of " + values);
+      }
+      case REGEX -> pattern(value, ignoreCase).matcher(String.valueOf(actual)).find()
+          ? response(Evaluation.Verdict.PASS, field + " matches /" + value + "/")
+          : response(Evaluation.Verdict.FAIL, field + " does not match /" + value + "/");
+      case NUMERIC -> {
+        Double number = actual instanceof Number n ? Double.valueOf(n.doubleValue()) : parseNumber(String.valueOf(actual));
+        if (number == null) {
+          yield response(Evaluation.Verdict.INCONCLUSIVE, field + " \"" + actual + "\" is not a number");
+        }
+        double target = parseNumber(value);
+        yield Math.abs(number - target) <= tolerance
+            ? response(Evaluation.Verdict.PASS, field + " " + number + " is within " + tolerance + " of " + target)
+            : response(Evaluation.Verdict.FAIL, field + " " + number + " is not within " + tolerance + " of " + target);
+      }
+      case JSON_SCHEMA -> {
+        Map<?, ?> parsedSchema = parsedSchema(schema);
+        Object checked = JsonSchemaCheck.allowsStructure(parsedSchema) ? parseJsonText(actual) : actual;
+        String violation = JsonSchemaCheck.violation(checked, parsedSchema, field);
+        yield violation == null
+            ? response(Evaluation.Verdict.PASS, field + " satisfies the schema")
+            : response(Evaluation.Verdict.FAIL, violation);
+      }
+    };
+  }
+
+  /**
+   * Content hash of the rule; equal rules always produce the same verdicts.
+   * Every setting goes through the typed encoding of Fingerprints.canonical, so rules that differ
+   * only in how their values split or in a value's type (ONE_OF ["a,b"] and ["a", "b"], a schema's
+   * 1 and "1") never share a fingerprint. The schema is hashed parsed, so its key order does not count.
+   */
+  public String fingerprint() {
+    return Fingerprints.of("rule", Fingerprints.canonical(Arrays.asList(
+        kind.name(), field, value, values, tolerance, schema != null ? parsedSchema(schema) : null, ignoreCase)));
+  }
+
+  private Object resolve(Submission.QuestionAnswer answer) {
+    return switch (field) {
+      case "answerChoice" -> answer.answerChoice();
+      case "answerReasoning" -> answer.answerReasoning();
+      case "questionText" -> answer.questionText();
+      case "metadata" -> answer.metadata();
+      default -> {
+        Object current = answer.metadata();
+        for (String key : field.substring("metadata.".length()).split("\\.")) {
+          if (!(current instanceof Map<?, ?> map)) {
+            yield null;
+          }
+          current = map.get(key);
+        }
+        yield current;
+      }
+    };
+  }
+
+  private static EvaluationResponse response(Evaluation.Verdict verdict, String reasoning) {
+    return new EvaluationResponse(verdict, "Rule: " + reasoning, 1.0, MODEL, Evaluation.Tier.SINGLE);
+  }
+
+  /**
+   * Text that holds a JSON object or array (e.g. reasoning written as a JSON object) is checked as the
+   * parsed value. Other text stays a string, so "42" or "true" is not read as a number or boolean.
+   */
+  private static Object parseJsonText(Object actual) {
+    if (!(actual instanceof String text)) {
+      return actual;
+    }
+    try {
+      Object parsed = objectMapper.readValue(text, Object.class);
+      return parsed instanceof Map || parsed instanceof List ? parsed : text;
+    } catch (JsonProcessingException e) {
+      return text;
+    }
+  }
+
+  private static Pattern pattern(String regex, boolean ignoreCase) {
+    return patterns.computeIfAbsent((ignoreCase ? "i:" : ":") + regex, key -> {
+      try {
+        return Pattern.compile(regex, ignoreCase ? Pattern.CASE_INSENSITIVE : 0);
+      } catch (PatternSyntaxException e) {
+        throw new IllegalArgumentException("Invalid rule pattern: " + e.getMessage(), e);
+      }
+    });
+  }
+
+  private static Map<?, ?> parsedSchema(String json) {
+    return schemas.computeIfAbsent(json, key -> {
+      try {
+        return objectMapper.readValue(json, Map.class);
+      } catch (JsonProcessingException e) {
+        throw new IllegalArgumentException("Rule schema must be a JSON object: " + e.getOriginalMessage(), e);
+      }
+    });
+  }
+
+  private static Double parseNumber(String text) {
+    try {
+      return Double.valueOf(text.trim());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static void require(boolean condition, String message) {
+    if (!condition) {
+      throw new IllegalArgumentException(message);
+    }
+  }
+
+  /**
+   * Validates a value against the commonly used subset of JSON Schema: type, enum, required,
+   * properties, additionalProperties (false), items, minimum, maximum, minLength, maxLength and pattern.
+   * type is a type name or an array of type names.
+   */
+  static final class JsonSchemaCheck {
+
+    private static final List<String> TYPES = List.of("object", "array", "string", "number", "integer", "boolean", "null");
+
+    private JsonSchemaCheck() {}
+
+    /**
+     * Rejects type keywords this check cannot evaluate, at any depth, instead of letting them pass silently.
+     */
+    static void validate(Map<?, ?> schema) {
+      Object type = schema.get("type");
+      if (type != null && typeNames(type).isEmpty()) {
+        throw new IllegalArgumentException("Rule schema type must be one of " + TYPES + " or an array of them: " + type);
+      }
+      if (schema.get("properties") instanceof Map<?, ?> properties) {
+        for (Object propertySchema : properties.values()) {
+          if (propertySchema instanceof Map<?, ?> nested) {
+            validate(nested);
+          }
+        }
+      }
+      if (schema.get("items") instanceof Map<?, ?> itemSchema) {
+        validate(itemSchema);
+      }
+    }
+
+    /**
+     * Whether the schema's top-level type allows an object or array (or is not given).
+     */
+    static boolean allowsStructure(Map<?, ?> schema) {
+      Object type = schema.get("type");
+      if (type == null) {
+        return true;
+      }
+      List<String> names = typeNames(type);
+      return names.contains("object") || names.contains("array");
+    }
+
+    /**
+     * The type names of a type keyword, or an empty list if any of them is not a known type.
+     */
+    private static List<String> typeNames(Object type) {
+      List<?> names = type instanceof List<?> list ? list : List.of(type);
+      if (names.isEmpty() || !names.stream().allMatch(TYPES::contains)) {
+        return List.of();
+      }
+      return names.stream().map(String::valueOf).toList();
+    }
+
+    /**
+     * Returns a description of the first violation, or null if the value satisfies the schema.
+     */
+    static String violation(Object value, Map<?, ?> schema, String path) {
+      Object type = schema.get("type");
+      if (type != null && typeNames(type).stream().noneMatch(name -> hasType(value, name))) {
+        return path + " is not of type " + type;
+      }
+      if (schema.get("enum") instanceof List<?> allowed && !allowed.contains(value)) {
+        return path + " is not one of " + allowed;
+      }
+      if (value instanceof Number number) {
+        if (schema.get("minimum") instanceof Number min && number.doubleValue() < min.doubleValue()) {
+          return path + " is below the minimum " + min;
+        }
+        if (schema.get("maximum") instanceof Number max && number.doubleValue() > max.doubleValue()) {
+          return path + " is above the maximum " + max;
+        }
+      }
+      if (value instanceof String text) {
+        if (schema.get("minLength") instanceof Number min && text.length() < min.intValue()) {
+          return path + " is shorter than " + min;
+        }
+        if (schema.get("maxLength") instanceof Number max && text.length() > max.intValue()) {
+          return path + " is longer than " + max;
+        }
+        if (schema.get("pattern") instanceof String regex && !pattern(regex, false).matcher(text).find()) {
+          return path + " does not match /" + regex + "/";
+        }
+      }
+      if (value instanceof Map<?, ?> object) {
+        if (schema.get("required") instanceof List<?> required) {
+          for (Object key : required) {
+            if (!object.containsKey(key)) {
+              return path + "." + key + " is required";
+            }
+          }
+        }
+        Map<?, ?> properties = schema.get("properties") instanceof Map<?, ?> p ? p : Map.of();
+        for (Map.Entry<?, ?> entry : object.entrySet()) {
+          if (properties.get(entry.getKey()) instanceof Map<?, ?> propertySchema) {
+            String violation = violation(entry.getValue(), propertySchema, path + "." + entry.getKey());
+            if (violation != null) {
+              return violation;
+            }
+          } else if (Boolean.FALSE.equals(schema.get("additionalProperties"))) {
+            return path + "." + entry.getKey() + " is not allowed";
+          }
+        }
+      }
+      if (value instanceof List<?> array && schema.get("items") instanceof Map<?, ?> itemSchema) {
+        for (int i = 0; i < array.size(); i++) {
+          String violation = violation(array.get(i), itemSchema, path + "[" + i + "]");
+          if (violation != null) {
+            return violation;
+          }
+        }
+      }
+      return null;
+    }
+
+    private static boolean hasType(Object value, String type) {
+      return switch (type) {
+        case "object" -> value instanceof Map;
+        case "array" -> value instanceof List;
+        case "string" -> value instanceof String;
+        case "number" -> value instanceof Number;
+        case "integer" -> value instanceof Integer || value instanceof Long
+            || (value instanceof Number n && n.doubleValue() == Math.rint(n.doubleValue()));
+        case "boolean" -> value instanceof Boolean;
+        case "null" -> value == null;
+        default -> false;
+      };
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package com.example.domain;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Represents a distinct question within a queue.
+ * Questions are derived from the submissions imported into the queue.
+ */
+public record Question(
+    String queueId,
+    String questionTemplateId,
+    String questionText
+) {
+  @JsonCreator
+  public Question(
+      @JsonProperty("queueId") String queueId,
+      @JsonProperty("questionTemplateId") String questionTemplateId,
+      @JsonProperty("questionText") String questionText
+  ) {
+    this.queueId = queueId;
+    this.questionTemplateId = questionTemplateId;
+    this.questionText = questionText;
+  }
+
+  /**
+   * Entity id of a question: "{queueId}|{questionTemplateId}"
+   */
+  public static String idFor(String queueId, String questionTemplateId) {
+    return queueId + "|" + questionTemplateId;
+  }
+}
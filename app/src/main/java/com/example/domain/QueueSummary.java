@@ -0,0 +1,112 @@
+package com.example.domain;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents the size of a queue: its submissions, distinct questions and judge assignments.
+ * Maintained incrementally as submissions are imported and judges are assigned, so the
+ * projected task count of a run is known without scanning the queue.
+ *
+ * @param answerCounts number of submissions answering each question, by questionTemplateId
+ */
+public record QueueSummary(
+    String queueId,
+    int submissionCount,
+    Set<String> questionTemplateIds,
+    Map<String, Integer> assignedJudgeCounts,
+    Instant lastImportAt,
+    List<String> recentSubmissionIds,
+    Map<String, Integer> answerCounts
+) {
+  /**
+   * Number of most recently imported submission ids kept to ignore an import redelivered before it
+   * was marked in QueueSubmissionEntity, which dedups every other redelivery.
+   */
+  public static final int RECENT_SUBMISSION_WINDOW = 256;
+
+  @JsonCreator
+  public QueueSummary(
+      @JsonProperty("queueId") String queueId,
+      @JsonProperty("submissionCount") int submissionCount,
+      @JsonProperty("questionTemplateIds") Set<String> questionTemplateIds,
+      @JsonProperty("assignedJudgeCounts") Map<String, Integer> assignedJudgeCounts,
+      @JsonProperty("lastImportAt") Instant lastImportAt,
+      @JsonProperty("recentSubmissionIds") List<String> recentSubmissionIds,
+      @JsonProperty("answerCounts") Map<String, Integer> answerCounts
+  ) {
+    this.queueId = queueId;
+    this.submissionCount = submissionCount;
+    this.questionTemplateIds = questionTemplateIds != null ? questionTemplateIds : Set.of();
+    this.assignedJudgeCounts = assignedJudgeCounts != null ? assignedJudgeCounts : Map.of();
+    this.lastImportAt = lastImportAt;
+    this.recentSubmissionIds = recentSubmissionIds != null ? recentSubmissionIds : List.of();
+    // Summaries stored before answer counts were kept assume every submission answers every question
+    this.answerCounts = answerCounts != null ? answerCounts : legacyAnswerCounts(this.questionTemplateIds, submissionCount);
+  }
+
+  public static QueueSummary empty(String queueId) {
+    return new QueueSummary(queueId, 0, Set.of(), Map.of(), null, List.of(), Map.of());
+  }
+
+  private static Map<String, Integer> legacyAnswerCounts(Set<String> questionTemplateIds, int submissionCount) {
+    Map<String, Integer> counts = new HashMap<>();
+    questionTemplateIds.forEach(questionTemplateId -> counts.put(questionTemplateId, submissionCount));
+    return counts;
+  }
+
+  public int questionCount() {
+    return questionTemplateIds.size();
+  }
+
+  /**
+   * Number of evaluation tasks a full run would plan with the current assignments:
+   * every answer is evaluated by each judge assigned to its question.
+   */
+  public int projectedTaskCount() {
+    return answerCounts.entrySet().stream()
+        .mapToInt(entry -> entry.getValue() * assignedJudgeCounts.getOrDefault(entry.getKey(), 0))
+        .sum();
+  }
+
+  public boolean hasRecentSubmission(String submissionId) {
+    return recentSubmissionIds.contains(submissionId);
+  }
+
+  public QueueSummary withSubmission(String submissionId, Set<String> submissionQuestionIds, Instant importedAt) {
+    Set<String> newQuestionIds = new HashSet<>(questionTemplateIds);
+    newQuestionIds.addAll(submissionQuestionIds);
+
+    List<String> newRecentIds = new ArrayList<>(recentSubmissionIds);
+    newRecentIds.add(submissionId);
+    if (newRecentIds.size() > RECENT_SUBMISSION_WINDOW) {
+      newRecentIds = new ArrayList<>(newRecentIds.subList(newRecentIds.size() - RECENT_SUBMISSION_WINDOW, newRecentIds.size()));
+    }
+
+    Map<String, Integer> newAnswerCounts = new HashMap<>(answerCounts);
+    submissionQuestionIds.forEach(questionTemplateId -> newAnswerCounts.merge(questionTemplateId, 1, Integer::sum));
+
+    Instant newLastImportAt = lastImportAt == null || importedAt.isAfter(lastImportAt) ? importedAt : lastImportAt;
+    return new QueueSummary(queueId, submissionCount + 1, newQuestionIds, assignedJudgeCounts, newLastImportAt, newRecentIds,
+        newAnswerCounts);
+  }
+
+  public QueueSummary withAssignedJudgeCount(String questionTemplateId, int judgeCount) {
+    Map<String, Integer> newCounts = new HashMap<>(assignedJudgeCounts);
+    if (judgeCount > 0) {
+      newCounts.put(questionTemplateId, judgeCount);
+    } else {
+      newCounts.remove(questionTemplateId);
+    }
+    return new QueueSummary(queueId, submissionCount, questionTemplateIds, newCounts, lastImportAt, recentSubmissionIds,
+        answerCounts);
+  }
+}
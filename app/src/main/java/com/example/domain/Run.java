@@ -4,10 +4,17 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Represents an evaluation run progress.
  * Tracks how many evaluations are planned, completed, and failed for a run.
+ *
+ * A sharded run also keeps the counts of each shard, by shard index; the run counts are their sum.
+ *
+ * A run may have a deadline; expiredCount counts task attempts that missed their per-task deadline
+ * and were rescheduled or failed, and slaStatus tells whether the run finished by its deadline.
  */
 public record Run(
     String runId,
@@ -17,15 +24,75 @@ public record Run(
     int completedCount,
     int failedCount,
     Instant startedAt,
-    Instant completedAt
+    Instant completedAt,
+    Map<Integer, ShardProgress> shards,
+    Instant deadline,
+    int expiredCount
 ) {
+  /**
+   * Progress of one shard of a sharded run.
+   */
+  public record ShardProgress(int completedCount, int failedCount, int expiredCount) {
+    public ShardProgress(int completedCount, int failedCount) {
+      this(completedCount, failedCount, 0);
+    }
+  }
+
+  /**
+   * Whether a run met its deadline.
+   * NONE: no deadline (or cancelled); ON_TRACK: running and the deadline has not passed;
+   * MET: finished by the deadline; MISSED: finished after it, or still running past it.
+   */
+  public enum SlaStatus {
+    NONE,
+    ON_TRACK,
+    MET,
+    MISSED
+  }
+
   /**
    * Status of an evaluation run.
    */
   public enum RunStatus {
     RUNNING,
+    PAUSED,
     COMPLETED,
-    FAILED
+    FAILED,
+    CANCELLED
+  }
+
+  /**
+   * How an evaluation run selects its tasks.
+   * FULL evaluates every tuple; INCREMENTAL skips tuples that already have an
+   * evaluation produced by the judge's current fingerprint; RETRY_FAILED evaluates only
+   * the tuples a previous run failed and no retry has evaluated since; CONTINUOUS evaluates a
+   * batch of newly imported submissions of a queue with continuous evaluation enabled.
+   */
+  public enum RunMode {
+    FULL,
+    INCREMENTAL,
+    RETRY_FAILED,
+    CONTINUOUS
+  }
+
+  /**
+   * Scheduling priority of a run.
+   * Runs share evaluation capacity in proportion to their priority weight.
+   */
+  public enum RunPriority {
+    LOW(1),
+    NORMAL(4),
+    HIGH(16);
+
+    private final int weight;
+
+    RunPriority(int weight) {
+      this.weight = weight;
+    }
+
+    public int weight() {
+      return weight;
+    }
   }
 
   @JsonCreator
@@ -37,7 +104,10 @@ public record Run(
       @JsonProperty("completedCount") int completedCount,
       @JsonProperty("failedCount") int failedCount,
       @JsonProperty("startedAt") Instant startedAt,
-      @JsonProperty("completedAt") Instant completedAt
+      @JsonProperty("completedAt") Instant completedAt,
+      @JsonProperty("shards") Map<Integer, ShardProgress> shards,
+      @JsonProperty("deadline") Instant deadline,
+      @JsonProperty("expiredCount") int expiredCount
   ) {
     this.runId = runId != null ? runId : java.util.UUID.randomUUID().toString();
     this.queueId = queueId;
@@ -47,26 +117,83 @@ public record Run(
     this.failedCount = failedCount;
     this.startedAt = startedAt != null ? startedAt : Instant.now();
     this.completedAt = completedAt;
+    this.shards = shards != null ? shards : Map.of();
+    this.deadline = deadline;
+    this.expiredCount = expiredCount;
+  }
+
+  public Run(
+      String runId,
+      String queueId,
+      RunStatus status,
+      int plannedCount,
+      int completedCount,
+      int failedCount,
+      Instant startedAt,
+      Instant completedAt
+  ) {
+    this(runId, queueId, status, plannedCount, completedCount, failedCount, startedAt, completedAt, null, null, 0);
+  }
+
+  public Run withPlannedCount(int plannedCount) {
+    return new Run(runId, queueId, status, plannedCount, completedCount, failedCount, startedAt, completedAt, shards, deadline, expiredCount);
   }
 
   public Run withStatus(RunStatus status) {
-    return new Run(runId, queueId, status, plannedCount, completedCount, failedCount, startedAt, completedAt);
+    return new Run(runId, queueId, status, plannedCount, completedCount, failedCount, startedAt, completedAt, shards, deadline, expiredCount);
   }
 
   public Run withCompletedCount(int completedCount) {
-    return new Run(runId, queueId, status, plannedCount, completedCount, failedCount, startedAt, completedAt);
+    return new Run(runId, queueId, status, plannedCount, completedCount, failedCount, startedAt, completedAt, shards, deadline, expiredCount);
   }
 
   public Run withFailedCount(int failedCount) {
-    return new Run(runId, queueId, status, plannedCount, completedCount, failedCount, startedAt, completedAt);
+    return new Run(runId, queueId, status, plannedCount, completedCount, failedCount, startedAt, completedAt, shards, deadline, expiredCount);
   }
 
   public Run withCompletedAt(Instant completedAt) {
-    return new Run(runId, queueId, status, plannedCount, completedCount, failedCount, startedAt, completedAt);
+    return new Run(runId, queueId, status, plannedCount, completedCount, failedCount, startedAt, completedAt, shards, deadline, expiredCount);
+  }
+
+  public Run withProgress(int completedCount, int failedCount, RunStatus status, Instant completedAt) {
+    return new Run(runId, queueId, status, plannedCount, completedCount, failedCount, startedAt, completedAt, shards, deadline, expiredCount);
+  }
+
+  public Run withExpiredCount(int expiredCount) {
+    return new Run(runId, queueId, status, plannedCount, completedCount, failedCount, startedAt, completedAt, shards, deadline, expiredCount);
+  }
+
+  /**
+   * Replaces one shard's counts. Run counts are left to withProgress.
+   */
+  public Run withShardProgress(int shard, ShardProgress progress) {
+    Map<Integer, ShardProgress> newShards = new HashMap<>(shards);
+    newShards.put(shard, progress);
+    return new Run(runId, queueId, status, plannedCount, completedCount, failedCount, startedAt, completedAt, newShards, deadline, expiredCount);
+  }
+
+  /**
+   * SLA status of the run at the given time.
+   */
+  public SlaStatus slaStatus(Instant now) {
+    return slaStatus(status, deadline, completedAt, now);
+  }
+
+  /**
+   * SLA status from the fields that decide it, for views that keep only those.
+   */
+  public static SlaStatus slaStatus(RunStatus status, Instant deadline, Instant completedAt, Instant now) {
+    if (deadline == null || status == RunStatus.CANCELLED) {
+      return SlaStatus.NONE;
+    }
+    if (status == RunStatus.COMPLETED || status == RunStatus.FAILED) {
+      return completedAt != null && !completedAt.isAfter(deadline) ? SlaStatus.MET : SlaStatus.MISSED;
+    }
+    return now.isAfter(deadline) ? SlaStatus.MISSED : SlaStatus.ON_TRACK;
   }
 
   public boolean isComplete() {
-    return status == RunStatus.COMPLETED || status == RunStatus.FAILED;
+    return status == RunStatus.COMPLETED || status == RunStatus.FAILED || status == RunStatus.CANCELLED;
   }
 
   public int getTotalProcessed() {
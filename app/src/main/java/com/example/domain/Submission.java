@@ -3,7 +3,6 @@ package com.example.domain;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -39,6 +38,15 @@ public record Submission(
       this.answerReasoning = answerReasoning;
       this.metadata = metadata != null ? metadata : Map.of();
     }
+
+    /**
+     * Hash of the answer content a judge sees: question text, answer choice, reasoning and metadata.
+     * Answers with the same hash get the same verdict from a judge, so they are evaluated once.
+     */
+    public String contentHash() {
+      return Fingerprints.of(questionText, answerChoice, answerReasoning, Fingerprints.canonical(metadata));
+    }
+
   }
 
   @JsonCreator
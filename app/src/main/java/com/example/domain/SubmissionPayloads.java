@@ -0,0 +1,63 @@
+package com.example.domain;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compact encoding of a submission's questions for storage.
+ * The questions map is written as JSON, gzip-compressed and Base64-encoded, so it can be
+ * stored as a single string field of a JSON-serialized event.
+ */
+public final class SubmissionPayloads {
+
+  /**
+   * Serialized size in bytes above which the questions of a submission are stored compressed.
+   * Smaller payloads do not gain from compression once Base64 overhead is added.
+   */
+  public static final int COMPRESSION_THRESHOLD_BYTES = 1024;
+
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+  private static final TypeReference<Map<String, Submission.QuestionAnswer>> QUESTIONS_TYPE = new TypeReference<>() {};
+
+  private SubmissionPayloads() {}
+
+  public static byte[] toJson(Map<String, Submission.QuestionAnswer> questions) {
+    try {
+      return objectMapper.writeValueAsBytes(questions);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to serialize submission questions", e);
+    }
+  }
+
+  public static String compress(Map<String, Submission.QuestionAnswer> questions) {
+    return compressJson(toJson(questions));
+  }
+
+  public static String compressJson(byte[] json) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4 + 64);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+      gzip.write(json);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to compress submission questions", e);
+    }
+    return Base64.getEncoder().encodeToString(bytes.toByteArray());
+  }
+
+  public static Map<String, Submission.QuestionAnswer> decompress(String payload) {
+    byte[] compressed = Base64.getDecoder().decode(payload);
+    try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      return objectMapper.readValue(gzip, QUESTIONS_TYPE);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to decompress submission questions", e);
+    }
+  }
+}
@@ -0,0 +1,139 @@
+package com.example.domain.entities;
+
+import akka.Done;
+import akka.javasdk.annotations.Component;
+import akka.javasdk.keyvalueentity.KeyValueEntity;
+import akka.javasdk.keyvalueentity.KeyValueEntityContext;
+import com.example.domain.ContinuousEvaluation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Key Value Entity for the continuous evaluation setting and pending micro-batch of a queue.
+ * Uses the queueId as key. Continuous evaluation is off until enabled.
+ */
+@Component(id = "continuous-evaluations")
+public class ContinuousEvaluationEntity extends KeyValueEntity<ContinuousEvaluation> {
+
+  private static final Logger logger = LoggerFactory.getLogger(ContinuousEvaluationEntity.class);
+  private final String entityId;
+
+  public ContinuousEvaluationEntity(KeyValueEntityContext context) {
+    this.entityId = context.entityId();
+  }
+
+  @Override
+  public ContinuousEvaluation emptyState() {
+    return ContinuousEvaluation.disabled(entityId);
+  }
+
+  /**
+   * Command: Turn continuous evaluation of the queue on or off.
+   */
+  public Effect<Done> setEnabled(boolean enabled) {
+    if (currentState().enabled() == enabled) {
+      return effects().reply(Done.getInstance());
+    }
+    logger.info("Continuous evaluation of queue {} {}", entityId, enabled ? "enabled" : "disabled");
+    return effects()
+        .updateState(currentState().withEnabled(enabled))
+        .thenReply(Done.getInstance());
+  }
+
+  /**
+   * Command: Add an imported submission to the pending batch.
+   * Ignored (not accepted) while continuous evaluation is off.
+   */
+  public Effect<AddSubmissionResult> addSubmission(String submissionId) {
+    if (!currentState().enabled()) {
+      return effects().reply(AddSubmissionResult.NOT_ACCEPTED);
+    }
+    boolean opensBatch = !currentState().hasPendingSubmissions();
+    ContinuousEvaluation newState = currentState().withPendingSubmission(submissionId, Instant.now());
+    return effects()
+        .updateState(newState)
+        .thenReply(new AddSubmissionResult(true, newState.pendingSubmissionIds().size(), opensBatch));
+  }
+
+  /**
+   * Command: Take the pending batch in flight under a new run id, or get the batch already in flight,
+   * whose start was interrupted, to start it again under its run id.
+   * The batch stays in flight until completeBatch or returnBatch.
+   */
+  public Effect<InFlightBatch> startBatch() {
+    if (currentState().hasBatchInFlight()) {
+      return effects().reply(InFlightBatch.of(currentState(), true));
+    }
+    if (!currentState().hasPendingSubmissions()) {
+      return effects().reply(InFlightBatch.NONE);
+    }
+    ContinuousEvaluation newState = currentState().withBatchInFlight(UUID.randomUUID().toString(), Instant.now());
+    return effects()
+        .updateState(newState)
+        .thenReply(InFlightBatch.of(newState, false));
+  }
+
+  /**
+   * Command: Acknowledge that the run of the in-flight batch has started (or had nothing to evaluate).
+   * Idempotent.
+   */
+  public Effect<Done> completeBatch(String runId) {
+    if (!runId.equals(currentState().inFlightRunId())) {
+      return effects().reply(Done.getInstance());
+    }
+    return effects()
+        .updateState(currentState().withBatchStarted(runId))
+        .thenReply(Done.getInstance());
+  }
+
+  /**
+   * Command: Give up starting the in-flight batch as the given run; its submissions go back to the
+   * pending batch, to be started under a new run id. Idempotent.
+   */
+  public Effect<Done> returnBatch(String runId) {
+    if (!runId.equals(currentState().inFlightRunId())) {
+      return effects().reply(Done.getInstance());
+    }
+    logger.warn("Returning {} submissions of run {} to the pending batch of queue {}",
+        currentState().inFlightSubmissionIds().size(), runId, entityId);
+    return effects()
+        .updateState(currentState().withBatchReturned(runId, Instant.now()))
+        .thenReply(Done.getInstance());
+  }
+
+  /**
+   * Command: Get the continuous evaluation setting and pending batch.
+   */
+  public Effect<ContinuousEvaluation> getContinuousEvaluation() {
+    return effects().reply(currentState());
+  }
+
+  /**
+   * @param batchSize  pending submissions after the add
+   * @param opensBatch whether the submission is the first of a new batch
+   */
+  public record AddSubmissionResult(boolean accepted, int batchSize, boolean opensBatch) {
+    static final AddSubmissionResult NOT_ACCEPTED = new AddSubmissionResult(false, 0, false);
+  }
+
+  /**
+   * @param runId     id of the run the batch is started as, or null if there is no batch
+   * @param startedAt when the batch was taken in flight
+   * @param resumed   whether the batch was already in flight, so its run may exist or have started
+   */
+  public record InFlightBatch(String runId, List<String> submissionIds, Instant startedAt, boolean resumed) {
+    static final InFlightBatch NONE = new InFlightBatch(null, List.of(), null, false);
+
+    static InFlightBatch of(ContinuousEvaluation state, boolean resumed) {
+      return new InFlightBatch(state.inFlightRunId(), state.inFlightSubmissionIds(), state.inFlightSince(), resumed);
+    }
+
+    public boolean isEmpty() {
+      return runId == null;
+    }
+  }
+}
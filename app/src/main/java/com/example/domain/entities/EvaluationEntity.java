@@ -32,10 +32,16 @@ public class EvaluationEntity extends EventSourcedEntity<Evaluation, EvaluationE
 
   /**
    * Command: Record an evaluation result.
+   * Idempotent: recording the same tuple again is acknowledged without a new event,
+   * so retried workflow steps do not produce duplicates.
    */
   public Effect<Done> recordEvaluation(RecordEvaluationRequest request) {
     if (currentState() != null) {
-      logger.warn("Evaluation {} already exists", entityId);
+      if (currentState().isFor(request.runId(), request.submissionId(), request.questionTemplateId(), request.judgeId())) {
+        logger.debug("Evaluation {} already recorded", entityId);
+        return effects().reply(Done.getInstance());
+      }
+      logger.warn("Evaluation {} already exists for a different tuple", entityId);
       return effects().error("Evaluation already exists");
     }
 
@@ -46,9 +52,14 @@ public class EvaluationEntity extends EventSourcedEntity<Evaluation, EvaluationE
         request.queueId(),
         request.questionTemplateId(),
         request.judgeId(),
+        request.judgeVersion(),
+        request.judgeFingerprint(),
         request.verdict(),
         request.reasoning(),
-        Instant.now()
+        Instant.now(),
+        request.model(),
+        request.tier(),
+        request.confidence()
     );
 
     var event = new EvaluationEvent.EvaluationRecorded(evaluation);
@@ -63,9 +74,30 @@ public class EvaluationEntity extends EventSourcedEntity<Evaluation, EvaluationE
       String queueId,
       String questionTemplateId,
       String judgeId,
+      int judgeVersion,
+      String judgeFingerprint,
       Evaluation.Verdict verdict,
-      String reasoning
-  ) {}
+      String reasoning,
+      String model,
+      Evaluation.Tier tier,
+      Double confidence
+  ) {
+    /**
+     * The same result recorded for another (submission, question) pair with identical answer content.
+     */
+    public RecordEvaluationRequest forTuple(String submissionId, String questionTemplateId) {
+      return new RecordEvaluationRequest(
+          runId, submissionId, queueId, questionTemplateId, judgeId, judgeVersion, judgeFingerprint, verdict, reasoning,
+          model, tier, confidence);
+    }
+  }
+
+  /**
+   * Command: Check whether the evaluation has been recorded.
+   */
+  public Effect<Boolean> isRecorded() {
+    return effects().reply(currentState() != null);
+  }
 
   /**
    * Command: Get the evaluation.
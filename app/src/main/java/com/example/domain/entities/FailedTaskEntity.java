@@ -0,0 +1,121 @@
+package com.example.domain.entities;
+
+import akka.Done;
+import akka.javasdk.annotations.Component;
+import akka.javasdk.annotations.TypeName;
+import akka.javasdk.eventsourcedentity.EventSourcedEntity;
+import akka.javasdk.eventsourcedentity.EventSourcedEntityContext;
+import com.example.domain.FailedTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+
+/**
+ * Event Sourced Entity for a tuple a run failed to evaluate (dead-letter store).
+ * Keyed by FailedTask.idFor(runId, submissionId, questionTemplateId, judgeId).
+ */
+@Component(id = "failed-tasks")
+public class FailedTaskEntity extends EventSourcedEntity<FailedTask, FailedTaskEntity.FailedTaskEvent> {
+
+  private static final Logger logger = LoggerFactory.getLogger(FailedTaskEntity.class);
+  private final String entityId;
+
+  public FailedTaskEntity(EventSourcedEntityContext context) {
+    this.entityId = context.entityId();
+  }
+
+  @Override
+  public FailedTask emptyState() {
+    return null; // No initial state - a failure must be recorded first
+  }
+
+  /**
+   * Command: Record that a run failed to evaluate a tuple.
+   * Idempotent: recording the same failure again (a retried workflow step) persists nothing.
+   */
+  public Effect<Done> recordFailure(RecordFailureRequest request) {
+    if (currentState() != null
+        && currentState().attempts() == request.attempts()
+        && currentState().errorClass().equals(request.errorClass())) {
+      return effects().reply(Done.getInstance());
+    }
+
+    var failedTask = new FailedTask(
+        entityId,
+        request.runId(),
+        request.queueId(),
+        request.submissionId(),
+        request.questionTemplateId(),
+        request.judgeId(),
+        request.errorClass(),
+        request.errorMessage(),
+        request.attempts(),
+        Instant.now(),
+        null
+    );
+
+    var event = new FailedTaskEvent.TaskFailed(failedTask);
+    return effects()
+        .persist(event)
+        .thenReply(newState -> Done.getInstance());
+  }
+
+  public record RecordFailureRequest(
+      String runId,
+      String queueId,
+      String submissionId,
+      String questionTemplateId,
+      String judgeId,
+      String errorClass,
+      String errorMessage,
+      int attempts
+  ) {}
+
+  /**
+   * Command: Mark the tuple as evaluated by a RETRY_FAILED run, so later retries leave it out.
+   */
+  public Effect<Done> markRetried(String retryRunId) {
+    if (currentState() == null) {
+      return effects().error("Failed task not found");
+    }
+    if (retryRunId.equals(currentState().retriedByRunId())) {
+      return effects().reply(Done.getInstance());
+    }
+
+    logger.debug("Failed task {} evaluated by retry run {}", entityId, retryRunId);
+    var event = new FailedTaskEvent.TaskRetried(retryRunId);
+    return effects()
+        .persist(event)
+        .thenReply(newState -> Done.getInstance());
+  }
+
+  /**
+   * Command: Get the failed task.
+   */
+  public Effect<FailedTask> getFailedTask() {
+    if (currentState() == null) {
+      return effects().error("Failed task not found");
+    }
+    return effects().reply(currentState());
+  }
+
+  @Override
+  public FailedTask applyEvent(FailedTaskEvent event) {
+    return switch (event) {
+      case FailedTaskEvent.TaskFailed evt -> evt.failedTask();
+      case FailedTaskEvent.TaskRetried evt -> currentState().withRetriedByRunId(evt.retryRunId());
+    };
+  }
+
+  /**
+   * Domain events for FailedTaskEntity.
+   */
+  public sealed interface FailedTaskEvent {
+    @TypeName("task-failed")
+    record TaskFailed(FailedTask failedTask) implements FailedTaskEvent {}
+
+    @TypeName("task-retried")
+    record TaskRetried(String retryRunId) implements FailedTaskEvent {}
+  }
+}
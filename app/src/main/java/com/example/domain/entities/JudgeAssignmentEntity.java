@@ -60,6 +60,19 @@ public class JudgeAssignmentEntity extends KeyValueEntity<JudgeAssignment> {
         .thenReply(newState);
   }
 
+  /**
+   * Command: Add several judges to the assignment, keeping the existing ones.
+   */
+  public Effect<JudgeAssignment> addJudges(Set<String> judgeIds) {
+    Set<String> newJudges = new java.util.HashSet<>(currentState().judgeIds());
+    newJudges.addAll(judgeIds);
+
+    JudgeAssignment newState = currentState().withJudgeIds(newJudges);
+    return effects()
+        .updateState(newState)
+        .thenReply(newState);
+  }
+
   /**
    * Command: Remove a judge from the assignment.
    */
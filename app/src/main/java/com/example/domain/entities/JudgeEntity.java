@@ -6,9 +6,12 @@ import akka.javasdk.annotations.TypeName;
 import akka.javasdk.eventsourcedentity.EventSourcedEntity;
 import akka.javasdk.eventsourcedentity.EventSourcedEntityContext;
 import com.example.domain.Judge;
+import com.example.domain.JudgeRule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Instant;
+
 /**
  * Event Sourced Entity for managing judges.
  * Supports CRUD operations with full event history.
@@ -44,7 +47,8 @@ public class JudgeEntity extends EventSourcedEntity<Judge, JudgeEntity.JudgeEven
   }
 
   /**
-   * Command: Update judge name and system prompt.
+   * Command: Update judge name, system prompt, model, cascade and rule.
+   * Changing the system prompt, model, cascade or rule creates a new judge version; renaming does not.
    */
   public Effect<Done> updateJudge(UpdateJudgeRequest request) {
     if (currentState() == null) {
@@ -54,15 +58,32 @@ public class JudgeEntity extends EventSourcedEntity<Judge, JudgeEntity.JudgeEven
     var updatedJudge = currentState()
         .withName(request.name())
         .withSystemPrompt(request.systemPrompt())
-        .withTargetModel(request.targetModel());
-    
+        .withTargetModel(request.targetModel())
+        .withCascade(request.cascade())
+        .withRule(request.rule());
+
+    if (updatedJudge.differsInContentFrom(currentState())) {
+      updatedJudge = updatedJudge.withVersion(currentState().version() + 1, Instant.now());
+      logger.info("Judge {} updated to version {}", entityId, updatedJudge.version());
+    }
+
     var event = new JudgeEvent.JudgeUpdated(updatedJudge);
     return effects()
         .persist(event)
         .thenReply(newState -> Done.getInstance());
   }
 
-  public record UpdateJudgeRequest(String name, String systemPrompt, String targetModel) {}
+  /**
+   * cascade is optional; null evaluates with the target model only.
+   * rule is optional; when set the judge is evaluated in-process by the rule.
+   */
+  public record UpdateJudgeRequest(
+      String name,
+      String systemPrompt,
+      String targetModel,
+      Judge.Cascade cascade,
+      JudgeRule rule
+  ) {}
 
   /**
    * Command: Toggle active flag.
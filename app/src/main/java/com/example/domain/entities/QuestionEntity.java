@@ -0,0 +1,38 @@
+package com.example.domain.entities;
+
+import akka.Done;
+import akka.javasdk.annotations.Component;
+import akka.javasdk.keyvalueentity.KeyValueEntity;
+import com.example.domain.Question;
+
+/**
+ * Key Value Entity for the question catalogue.
+ * Holds one distinct question of a queue.
+ * Uses composite key: "{queueId}|{questionTemplateId}"
+ */
+@Component(id = "questions")
+public class QuestionEntity extends KeyValueEntity<Question> {
+
+  /**
+   * Command: Index a question seen in a submission.
+   * Idempotent: indexing an unchanged question does not update the state.
+   */
+  public Effect<Done> indexQuestion(Question question) {
+    if (question.equals(currentState())) {
+      return effects().reply(Done.getInstance());
+    }
+    return effects()
+        .updateState(question)
+        .thenReply(Done.getInstance());
+  }
+
+  /**
+   * Command: Get the question.
+   */
+  public Effect<Question> getQuestion() {
+    if (currentState() == null) {
+      return effects().error("Question not found");
+    }
+    return effects().reply(currentState());
+  }
+}
@@ -0,0 +1,80 @@
+package com.example.domain.entities;
+
+import akka.Done;
+import akka.javasdk.annotations.Component;
+import akka.javasdk.keyvalueentity.KeyValueEntity;
+import akka.javasdk.keyvalueentity.KeyValueEntityContext;
+import com.example.domain.QueueSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Key Value Entity for queue summaries.
+ * Tracks submission count, distinct questions, last import time and judge assignment
+ * counts of a queue. Uses the queueId as key.
+ */
+@Component(id = "queues")
+public class QueueEntity extends KeyValueEntity<QueueSummary> {
+
+  private static final Logger logger = LoggerFactory.getLogger(QueueEntity.class);
+  private final String entityId;
+
+  public QueueEntity(KeyValueEntityContext context) {
+    this.entityId = context.entityId();
+  }
+
+  @Override
+  public QueueSummary emptyState() {
+    return QueueSummary.empty(entityId);
+  }
+
+  /**
+   * Command: Record an imported submission.
+   * A submission redelivered within the recent window is ignored.
+   */
+  public Effect<Done> recordSubmission(RecordSubmissionRequest request) {
+    if (currentState().hasRecentSubmission(request.submissionId())) {
+      logger.debug("Submission {} already counted for queue {}", request.submissionId(), entityId);
+      return effects().reply(Done.getInstance());
+    }
+    QueueSummary newState = currentState().withSubmission(
+        request.submissionId(), request.questionTemplateIds(), request.importedAt());
+    return effects()
+        .updateState(newState)
+        .thenReply(Done.getInstance());
+  }
+
+  /**
+   * Command: Record the number of judges assigned to a question.
+   */
+  public Effect<Done> recordAssignment(RecordAssignmentRequest request) {
+    if (currentState().assignedJudgeCounts().getOrDefault(request.questionTemplateId(), 0) == request.judgeCount()) {
+      return effects().reply(Done.getInstance());
+    }
+    QueueSummary newState = currentState().withAssignedJudgeCount(request.questionTemplateId(), request.judgeCount());
+    return effects()
+        .updateState(newState)
+        .thenReply(Done.getInstance());
+  }
+
+  /**
+   * Command: Get the queue summary.
+   */
+  public Effect<QueueSummary> getSummary() {
+    return effects().reply(currentState());
+  }
+
+  public record RecordSubmissionRequest(
+      String submissionId,
+      Set<String> questionTemplateIds,
+      Instant importedAt
+  ) {}
+
+  public record RecordAssignmentRequest(
+      String questionTemplateId,
+      int judgeCount
+  ) {}
+}
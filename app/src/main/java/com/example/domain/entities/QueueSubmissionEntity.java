@@ -0,0 +1,39 @@
+package com.example.domain.entities;
+
+import akka.Done;
+import akka.javasdk.annotations.Component;
+import akka.javasdk.keyvalueentity.KeyValueEntity;
+
+import java.time.Instant;
+
+/**
+ * Key Value Entity marking a submission as counted in its queue summary, so a redelivered
+ * import is never counted twice, however long after the original it arrives.
+ * Uses composite key: "{queueId}|{submissionId}". The state is when the submission was counted.
+ */
+@Component(id = "queue-submissions")
+public class QueueSubmissionEntity extends KeyValueEntity<Instant> {
+
+  public static String idFor(String queueId, String submissionId) {
+    return queueId + "|" + submissionId;
+  }
+
+  /**
+   * Command: Whether the submission has been counted in its queue summary.
+   */
+  public Effect<Boolean> isRecorded() {
+    return effects().reply(currentState() != null);
+  }
+
+  /**
+   * Command: Mark the submission as counted. Idempotent.
+   */
+  public Effect<Done> markRecorded() {
+    if (currentState() != null) {
+      return effects().reply(Done.getInstance());
+    }
+    return effects()
+        .updateState(Instant.now())
+        .thenReply(Done.getInstance());
+  }
+}
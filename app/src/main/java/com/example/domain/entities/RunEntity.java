@@ -32,8 +32,14 @@ public class RunEntity extends EventSourcedEntity<Run, RunEntity.RunEvent> {
 
   /**
    * Command: Start a new evaluation run.
+   * Starting an existing run of the same queue again replies Done and keeps the run as it is, so a
+   * caller retrying a start under the same run id, like a continuous evaluation batch, is safe; a
+   * retry that planned a different count sets it with planRun.
    */
   public Effect<Done> startRun(StartRunRequest request) {
+    if (currentState() != null && currentState().queueId().equals(request.queueId())) {
+      return effects().reply(Done.getInstance());
+    }
     if (currentState() != null) {
       logger.warn("Run {} already exists", entityId);
       return effects().error("Run already exists");
@@ -47,7 +53,10 @@ public class RunEntity extends EventSourcedEntity<Run, RunEntity.RunEvent> {
         0,
         0,
         Instant.now(),
-        null
+        null,
+        null,
+        request.deadline(),
+        0
     );
 
     var event = new RunEvent.RunStarted(run);
@@ -56,56 +65,196 @@ public class RunEntity extends EventSourcedEntity<Run, RunEntity.RunEvent> {
         .thenReply(newState -> Done.getInstance());
   }
 
-  public record StartRunRequest(String queueId, int plannedCount) {}
+  /**
+   * @param deadline when the run should be finished, or null for no deadline
+   */
+  public record StartRunRequest(String queueId, int plannedCount, Instant deadline) {
+    public StartRunRequest(String queueId, int plannedCount) {
+      this(queueId, plannedCount, null);
+    }
+  }
 
   /**
-   * Command: Mark an evaluation as completed.
+   * Command: Set the number of planned evaluations once the run has been planned.
+   * A run with nothing to evaluate is completed immediately.
    */
-  public Effect<Done> markCompleted() {
+  public Effect<Done> planRun(int plannedCount) {
     if (currentState() == null) {
       return effects().error("Run not found");
     }
 
-    int newCompletedCount = currentState().completedCount() + 1;
-    Run.RunStatus newStatus = determineStatus(newCompletedCount, currentState().failedCount());
-    Instant completedAt = (newStatus == Run.RunStatus.COMPLETED) ? Instant.now() : currentState().completedAt();
+    if (currentState().plannedCount() == plannedCount && plannedCount > 0) {
+      return effects().reply(Done.getInstance());
+    }
+
+    var updatedRun = currentState().withPlannedCount(plannedCount);
+    if (plannedCount == 0 && !updatedRun.isComplete()) {
+      updatedRun = updatedRun
+          .withStatus(Run.RunStatus.COMPLETED)
+          .withCompletedAt(Instant.now());
+    }
+
+    var event = new RunEvent.RunPlanned(updatedRun);
+    return effects()
+        .persist(event)
+        .thenReply(newState -> Done.getInstance());
+  }
 
-    var updatedRun = currentState()
-        .withCompletedCount(newCompletedCount)
-        .withStatus(newStatus)
-        .withCompletedAt(completedAt);
+  /**
+   * Command: Pause a running run.
+   * Sent by the run's workflow, which retries it; pausing a paused or finished run is a no-op.
+   */
+  public Effect<Done> pauseRun() {
+    if (currentState() == null) {
+      return effects().error("Run not found");
+    }
+    if (currentState().status() != Run.RunStatus.RUNNING) {
+      return effects().reply(Done.getInstance());
+    }
 
-    var event = new RunEvent.RunProgressUpdated(updatedRun);
+    var event = new RunEvent.RunStatusChanged(currentState().withStatus(Run.RunStatus.PAUSED));
     return effects()
         .persist(event)
         .thenReply(newState -> Done.getInstance());
   }
 
   /**
-   * Command: Mark an evaluation as failed.
+   * Command: Resume a paused run.
+   * Sent by the run's workflow, which retries it; resuming a running or finished run is a no-op.
    */
-  public Effect<Done> markFailed() {
+  public Effect<Done> resumeRun() {
     if (currentState() == null) {
       return effects().error("Run not found");
     }
+    if (currentState().status() != Run.RunStatus.PAUSED) {
+      return effects().reply(Done.getInstance());
+    }
 
-    int newFailedCount = currentState().failedCount() + 1;
-    Run.RunStatus newStatus = determineStatus(currentState().completedCount(), newFailedCount);
-    Instant completedAt = (newStatus == Run.RunStatus.COMPLETED || newStatus == Run.RunStatus.FAILED) 
-        ? Instant.now() 
+    var event = new RunEvent.RunStatusChanged(currentState().withStatus(Run.RunStatus.RUNNING));
+    return effects()
+        .persist(event)
+        .thenReply(newState -> Done.getInstance());
+  }
+
+  /**
+   * Command: Cancel a running or paused run. Already processed evaluations are kept.
+   * Sent by the run's workflow, which retries it; a finished run keeps its status.
+   */
+  public Effect<Done> cancelRun() {
+    return finishRun(Run.RunStatus.CANCELLED);
+  }
+
+  /**
+   * Command: Fail a run that cannot go on, e.g. because it could not be planned.
+   * Sent by the run's workflow, which retries it; a finished run keeps its status.
+   */
+  public Effect<Done> failRun() {
+    return finishRun(Run.RunStatus.FAILED);
+  }
+
+  /**
+   * Command: Complete a sharded run once every shard has finished, whatever its progress counts say.
+   * Sent by the run's coordinator workflow, which retries it; a finished run keeps its status.
+   */
+  public Effect<Done> completeRun() {
+    if (currentState() == null) {
+      return effects().error("Run not found");
+    }
+    boolean allFailed = currentState().completedCount() == 0 && currentState().failedCount() > 0;
+    return finishRun(allFailed ? Run.RunStatus.FAILED : Run.RunStatus.COMPLETED);
+  }
+
+  private Effect<Done> finishRun(Run.RunStatus status) {
+    if (currentState() == null) {
+      return effects().error("Run not found");
+    }
+    if (currentState().isComplete()) {
+      return effects().reply(Done.getInstance());
+    }
+
+    var finishedRun = currentState()
+        .withStatus(status)
+        .withCompletedAt(Instant.now());
+    var event = new RunEvent.RunStatusChanged(finishedRun);
+    return effects()
+        .persist(event)
+        .thenReply(newState -> Done.getInstance());
+  }
+
+  /**
+   * Command: Record absolute progress counts reported by the workflow.
+   * Idempotent: counts never decrease and reporting the same counts again persists nothing,
+   * so a retried workflow step cannot double count.
+   * A shard of a sharded run reports its own counts; the run counts are the sum over shards.
+   */
+  public Effect<Done> recordProgress(ProgressReport report) {
+    if (currentState() == null) {
+      return effects().error("Run not found");
+    }
+    if (report.shard() != null) {
+      return recordShardProgress(report);
+    }
+
+    int newCompletedCount = Math.max(currentState().completedCount(), report.completedCount());
+    int newFailedCount = Math.max(currentState().failedCount(), report.failedCount());
+    int newExpiredCount = Math.max(currentState().expiredCount(), report.expiredCount());
+    if (newCompletedCount == currentState().completedCount() && newFailedCount == currentState().failedCount()
+        && newExpiredCount == currentState().expiredCount()) {
+      return effects().reply(Done.getInstance());
+    }
+
+    Run.RunStatus newStatus = determineStatus(newCompletedCount, newFailedCount);
+    Instant completedAt = (newStatus != currentState().status() && newStatus != Run.RunStatus.RUNNING)
+        ? Instant.now()
         : currentState().completedAt();
 
-    var updatedRun = currentState()
-        .withFailedCount(newFailedCount)
-        .withStatus(newStatus)
-        .withCompletedAt(completedAt);
+    var event = new RunEvent.RunProgressRecorded(newCompletedCount, newFailedCount, newStatus, completedAt, newExpiredCount);
+    return effects()
+        .persist(event)
+        .thenReply(newState -> Done.getInstance());
+  }
+
+  private Effect<Done> recordShardProgress(ProgressReport report) {
+    int shard = report.shard();
+    Run.ShardProgress previous = currentState().shards().getOrDefault(shard, new Run.ShardProgress(0, 0));
+    var progress = new Run.ShardProgress(
+        Math.max(previous.completedCount(), report.completedCount()),
+        Math.max(previous.failedCount(), report.failedCount()),
+        Math.max(previous.expiredCount(), report.expiredCount()));
+    if (progress.equals(previous)) {
+      return effects().reply(Done.getInstance());
+    }
+
+    int newCompletedCount = currentState().completedCount() + progress.completedCount() - previous.completedCount();
+    int newFailedCount = currentState().failedCount() + progress.failedCount() - previous.failedCount();
+    int newExpiredCount = currentState().expiredCount() + progress.expiredCount() - previous.expiredCount();
+    Run.RunStatus newStatus = determineStatus(newCompletedCount, newFailedCount);
+    Instant completedAt = (newStatus != currentState().status() && newStatus != Run.RunStatus.RUNNING)
+        ? Instant.now()
+        : currentState().completedAt();
 
-    var event = new RunEvent.RunProgressUpdated(updatedRun);
+    var event = new RunEvent.RunShardProgressRecorded(
+        shard, progress.completedCount(), progress.failedCount(), newCompletedCount, newFailedCount, newStatus, completedAt,
+        progress.expiredCount(), newExpiredCount);
     return effects()
         .persist(event)
         .thenReply(newState -> Done.getInstance());
   }
 
+  /**
+   * @param shard        index of the reporting shard, or null when the run is not sharded
+   * @param expiredCount task attempts of the reporter that missed their deadline
+   */
+  public record ProgressReport(int completedCount, int failedCount, Integer shard, int expiredCount) {
+    public ProgressReport(int completedCount, int failedCount) {
+      this(completedCount, failedCount, null, 0);
+    }
+
+    public ProgressReport(int completedCount, int failedCount, Integer shard) {
+      this(completedCount, failedCount, shard, 0);
+    }
+  }
+
   /**
    * Command: Get the run status.
    */
@@ -118,12 +267,16 @@ public class RunEntity extends EventSourcedEntity<Run, RunEntity.RunEvent> {
 
   /**
    * Determine the run status based on progress.
+   * A cancelled run stays cancelled; a paused run stays paused until all work is processed.
    */
   private Run.RunStatus determineStatus(int completedCount, int failedCount) {
     int totalProcessed = completedCount + failedCount;
     if (currentState() == null) {
       return Run.RunStatus.RUNNING;
     }
+    if (currentState().status() == Run.RunStatus.CANCELLED) {
+      return Run.RunStatus.CANCELLED;
+    }
     int plannedCount = currentState().plannedCount();
     
     if (totalProcessed >= plannedCount) {
@@ -136,14 +289,31 @@ public class RunEntity extends EventSourcedEntity<Run, RunEntity.RunEvent> {
         return Run.RunStatus.COMPLETED; // Partial success is still completed
       }
     }
-    return Run.RunStatus.RUNNING;
+    return currentState().status();
   }
 
   @Override
   public Run applyEvent(RunEvent event) {
+    return applyEvent(currentState(), event);
+  }
+
+  /**
+   * Folds one event onto the run state. Kept free of entity context so recovery can be measured in isolation.
+   */
+  static Run applyEvent(Run state, RunEvent event) {
     return switch (event) {
       case RunEvent.RunStarted evt -> evt.run();
       case RunEvent.RunProgressUpdated evt -> evt.run();
+      case RunEvent.RunProgressRecorded evt -> state
+          .withProgress(evt.completedCount(), evt.failedCount(), evt.status(), evt.completedAt())
+          .withExpiredCount(evt.expiredCount());
+      case RunEvent.RunShardProgressRecorded evt -> state
+          .withShardProgress(evt.shard(),
+              new Run.ShardProgress(evt.shardCompletedCount(), evt.shardFailedCount(), evt.shardExpiredCount()))
+          .withProgress(evt.completedCount(), evt.failedCount(), evt.status(), evt.completedAt())
+          .withExpiredCount(evt.expiredCount());
+      case RunEvent.RunPlanned evt -> evt.run();
+      case RunEvent.RunStatusChanged evt -> evt.run();
     };
   }
 
@@ -154,8 +324,50 @@ public class RunEntity extends EventSourcedEntity<Run, RunEntity.RunEvent> {
     @TypeName("run-started")
     record RunStarted(Run run) implements RunEvent {}
 
+    /**
+     * Full-state progress event, written once per evaluation by earlier versions. Still applied on replay.
+     */
     @TypeName("run-progress-updated")
     record RunProgressUpdated(Run run) implements RunEvent {}
+
+    /**
+     * Compact progress event carrying only the fields progress changes; recorded once per batch.
+     * Events recorded before deadlines existed have no expiredCount and read it as 0.
+     */
+    @TypeName("run-progress-recorded")
+    record RunProgressRecorded(
+        int completedCount,
+        int failedCount,
+        Run.RunStatus status,
+        Instant completedAt,
+        int expiredCount
+    ) implements RunEvent {
+      public RunProgressRecorded(int completedCount, int failedCount, Run.RunStatus status, Instant completedAt) {
+        this(completedCount, failedCount, status, completedAt, 0);
+      }
+    }
+
+    /**
+     * Progress of one shard, with the resulting run counts.
+     */
+    @TypeName("run-shard-progress-recorded")
+    record RunShardProgressRecorded(
+        int shard,
+        int shardCompletedCount,
+        int shardFailedCount,
+        int completedCount,
+        int failedCount,
+        Run.RunStatus status,
+        Instant completedAt,
+        int shardExpiredCount,
+        int expiredCount
+    ) implements RunEvent {}
+
+    @TypeName("run-planned")
+    record RunPlanned(Run run) implements RunEvent {}
+
+    @TypeName("run-status-changed")
+    record RunStatusChanged(Run run) implements RunEvent {}
   }
 }
 
@@ -5,6 +5,7 @@ import akka.javasdk.annotations.Component;
 import akka.javasdk.eventsourcedentity.EventSourcedEntity;
 import akka.javasdk.eventsourcedentity.EventSourcedEntityContext;
 import com.example.domain.Submission;
+import com.example.domain.SubmissionPayloads;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,7 +40,12 @@ public class SubmissionsEntity extends EventSourcedEntity<Submission, Submission
       return effects().error("Submission already exists");
     }
 
-    var event = new SubmissionEvent.SubmissionImported(submission);
+    // Large payloads are persisted compressed to keep the journal small
+    byte[] questionsJson = SubmissionPayloads.toJson(submission.questions());
+    SubmissionEvent event = questionsJson.length > SubmissionPayloads.COMPRESSION_THRESHOLD_BYTES
+        ? new SubmissionEvent.SubmissionImportedCompressed(
+            submission.submissionId(), submission.queueId(), SubmissionPayloads.compressJson(questionsJson))
+        : new SubmissionEvent.SubmissionImported(submission);
     return effects()
         .persist(event)
         .thenReply(newState -> Done.getInstance());
@@ -56,6 +62,7 @@ public class SubmissionsEntity extends EventSourcedEntity<Submission, Submission
   public Submission applyEvent(SubmissionEvent event) {
     return switch (event) {
       case SubmissionEvent.SubmissionImported evt -> evt.submission();
+      case SubmissionEvent.SubmissionImportedCompressed evt -> evt.submission();
     };
   }
 
@@ -65,6 +72,20 @@ public class SubmissionsEntity extends EventSourcedEntity<Submission, Submission
   public sealed interface SubmissionEvent {
     @akka.javasdk.annotations.TypeName("submission-imported")
     record SubmissionImported(Submission submission) implements SubmissionEvent {}
+
+    /**
+     * A submission whose questions are stored gzip-compressed (see SubmissionPayloads).
+     */
+    @akka.javasdk.annotations.TypeName("submission-imported-compressed")
+    record SubmissionImportedCompressed(
+        String submissionId,
+        String queueId,
+        String compressedQuestions
+    ) implements SubmissionEvent {
+      public Submission submission() {
+        return new Submission(submissionId, queueId, SubmissionPayloads.decompress(compressedQuestions));
+      }
+    }
   }
 }
 
@@ -25,13 +25,30 @@ public class EvaluationsView extends View {
       String queueId,
       String questionTemplateId,
       String judgeId,
+      int judgeVersion,
+      String judgeFingerprint,
       String verdict,
       String reasoning,
-      Instant evaluatedAt
+      Instant evaluatedAt,
+      String model,
+      String tier,
+      Double confidence
   ) {}
 
   public record EvaluationsResult(Collection<EvaluationEntry> evaluations) {}
 
+  /**
+   * Minimal projection of an evaluation used to detect already-evaluated tuples.
+   */
+  public record EvaluatedTuple(
+      String submissionId,
+      String questionTemplateId,
+      String judgeId,
+      String judgeFingerprint
+  ) {}
+
+  public record EvaluatedTuplesResult(Collection<EvaluatedTuple> tuples) {}
+
   @Consume.FromEventSourcedEntity(EvaluationEntity.class)
   public static class EvaluationsUpdater extends TableUpdater<EvaluationEntry> {
 
@@ -46,9 +63,14 @@ public class EvaluationsView extends View {
               eval.queueId(),
               eval.questionTemplateId(),
               eval.judgeId(),
+              eval.judgeVersion(),
+              eval.judgeFingerprint(),
               eval.verdict().name(),
               eval.reasoning(),
-              eval.evaluatedAt()
+              eval.evaluatedAt(),
+              eval.model(),
+              eval.tier().name(),
+              eval.confidence()
           ));
         }
       };
@@ -65,6 +87,44 @@ public class EvaluationsView extends View {
     return queryResult();
   }
 
+  @Query("SELECT (submissionId, questionTemplateId, judgeId, judgeFingerprint) AS tuples FROM evaluations_view WHERE queueId = :queueId")
+  public QueryEffect<EvaluatedTuplesResult> getEvaluatedTuplesByQueue(String queueId) {
+    return queryResult();
+  }
+
+  /**
+   * Evaluated tuples of a queue's submissions with ids from fromSubmissionId (inclusive) up to
+   * toSubmissionId (exclusive).
+   */
+  @Query("SELECT (submissionId, questionTemplateId, judgeId, judgeFingerprint) AS tuples FROM evaluations_view WHERE queueId = :queueId AND submissionId >= :fromSubmissionId AND submissionId < :toSubmissionId")
+  public QueryEffect<EvaluatedTuplesResult> getEvaluatedTuplesByQueueRange(QueueRange range) {
+    return queryResult();
+  }
+
+  /**
+   * Evaluated tuples of a queue's submissions with ids from fromSubmissionId (inclusive) on.
+   */
+  @Query("SELECT (submissionId, questionTemplateId, judgeId, judgeFingerprint) AS tuples FROM evaluations_view WHERE queueId = :queueId AND submissionId >= :fromSubmissionId")
+  public QueryEffect<EvaluatedTuplesResult> getEvaluatedTuplesByQueueFrom(QueueFrom from) {
+    return queryResult();
+  }
+
+  /**
+   * Streams the evaluations of a run row by row, for exports that must not hold the whole set in memory.
+   */
+  @Query("SELECT * FROM evaluations_view WHERE runId = :runId")
+  public QueryStreamEffect<EvaluationEntry> streamEvaluationsByRun(String runId) {
+    return queryStreamResult();
+  }
+
+  /**
+   * Streams the evaluations of a queue row by row.
+   */
+  @Query("SELECT * FROM evaluations_view WHERE queueId = :queueId")
+  public QueryStreamEffect<EvaluationEntry> streamEvaluationsByQueue(String queueId) {
+    return queryStreamResult();
+  }
+
   @Query("SELECT * as evaluations FROM evaluations_view WHERE judgeId = :judgeId")
   public QueryEffect<EvaluationsResult> getEvaluationsByJudge(String judgeId) {
     return queryResult();
@@ -85,6 +145,10 @@ public class EvaluationsView extends View {
     return queryResult();
   }
 
+  public record QueueRange(String queueId, String fromSubmissionId, String toSubmissionId) {}
+
+  public record QueueFrom(String queueId, String fromSubmissionId) {}
+
   public record EvaluationFilters(
       String queueId,
       String judgeId,
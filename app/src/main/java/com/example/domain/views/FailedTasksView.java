@@ -0,0 +1,75 @@
+package com.example.domain.views;
+
+import akka.javasdk.annotations.Component;
+import akka.javasdk.annotations.Consume;
+import akka.javasdk.annotations.Query;
+import akka.javasdk.view.TableUpdater;
+import akka.javasdk.view.View;
+import com.example.domain.FailedTask;
+import com.example.domain.entities.FailedTaskEntity;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * View for querying the tuples runs failed to evaluate.
+ * Used to inspect a run's failures and to plan RETRY_FAILED runs.
+ */
+@Component(id = "failed-tasks-view")
+public class FailedTasksView extends View {
+
+  public record FailedTaskEntry(
+      String failedTaskId,
+      String runId,
+      String queueId,
+      String submissionId,
+      String questionTemplateId,
+      String judgeId,
+      String errorClass,
+      String errorMessage,
+      int attempts,
+      Instant failedAt,
+      String retriedByRunId
+  ) {
+    FailedTaskEntry withRetriedByRunId(String retriedByRunId) {
+      return new FailedTaskEntry(failedTaskId, runId, queueId, submissionId, questionTemplateId, judgeId,
+          errorClass, errorMessage, attempts, failedAt, retriedByRunId);
+    }
+  }
+
+  public record FailedTasksResult(Collection<FailedTaskEntry> failedTasks) {}
+
+  @Consume.FromEventSourcedEntity(FailedTaskEntity.class)
+  public static class FailedTasksUpdater extends TableUpdater<FailedTaskEntry> {
+
+    public Effect<FailedTaskEntry> onEvent(FailedTaskEntity.FailedTaskEvent event) {
+      return switch (event) {
+        case FailedTaskEntity.FailedTaskEvent.TaskFailed failed -> effects().updateRow(toEntry(failed.failedTask()));
+        case FailedTaskEntity.FailedTaskEvent.TaskRetried retried -> rowState() == null
+            ? effects().ignore()
+            : effects().updateRow(rowState().withRetriedByRunId(retried.retryRunId()));
+      };
+    }
+
+    private static FailedTaskEntry toEntry(FailedTask task) {
+      return new FailedTaskEntry(
+          task.failedTaskId(),
+          task.runId(),
+          task.queueId(),
+          task.submissionId(),
+          task.questionTemplateId(),
+          task.judgeId(),
+          task.errorClass(),
+          task.errorMessage(),
+          task.attempts(),
+          task.failedAt(),
+          task.retriedByRunId()
+      );
+    }
+  }
+
+  @Query("SELECT * as failedTasks FROM failed_tasks_view WHERE runId = :runId")
+  public QueryEffect<FailedTasksResult> getFailedTasksByRun(String runId) {
+    return queryResult();
+  }
+}
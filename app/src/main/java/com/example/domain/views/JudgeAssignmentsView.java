@@ -0,0 +1,52 @@
+package com.example.domain.views;
+
+import akka.javasdk.annotations.Component;
+import akka.javasdk.annotations.Consume;
+import akka.javasdk.annotations.DeleteHandler;
+import akka.javasdk.annotations.Query;
+import akka.javasdk.view.TableUpdater;
+import akka.javasdk.view.View;
+import com.example.domain.JudgeAssignment;
+import com.example.domain.entities.JudgeAssignmentEntity;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * View for listing judge assignments by queue.
+ * Consumes judge assignment state so every question to judges mapping of a queue
+ * can be read in one query.
+ */
+@Component(id = "judge-assignments-view")
+public class JudgeAssignmentsView extends View {
+
+  public record AssignmentEntry(
+      String queueId,
+      String questionTemplateId,
+      List<String> judgeIds
+  ) {}
+
+  public record AssignmentsResult(Collection<AssignmentEntry> assignments) {}
+
+  @Consume.FromKeyValueEntity(JudgeAssignmentEntity.class)
+  public static class JudgeAssignmentsUpdater extends TableUpdater<AssignmentEntry> {
+
+    public Effect<AssignmentEntry> onUpdate(JudgeAssignment assignment) {
+      return effects().updateRow(new AssignmentEntry(
+          assignment.queueId(),
+          assignment.questionTemplateId(),
+          List.copyOf(assignment.judgeIds())
+      ));
+    }
+
+    @DeleteHandler
+    public Effect<AssignmentEntry> onDelete() {
+      return effects().deleteRow();
+    }
+  }
+
+  @Query("SELECT * as assignments FROM judge_assignments_view WHERE queueId = :queueId")
+  public QueryEffect<AssignmentsResult> getAssignmentsByQueue(String queueId) {
+    return queryResult();
+  }
+}
@@ -0,0 +1,75 @@
+package com.example.domain.views;
+
+import akka.javasdk.annotations.Component;
+import akka.javasdk.annotations.Consume;
+import akka.javasdk.annotations.Query;
+import akka.javasdk.view.TableUpdater;
+import akka.javasdk.view.View;
+import com.example.domain.Judge;
+import com.example.domain.JudgeRule;
+import com.example.domain.entities.JudgeEntity;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * View for querying the version history of judges.
+ * Appends a version entry whenever a judge's rubric, model, cascade or rule changes.
+ * History is kept after a judge is deleted so past evaluations stay traceable.
+ */
+@Component(id = "judge-versions-view")
+public class JudgeVersionsView extends View {
+
+  public record JudgeVersion(
+      int version,
+      String fingerprint,
+      String systemPrompt,
+      String targetModel,
+      Judge.Cascade cascade,
+      JudgeRule rule,
+      Instant createdAt
+  ) {}
+
+  public record JudgeVersionsEntry(
+      String judgeId,
+      List<JudgeVersion> versions
+  ) {}
+
+  @Consume.FromEventSourcedEntity(JudgeEntity.class)
+  public static class JudgeVersionsUpdater extends TableUpdater<JudgeVersionsEntry> {
+
+    public Effect<JudgeVersionsEntry> onEvent(JudgeEntity.JudgeEvent event) {
+      return switch (event) {
+        case JudgeEntity.JudgeEvent.JudgeCreated created -> appendVersion(created.judge());
+        case JudgeEntity.JudgeEvent.JudgeUpdated updated -> appendVersion(updated.judge());
+        case JudgeEntity.JudgeEvent.JudgeDeleted deleted -> effects().ignore();
+      };
+    }
+
+    private Effect<JudgeVersionsEntry> appendVersion(Judge judge) {
+      List<JudgeVersion> versions = rowState() != null ? rowState().versions() : List.of();
+      boolean known = versions.stream().anyMatch(v -> v.version() == judge.version());
+      if (known) {
+        return effects().ignore();
+      }
+
+      List<JudgeVersion> newVersions = new ArrayList<>(versions);
+      newVersions.add(new JudgeVersion(
+          judge.version(),
+          judge.fingerprint(),
+          judge.systemPrompt(),
+          judge.targetModel(),
+          judge.cascade(),
+          judge.rule(),
+          judge.versionCreatedAt()
+      ));
+      return effects().updateRow(new JudgeVersionsEntry(judge.judgeId(), newVersions));
+    }
+  }
+
+  @Query("SELECT * FROM judge_versions_view WHERE judgeId = :judgeId")
+  public QueryEffect<JudgeVersionsEntry> getVersions(String judgeId) {
+    return queryResult();
+  }
+}
@@ -6,6 +6,7 @@ import akka.javasdk.annotations.Query;
 import akka.javasdk.view.TableUpdater;
 import akka.javasdk.view.View;
 import com.example.domain.Judge;
+import com.example.domain.JudgeRule;
 import com.example.domain.entities.JudgeEntity;
 
 import java.util.Collection;
@@ -22,7 +23,11 @@ public class JudgesView extends View {
       String name,
       String systemPrompt,
       String targetModel,
-      boolean active
+      Judge.Cascade cascade,
+      JudgeRule rule,
+      boolean active,
+      int version,
+      String fingerprint
   ) {}
 
   public record JudgesResult(Collection<JudgeEntry> judges) {}
@@ -39,7 +44,11 @@ public class JudgesView extends View {
               judge.name(),
               judge.systemPrompt(),
               judge.targetModel(),
-              judge.active()
+              judge.cascade(),
+              judge.rule(),
+              judge.active(),
+              judge.version(),
+              judge.fingerprint()
           ));
         }
         case JudgeEntity.JudgeEvent.JudgeUpdated updated -> {
@@ -49,7 +58,11 @@ public class JudgesView extends View {
               judge.name(),
               judge.systemPrompt(),
               judge.targetModel(),
-              judge.active()
+              judge.cascade(),
+              judge.rule(),
+              judge.active(),
+              judge.version(),
+              judge.fingerprint()
           ));
         }
         case JudgeEntity.JudgeEvent.JudgeDeleted deleted -> {
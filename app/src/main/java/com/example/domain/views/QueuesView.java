@@ -5,37 +5,44 @@ import akka.javasdk.annotations.Consume;
 import akka.javasdk.annotations.Query;
 import akka.javasdk.view.TableUpdater;
 import akka.javasdk.view.View;
-import com.example.domain.Submission;
-import com.example.domain.entities.SubmissionsEntity;
+import com.example.domain.QueueSummary;
+import com.example.domain.entities.QueueEntity;
 
+import java.time.Instant;
 import java.util.Collection;
-import java.util.List;
 
 /**
  * View for listing all queues.
- * Extracts unique queueIds from submissions.
+ * Consumes queue summaries so each queue's size is available without scanning submissions.
  */
 @Component(id = "queues-view")
 public class QueuesView extends View {
 
-  public record QueueEntry(String queueId) {}
+  public record QueueEntry(
+      String queueId,
+      int submissionCount,
+      int questionCount,
+      Instant lastImportAt,
+      int projectedTaskCount
+  ) {}
 
   public record QueuesResult(Collection<QueueEntry> queues) {}
 
-  @Consume.FromEventSourcedEntity(SubmissionsEntity.class)
+  @Consume.FromKeyValueEntity(QueueEntity.class)
   public static class QueuesUpdater extends TableUpdater<QueueEntry> {
 
-    public Effect<QueueEntry> onEvent(SubmissionsEntity.SubmissionEvent event) {
-      return switch (event) {
-        case SubmissionsEntity.SubmissionEvent.SubmissionImported imported -> {
-          String queueId = imported.submission().queueId();
-          if (queueId != null && !queueId.isEmpty()) {
-            yield effects().updateRow(new QueueEntry(queueId));
-          } else {
-            yield effects().ignore();
-          }
-        }
-      };
+    public Effect<QueueEntry> onUpdate(QueueSummary summary) {
+      if (summary.submissionCount() == 0) {
+        // Assignments made before any import do not make a queue
+        return effects().ignore();
+      }
+      return effects().updateRow(new QueueEntry(
+          summary.queueId(),
+          summary.submissionCount(),
+          summary.questionCount(),
+          summary.lastImportAt(),
+          summary.projectedTaskCount()
+      ));
     }
   }
 
@@ -49,4 +56,3 @@ public class QueuesView extends View {
     return queryResult();
   }
 }
-
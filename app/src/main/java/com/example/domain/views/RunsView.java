@@ -13,7 +13,7 @@ import java.util.Collection;
 
 /**
  * View for querying run status.
- * Tracks evaluation run progress.
+ * Tracks evaluation run progress and, for runs with a deadline, their SLA status as of the last event.
  */
 @Component(id = "runs-view")
 public class RunsView extends View {
@@ -26,8 +26,27 @@ public class RunsView extends View {
       int completedCount,
       int failedCount,
       Instant startedAt,
-      Instant completedAt
-  ) {}
+      Instant completedAt,
+      Instant deadline,
+      int expiredCount,
+      String slaStatus
+  ) {
+    RunEntry withProgress(RunEntity.RunEvent.RunProgressRecorded progress) {
+      return new RunEntry(runId, queueId, progress.status().name(), plannedCount,
+          progress.completedCount(), progress.failedCount(), startedAt, progress.completedAt(),
+          deadline, progress.expiredCount(), slaStatus(progress.status(), deadline, progress.completedAt()));
+    }
+
+    RunEntry withProgress(RunEntity.RunEvent.RunShardProgressRecorded progress) {
+      return new RunEntry(runId, queueId, progress.status().name(), plannedCount,
+          progress.completedCount(), progress.failedCount(), startedAt, progress.completedAt(),
+          deadline, progress.expiredCount(), slaStatus(progress.status(), deadline, progress.completedAt()));
+    }
+
+    private static String slaStatus(Run.RunStatus status, Instant deadline, Instant completedAt) {
+      return Run.slaStatus(status, deadline, completedAt, Instant.now()).name();
+    }
+  }
 
   public record RunsResult(Collection<RunEntry> runs) {}
 
@@ -36,34 +55,34 @@ public class RunsView extends View {
 
     public Effect<RunEntry> onEvent(RunEntity.RunEvent event) {
       return switch (event) {
-        case RunEntity.RunEvent.RunStarted started -> {
-          Run run = started.run();
-          yield effects().updateRow(new RunEntry(
-              run.runId(),
-              run.queueId(),
-              run.status().name(),
-              run.plannedCount(),
-              run.completedCount(),
-              run.failedCount(),
-              run.startedAt(),
-              run.completedAt()
-          ));
-        }
-        case RunEntity.RunEvent.RunProgressUpdated updated -> {
-          Run run = updated.run();
-          yield effects().updateRow(new RunEntry(
-              run.runId(),
-              run.queueId(),
-              run.status().name(),
-              run.plannedCount(),
-              run.completedCount(),
-              run.failedCount(),
-              run.startedAt(),
-              run.completedAt()
-          ));
-        }
+        case RunEntity.RunEvent.RunStarted started -> effects().updateRow(toEntry(started.run()));
+        case RunEntity.RunEvent.RunProgressUpdated updated -> effects().updateRow(toEntry(updated.run()));
+        case RunEntity.RunEvent.RunProgressRecorded recorded -> rowState() == null
+            ? effects().ignore()
+            : effects().updateRow(rowState().withProgress(recorded));
+        case RunEntity.RunEvent.RunShardProgressRecorded recorded -> rowState() == null
+            ? effects().ignore()
+            : effects().updateRow(rowState().withProgress(recorded));
+        case RunEntity.RunEvent.RunPlanned planned -> effects().updateRow(toEntry(planned.run()));
+        case RunEntity.RunEvent.RunStatusChanged changed -> effects().updateRow(toEntry(changed.run()));
       };
     }
+
+    private static RunEntry toEntry(Run run) {
+      return new RunEntry(
+          run.runId(),
+          run.queueId(),
+          run.status().name(),
+          run.plannedCount(),
+          run.completedCount(),
+          run.failedCount(),
+          run.startedAt(),
+          run.completedAt(),
+          run.deadline(),
+          run.expiredCount(),
+          run.slaStatus(Instant.now()).name()
+      );
+    }
   }
 
   @Query("SELECT * as runs FROM runs_view WHERE runId = :runId")
@@ -80,5 +99,10 @@ public class RunsView extends View {
   public QueryEffect<RunsResult> getRunsByStatus(String status) {
     return queryResult();
   }
+
+  @Query("SELECT * as runs FROM runs_view WHERE slaStatus = :slaStatus")
+  public QueryEffect<RunsResult> getRunsBySlaStatus(String slaStatus) {
+    return queryResult();
+  }
 }
 
@@ -9,17 +9,27 @@ import com.example.domain.Submission;
 import com.example.domain.entities.SubmissionsEntity;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * View for querying submissions by queueId.
- * Allows finding submissions for a specific queue.
+ * Allows finding submissions for a specific queue, with the content hash of each answer.
  */
 @Component(id = "submissions-view")
 public class SubmissionsView extends View {
 
   public record SubmissionEntry(
       String submissionId,
-      String queueId
+      String queueId,
+      List<AnswerDigest> answers
+  ) {}
+
+  /**
+   * Content hash of a submission's answer to a question.
+   */
+  public record AnswerDigest(
+      String questionTemplateId,
+      String contentHash
   ) {}
 
   public record SubmissionsResult(Collection<SubmissionEntry> submissions) {}
@@ -28,17 +38,20 @@ public class SubmissionsView extends View {
   public static class SubmissionsUpdater extends TableUpdater<SubmissionEntry> {
 
     public Effect<SubmissionEntry> onEvent(SubmissionsEntity.SubmissionEvent event) {
-      return switch (event) {
-        case SubmissionsEntity.SubmissionEvent.SubmissionImported imported -> {
-          Submission submission = imported.submission();
-          String queueId = submission.queueId();
-          if (queueId != null && !queueId.isEmpty()) {
-            yield effects().updateRow(new SubmissionEntry(submission.submissionId(), queueId));
-          } else {
-            yield effects().ignore();
-          }
-        }
+      Submission submission = switch (event) {
+        case SubmissionsEntity.SubmissionEvent.SubmissionImported imported -> imported.submission();
+        case SubmissionsEntity.SubmissionEvent.SubmissionImportedCompressed compressed -> compressed.submission();
       };
+      String queueId = submission.queueId();
+      if (queueId != null && !queueId.isEmpty()) {
+        List<AnswerDigest> answers = submission.questions().values().stream()
+            .filter(qa -> qa.questionTemplateId() != null)
+            .map(qa -> new AnswerDigest(qa.questionTemplateId(), qa.contentHash()))
+            .toList();
+        return effects().updateRow(new SubmissionEntry(submission.submissionId(), queueId, answers));
+      } else {
+        return effects().ignore();
+      }
     }
   }
 
@@ -47,9 +60,28 @@ public class SubmissionsView extends View {
     return queryResult();
   }
 
+  /**
+   * Submissions of a queue with ids from fromSubmissionId (inclusive) up to toSubmissionId (exclusive).
+   */
+  @Query("SELECT * as submissions FROM submissions_view WHERE queueId = :queueId AND submissionId >= :fromSubmissionId AND submissionId < :toSubmissionId")
+  public QueryEffect<SubmissionsResult> getSubmissionsByQueueRange(QueueRange range) {
+    return queryResult();
+  }
+
+  /**
+   * Submissions of a queue with ids from fromSubmissionId (inclusive) on.
+   */
+  @Query("SELECT * as submissions FROM submissions_view WHERE queueId = :queueId AND submissionId >= :fromSubmissionId")
+  public QueryEffect<SubmissionsResult> getSubmissionsByQueueFrom(QueueFrom from) {
+    return queryResult();
+  }
+
   @Query("SELECT * as submissions FROM submissions_view WHERE submissionId = :submissionId")
   public QueryEffect<SubmissionsResult> getSubmission(String submissionId) {
     return queryResult();
   }
-}
 
+  public record QueueRange(String queueId, String fromSubmissionId, String toSubmissionId) {}
+
+  public record QueueFrom(String queueId, String fromSubmissionId) {}
+}
@@ -0,0 +1,37 @@
+package com.example.api;
+
+import com.example.domain.views.EvaluationsView;
+import org.junit.Test;
+
+import java.time.Instant;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for evaluation export row formats.
+ */
+public class EvaluationExportFormatTest {
+
+  private static final EvaluationsView.EvaluationEntry ENTRY = new EvaluationsView.EvaluationEntry(
+      "eval-1", "run-1", "sub-1", "queue-1", "q1", "judge-1", 2, "fp", "PASS",
+      "Correct, \"clearly\"\nexplained.", Instant.parse("2025-01-01T00:00:00Z"), "gpt-4o-mini", "FIRST", 0.9);
+
+  @Test
+  public void testCsvQuotesFieldsWithSeparatorsAndLineBreaks() {
+    String line = EvaluationExportFormat.CSV.line(ENTRY);
+
+    assertEquals("eval-1,run-1,sub-1,queue-1,q1,judge-1,2,fp,PASS,"
+        + "\"Correct, \"\"clearly\"\"\nexplained.\",2025-01-01T00:00:00Z,gpt-4o-mini,FIRST,0.9\n", line);
+    assertEquals(EvaluationExportFormat.COLUMNS.size(), EvaluationExportFormat.CSV.header().split(",").length);
+  }
+
+  @Test
+  public void testNdjsonWritesOneObjectPerLine() {
+    String line = EvaluationExportFormat.NDJSON.line(ENTRY);
+
+    assertTrue(line.endsWith("}\n"));
+    assertEquals(1, line.split("\n").length);
+    assertTrue(line.contains("\"judgeVersion\":2"));
+    assertTrue(line.contains("\"evaluatedAt\":\"2025-01-01T00:00:00Z\""));
+  }
+}
@@ -3,8 +3,13 @@ package com.example.application.agents;
 import com.example.domain.Evaluation;
 import com.example.domain.EvaluationRequest;
 import com.example.domain.EvaluationResponse;
+import com.example.domain.Judge;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.Assert.*;
 
 /**
@@ -65,6 +70,73 @@ public class JudgeAgentTest {
     assertEquals(Evaluation.Verdict.INCONCLUSIVE, response3.verdict());
   }
 
+  @Test
+  public void testTokenEstimateRoundsUpAtFourCharactersPerToken() {
+    assertEquals(0, JudgeAgent.estimateTokens(null));
+    assertEquals(0, JudgeAgent.estimateTokens(""));
+    assertEquals(1, JudgeAgent.estimateTokens("abcd"));
+    assertEquals(2, JudgeAgent.estimateTokens("abcde"));
+    assertEquals(250, JudgeAgent.estimateTokens("x".repeat(1000)));
+  }
+
+  @Test
+  public void testCascadeKeepsConfidentFirstTierVerdict() throws Exception {
+    List<String> calledModels = new ArrayList<>();
+    JudgeAgent agent = new JudgeAgent((system, user, model) -> {
+      calledModels.add(model);
+      return new EvaluationResponse(Evaluation.Verdict.PASS, "Correct", 0.95);
+    });
+
+    EvaluationResponse response = agent.evaluate(cascadingRequest(new Judge.Cascade("gpt-4o-mini", 0.8)));
+
+    assertEquals(List.of("gpt-4o-mini"), calledModels);
+    assertEquals(Evaluation.Tier.FIRST, response.tier());
+    assertEquals("gpt-4o-mini", response.model());
+  }
+
+  @Test
+  public void testCascadeEscalatesInconclusiveOrUnconfidentVerdicts() throws Exception {
+    List<String> calledModels = new ArrayList<>();
+    JudgeAgent agent = new JudgeAgent((system, user, model) -> {
+      calledModels.add(model);
+      return model.equals("gpt-4o-mini")
+          ? new EvaluationResponse(Evaluation.Verdict.INCONCLUSIVE, "Unclear", 0.99)
+          : new EvaluationResponse(Evaluation.Verdict.FAIL, "Wrong", 0.9);
+    });
+
+    EvaluationResponse response = agent.evaluate(cascadingRequest(new Judge.Cascade("gpt-4o-mini", 0.5)));
+
+    assertEquals(List.of("gpt-4o-mini", "gpt-4o"), calledModels);
+    assertEquals(Evaluation.Tier.ESCALATED, response.tier());
+    assertEquals(Evaluation.Verdict.FAIL, response.verdict());
+
+    // A verdict without a reported confidence is escalated too
+    assertFalse(new EvaluationResponse(Evaluation.Verdict.PASS, "Correct").isConfident(0.0));
+  }
+
+  @Test
+  public void testJudgeWithoutCascadeCallsTargetModelOnly() throws Exception {
+    List<String> calledModels = new ArrayList<>();
+    JudgeAgent agent = new JudgeAgent((system, user, model) -> {
+      calledModels.add(model);
+      return new EvaluationResponse(Evaluation.Verdict.PASS, "Correct");
+    });
+
+    EvaluationResponse response = agent.evaluate(cascadingRequest(null));
+
+    assertEquals(List.of("gpt-4o"), calledModels);
+    assertEquals(Evaluation.Tier.SINGLE, response.tier());
+  }
+
+  private static EvaluationRequest cascadingRequest(Judge.Cascade cascade) {
+    return new EvaluationRequest(
+        "run-1", "sub-1", "queue-1", "q1", "judge-1",
+        "What is 2+2?", "4", "Two plus two equals four", Map.of(),
+        "Math", "Check arithmetic.", "gpt-4o", cascade, 1,
+        EvaluationRequest.IncludedFields.defaults(), List.of()
+    );
+  }
+
   // Integration test - requires API key
   // Uncomment and set OPENAI_API_KEY to run
   /*
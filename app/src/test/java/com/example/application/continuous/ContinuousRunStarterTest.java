@@ -0,0 +1,54 @@
+package com.example.application.continuous;
+
+import com.example.domain.entities.ContinuousEvaluationEntity;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for how ContinuousRunStarter resumes and gives up in-flight batches.
+ */
+public class ContinuousRunStarterTest {
+
+  private static final BooleanSupplier STARTED = () -> true;
+  private static final BooleanSupplier NOT_STARTED = () -> false;
+  private static final BooleanSupplier UNREACHABLE = () -> {
+    throw new IllegalStateException("workflow unreachable");
+  };
+
+  @Test
+  public void testRunStartedButAckFailedIsOnlyAcknowledgedOnNextFlush() {
+    // The first flush started run-1, then failed to acknowledge the batch; judge assignments changed since
+    ContinuousEvaluationEntity.InFlightBatch resumed = batch(true);
+
+    // The next flush acknowledges the batch without replanning it, so the run is neither failed nor requeued
+    assertTrue(ContinuousRunStarter.onlyAcknowledges(resumed, STARTED));
+    assertFalse(ContinuousRunStarter.abandonsBatch(false, STARTED));
+  }
+
+  @Test
+  public void testResumedBatchWithoutStartedRunIsStartedAgain() {
+    assertFalse(ContinuousRunStarter.onlyAcknowledges(batch(true), NOT_STARTED));
+  }
+
+  @Test
+  public void testNewBatchIsStartedWithoutAskingTheWorkflow() {
+    assertFalse(ContinuousRunStarter.onlyAcknowledges(batch(false), UNREACHABLE));
+  }
+
+  @Test
+  public void testFailedStartIsAbandonedOnlyWhenRunNeverStarted() {
+    assertTrue(ContinuousRunStarter.abandonsBatch(false, NOT_STARTED));
+    assertFalse(ContinuousRunStarter.abandonsBatch(true, NOT_STARTED));
+    // Unknown: keep the batch in flight rather than fail a run that may be live
+    assertFalse(ContinuousRunStarter.abandonsBatch(false, UNREACHABLE));
+  }
+
+  private static ContinuousEvaluationEntity.InFlightBatch batch(boolean resumed) {
+    return new ContinuousEvaluationEntity.InFlightBatch("run-1", List.of("sub-1", "sub-2"), Instant.now(), resumed);
+  }
+}
@@ -0,0 +1,127 @@
+package com.example.application.llm;
+
+import com.example.domain.Evaluation;
+import com.example.domain.EvaluationResponse;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for AdaptiveLLMProvider limit adjustment.
+ */
+public class AdaptiveLLMProviderTest {
+
+  private static final EvaluationResponse PASS = new EvaluationResponse(Evaluation.Verdict.PASS, "ok");
+
+  @Test
+  public void testLimitGrowsWhileLatencyIsFlat() throws Exception {
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    AdaptiveLLMProvider provider = new AdaptiveLLMProvider((system, user, model) -> {
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      try {
+        Thread.sleep(2);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      inFlight.decrementAndGet();
+      return PASS;
+    }, new AdaptiveLLMProvider.Settings(2, 1, 16, 100.0, 50));
+
+    ExecutorService callers = Executors.newFixedThreadPool(32);
+    List<Future<EvaluationResponse>> calls = new ArrayList<>();
+    for (int i = 0; i < 400; i++) {
+      calls.add(callers.submit(() -> provider.evaluate("system", "user", "gpt-4o-mini")));
+    }
+    for (Future<EvaluationResponse> call : calls) {
+      call.get(10, TimeUnit.SECONDS);
+    }
+    callers.shutdown();
+
+    assertTrue("limit did not grow: " + provider.currentLimit("gpt-4o-mini"), provider.currentLimit("gpt-4o-mini") > 2);
+    assertTrue("limit exceeded: " + maxInFlight.get(), maxInFlight.get() <= 16);
+  }
+
+  @Test
+  public void testConcurrentThrottlingHalvesLimitOnce() throws Exception {
+    CountDownLatch bothInFlight = new CountDownLatch(2);
+    AdaptiveLLMProvider provider = new AdaptiveLLMProvider((system, user, model) -> {
+      bothInFlight.countDown();
+      try {
+        bothInFlight.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      throw new LLMException("rate limited", 429);
+    }, new AdaptiveLLMProvider.Settings(8, 1, 16, 1.5, 50));
+
+    ExecutorService callers = Executors.newFixedThreadPool(2);
+    List<Future<?>> calls = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      calls.add(callers.submit(() -> {
+        try {
+          provider.evaluate("system", "user", "gpt-4o-mini");
+          fail("expected 429");
+        } catch (LLMException expected) {
+          assertTrue(expected.isOverload());
+        }
+        return null;
+      }));
+    }
+    for (Future<?> call : calls) {
+      call.get(10, TimeUnit.SECONDS);
+    }
+    callers.shutdown();
+
+    // Both calls were sent under the same limit, so they count as one congestion episode
+    assertEquals(4, provider.currentLimit("gpt-4o-mini"));
+  }
+
+  @Test
+  public void testRisingP99LatencyShrinksLimit() throws Exception {
+    AtomicLong clock = new AtomicLong();
+    AtomicLong latencyMillis = new AtomicLong(100);
+    AdaptiveLLMProvider provider = new AdaptiveLLMProvider((system, user, model) -> {
+      clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMillis.get()));
+      return PASS;
+    }, new AdaptiveLLMProvider.Settings(10, 1, 16, 1.5, 5), clock::get);
+
+    for (int i = 0; i < 5; i++) {
+      provider.evaluate("system", "user", "gpt-4o-mini");
+    }
+    assertEquals(10, provider.currentLimit("gpt-4o-mini"));
+
+    latencyMillis.set(300);
+    for (int i = 0; i < 5; i++) {
+      provider.evaluate("system", "user", "gpt-4o-mini");
+    }
+    assertEquals(9, provider.currentLimit("gpt-4o-mini"));
+  }
+
+  @Test
+  public void testBadRequestDoesNotChangeLimit() {
+    AdaptiveLLMProvider provider = new AdaptiveLLMProvider((system, user, model) -> {
+      throw new LLMException("bad request", 400);
+    }, new AdaptiveLLMProvider.Settings(4, 1, 16, 1.5, 50));
+
+    for (int i = 0; i < 3; i++) {
+      try {
+        provider.evaluate("system", "user", "gpt-4o-mini");
+        fail("expected 400");
+      } catch (LLMException expected) {
+        assertFalse(expected.isOverload());
+      }
+    }
+    assertEquals(4, provider.currentLimit("gpt-4o-mini"));
+  }
+}
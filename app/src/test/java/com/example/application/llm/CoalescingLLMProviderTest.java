@@ -0,0 +1,110 @@
+package com.example.application.llm;
+
+import com.example.domain.Evaluation;
+import com.example.domain.EvaluationResponse;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for CoalescingLLMProvider.
+ */
+public class CoalescingLLMProviderTest {
+
+  @Test
+  public void testConcurrentIdenticalCallsShareOneProviderCall() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger providerCalls = new AtomicInteger();
+    CoalescingLLMProvider provider = new CoalescingLLMProvider((system, user, model) -> {
+      int call = providerCalls.incrementAndGet();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return new EvaluationResponse(Evaluation.Verdict.PASS, "call " + call);
+    });
+
+    ExecutorService callers = Executors.newFixedThreadPool(5);
+    List<Future<EvaluationResponse>> calls = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      calls.add(callers.submit(() -> provider.evaluate("system", "user", "gpt-4o-mini")));
+    }
+    awaitCoalesced(provider, 4);
+    release.countDown();
+
+    for (Future<EvaluationResponse> call : calls) {
+      assertEquals("call 1", call.get(5, TimeUnit.SECONDS).reasoning());
+    }
+    callers.shutdown();
+    assertEquals(1, providerCalls.get());
+
+    // Nothing is cached once the call has returned
+    provider.evaluate("system", "user", "gpt-4o-mini");
+    assertEquals(2, providerCalls.get());
+  }
+
+  @Test
+  public void testDifferentPromptsAreNotCoalesced() throws Exception {
+    AtomicInteger providerCalls = new AtomicInteger();
+    CoalescingLLMProvider provider = new CoalescingLLMProvider((system, user, model) -> {
+      providerCalls.incrementAndGet();
+      return new EvaluationResponse(Evaluation.Verdict.PASS, user);
+    });
+
+    assertEquals("answer a", provider.evaluate("system", "answer a", "gpt-4o-mini").reasoning());
+    assertEquals("answer b", provider.evaluate("system", "answer b", "gpt-4o-mini").reasoning());
+    assertEquals("answer a", provider.evaluate("system", "answer a", "gpt-4o").reasoning());
+    assertEquals(3, providerCalls.get());
+    assertEquals(0, provider.coalescedCalls());
+  }
+
+  @Test
+  public void testFailureIsSharedWithWaitingCalls() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CoalescingLLMProvider provider = new CoalescingLLMProvider((system, user, model) -> {
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      throw new LLMException("rate limited", 429);
+    });
+
+    ExecutorService callers = Executors.newFixedThreadPool(2);
+    List<Future<EvaluationResponse>> calls = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      calls.add(callers.submit(() -> provider.evaluate("system", "user", "gpt-4o-mini")));
+    }
+    awaitCoalesced(provider, 1);
+    release.countDown();
+
+    for (Future<EvaluationResponse> call : calls) {
+      try {
+        call.get(5, TimeUnit.SECONDS);
+        fail("expected the shared failure");
+      } catch (ExecutionException e) {
+        assertEquals(429, ((LLMException) e.getCause()).statusCode());
+      }
+    }
+    callers.shutdown();
+  }
+
+  private static void awaitCoalesced(CoalescingLLMProvider provider, long expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (provider.coalescedCalls() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(expected, provider.coalescedCalls());
+  }
+}
@@ -0,0 +1,100 @@
+package com.example.application.llm;
+
+import com.example.domain.Evaluation;
+import com.example.domain.EvaluationResponse;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for Deadline and its propagation through the provider decorators.
+ */
+public class DeadlineTest {
+
+  private static final EvaluationResponse PASS = new EvaluationResponse(Evaluation.Verdict.PASS, "ok");
+
+  @Test
+  public void testEarliestAndNone() {
+    Deadline soon = Deadline.after(Duration.ofSeconds(1));
+    Deadline later = Deadline.after(Duration.ofMinutes(1));
+
+    assertSame(soon, soon.earliest(later));
+    assertSame(soon, later.earliest(soon));
+    assertSame(soon, Deadline.NONE.earliest(soon));
+    assertFalse(Deadline.NONE.isExpired());
+    assertEquals(Long.MAX_VALUE, Deadline.NONE.remainingNanos());
+    assertSame(Deadline.NONE, Deadline.at(null));
+    assertTrue(Deadline.at(Instant.now().minusSeconds(5)).isExpired());
+    assertTrue(Deadline.after(Duration.ofDays(365 * 1000L)).remainingNanos() > 0);
+  }
+
+  @Test
+  public void testStuckCallGivesUpAtDeadlineThroughDecorators() throws Exception {
+    CountDownLatch stuck = new CountDownLatch(1);
+    LLMProvider provider = new CoalescingLLMProvider(new HedgingLLMProvider(
+        (system, user, model) -> {
+          try {
+            stuck.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return PASS;
+        },
+        new HedgingLLMProvider.Settings(0.95, Duration.ofMillis(10), 0.0, 1, 10),
+        Executors.newCachedThreadPool()));
+
+    long startedAt = System.nanoTime();
+    try {
+      provider.evaluate("system", "user", "gpt-4o-mini", Deadline.after(Duration.ofMillis(200)));
+      fail("expected the call to exceed its deadline");
+    } catch (DeadlineExceededException e) {
+      assertFalse("a missed deadline is not an overload", e.isOverload());
+    } finally {
+      stuck.countDown();
+    }
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    assertTrue("gave up after " + elapsedMillis + " ms", elapsedMillis >= 150 && elapsedMillis < 2_000);
+  }
+
+  @Test
+  public void testSlotWaitIsBoundedByDeadline() throws Exception {
+    CountDownLatch stuck = new CountDownLatch(1);
+    AdaptiveLLMProvider provider = new AdaptiveLLMProvider((system, user, model) -> {
+      try {
+        stuck.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return PASS;
+    }, new AdaptiveLLMProvider.Settings(1, 1, 1, 1.5, 50));
+
+    // Takes the only slot until released
+    CompletableFuture<EvaluationResponse> holder = CompletableFuture.supplyAsync(() -> {
+      try {
+        return provider.evaluate("system", "first", "gpt-4o-mini");
+      } catch (LLMException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    Thread.sleep(50);
+
+    try {
+      provider.evaluate("system", "second", "gpt-4o-mini", Deadline.after(Duration.ofMillis(100)));
+      fail("expected the slot wait to exceed its deadline");
+    } catch (DeadlineExceededException e) {
+      // expected
+    }
+    stuck.countDown();
+    assertEquals(PASS, holder.get(5, TimeUnit.SECONDS));
+    // A missed deadline releases nothing it did not take and does not lower the limit
+    assertEquals(1, provider.currentLimit("gpt-4o-mini"));
+    assertEquals(PASS, provider.evaluate("system", "third", "gpt-4o-mini", Deadline.after(Duration.ofSeconds(5))));
+  }
+}
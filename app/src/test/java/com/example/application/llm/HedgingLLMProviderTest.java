@@ -0,0 +1,150 @@
+package com.example.application.llm;
+
+import com.example.domain.Evaluation;
+import com.example.domain.EvaluationResponse;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for HedgingLLMProvider.
+ */
+public class HedgingLLMProviderTest {
+
+  private static final int WARM_UP_CALLS = 20;
+
+  @Test
+  public void testStragglerIsHedgedAndHedgeWins() throws Exception {
+    CountDownLatch straggler = new CountDownLatch(1);
+    HedgingLLMProvider provider = provider(straggler, 0.5);
+
+    long startedAt = System.nanoTime();
+    EvaluationResponse response = provider.evaluate("system", "user", "gpt-4o-mini");
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    straggler.countDown();
+
+    assertEquals("attempt " + (WARM_UP_CALLS + 1), response.reasoning());
+    assertTrue("hedge did not cut latency: " + elapsedMillis + " ms", elapsedMillis < 2_000);
+    assertEquals(new HedgingLLMProvider.Metrics(WARM_UP_CALLS + 1, 1, 1), provider.metrics());
+  }
+
+  @Test
+  public void testHedgeRateCapIsRespected() throws Exception {
+    CountDownLatch straggler = new CountDownLatch(1);
+    HedgingLLMProvider provider = provider(straggler, 0.0);
+
+    Thread release = new Thread(() -> {
+      try {
+        Thread.sleep(200);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      straggler.countDown();
+    });
+    release.start();
+    EvaluationResponse response = provider.evaluate("system", "user", "gpt-4o-mini");
+
+    assertEquals("attempt " + WARM_UP_CALLS, response.reasoning());
+    assertEquals(0, provider.metrics().hedges());
+  }
+
+  @Test
+  public void testQueuedLosingHedgeNeverReachesDelegate() throws Exception {
+    CountDownLatch straggler = new CountDownLatch(1);
+    AtomicInteger attempts = new AtomicInteger();
+    // One thread: the hedge waits behind the straggling primary, as it would for a call slot
+    HedgingLLMProvider provider = new HedgingLLMProvider((system, user, model) -> {
+      int attempt = attempts.getAndIncrement();
+      if (attempt == WARM_UP_CALLS) {
+        try {
+          straggler.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      return new EvaluationResponse(Evaluation.Verdict.PASS, "attempt " + attempt);
+    }, new HedgingLLMProvider.Settings(0.95, Duration.ofMillis(20), 0.5, WARM_UP_CALLS, 100),
+        Executors.newSingleThreadExecutor());
+    for (int i = 0; i < WARM_UP_CALLS; i++) {
+      provider.evaluate("system", "user", "gpt-4o-mini");
+    }
+
+    Thread release = new Thread(() -> {
+      try {
+        Thread.sleep(200);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      straggler.countDown();
+    });
+    release.start();
+    EvaluationResponse response = provider.evaluate("system", "user", "gpt-4o-mini");
+    Thread.sleep(200);
+
+    assertEquals("attempt " + WARM_UP_CALLS, response.reasoning());
+    assertEquals(1, provider.metrics().hedges());
+    // The primary won; the queued hedge was cancelled before it made a call
+    assertEquals(WARM_UP_CALLS + 1, attempts.get());
+  }
+
+  @Test
+  public void testRunningLosingCallIsInterrupted() throws Exception {
+    CountDownLatch straggler = new CountDownLatch(1);
+    CountDownLatch interrupted = new CountDownLatch(1);
+    AtomicInteger attempts = new AtomicInteger();
+    HedgingLLMProvider provider = new HedgingLLMProvider((system, user, model) -> {
+      int attempt = attempts.getAndIncrement();
+      if (attempt == WARM_UP_CALLS) {
+        try {
+          straggler.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          interrupted.countDown();
+          throw new LLMException("Interrupted", e);
+        }
+      }
+      return new EvaluationResponse(Evaluation.Verdict.PASS, "attempt " + attempt);
+    }, new HedgingLLMProvider.Settings(0.95, Duration.ofMillis(20), 0.5, WARM_UP_CALLS, 100),
+        Executors.newCachedThreadPool());
+    for (int i = 0; i < WARM_UP_CALLS; i++) {
+      provider.evaluate("system", "user", "gpt-4o-mini");
+    }
+
+    EvaluationResponse response = provider.evaluate("system", "user", "gpt-4o-mini");
+
+    assertEquals("attempt " + (WARM_UP_CALLS + 1), response.reasoning());
+    // The hedge won, so the straggling primary is interrupted rather than left waiting for its latch
+    assertTrue(interrupted.await(2, TimeUnit.SECONDS));
+    straggler.countDown();
+  }
+
+  /**
+   * Provider whose first calls are fast so the model has a latency percentile, and whose next
+   * call blocks until the straggler latch is released.
+   */
+  private static HedgingLLMProvider provider(CountDownLatch straggler, double maxHedgeRate) throws Exception {
+    AtomicInteger attempts = new AtomicInteger();
+    HedgingLLMProvider provider = new HedgingLLMProvider((system, user, model) -> {
+      int attempt = attempts.getAndIncrement();
+      if (attempt == WARM_UP_CALLS) {
+        try {
+          straggler.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      return new EvaluationResponse(Evaluation.Verdict.PASS, "attempt " + attempt);
+    }, new HedgingLLMProvider.Settings(0.95, Duration.ofMillis(20), maxHedgeRate, WARM_UP_CALLS, 100),
+        Executors.newCachedThreadPool());
+
+    for (int i = 0; i < WARM_UP_CALLS; i++) {
+      provider.evaluate("system", "user", "gpt-4o-mini");
+    }
+    return provider;
+  }
+}
@@ -0,0 +1,49 @@
+package com.example.application.llm;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ModelLatencyStats moving averages.
+ */
+public class ModelLatencyStatsTest {
+
+  @Test
+  public void testUnobservedModelHasNoLatency() {
+    ModelLatencyStats stats = new ModelLatencyStats();
+
+    assertEquals(Optional.empty(), stats.averageLatency("gpt-4o-mini"));
+    assertEquals(0, stats.samples("gpt-4o-mini"));
+    assertTrue(stats.models().isEmpty());
+  }
+
+  @Test
+  public void testAverageFollowsRecentSamples() {
+    ModelLatencyStats stats = new ModelLatencyStats();
+
+    stats.record("gpt-4o-mini", Duration.ofMillis(100));
+    assertEquals(Duration.ofMillis(100), stats.averageLatency("gpt-4o-mini").orElseThrow());
+
+    // The newest sample moves the average a fifth of the way towards it
+    stats.record("gpt-4o-mini", Duration.ofMillis(600));
+    assertEquals(Duration.ofMillis(200), stats.averageLatency("gpt-4o-mini").orElseThrow());
+    assertEquals(2, stats.samples("gpt-4o-mini"));
+  }
+
+  @Test
+  public void testModelsAreTrackedSeparately() {
+    ModelLatencyStats stats = new ModelLatencyStats();
+
+    stats.record("gpt-4o-mini", Duration.ofMillis(100));
+    stats.record("gpt-4o", Duration.ofSeconds(2));
+
+    assertEquals(Set.of("gpt-4o-mini", "gpt-4o"), stats.models());
+    assertEquals(Duration.ofSeconds(2), stats.averageLatency("gpt-4o").orElseThrow());
+    assertEquals(Duration.ofMillis(100), stats.averageLatency("gpt-4o-mini").orElseThrow());
+  }
+}
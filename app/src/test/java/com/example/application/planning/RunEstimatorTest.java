@@ -0,0 +1,62 @@
+package com.example.application.planning;
+
+import com.example.application.llm.ModelLatencyStats;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the run duration projection.
+ */
+public class RunEstimatorTest {
+
+  private static final Duration DEFAULT_LATENCY = Duration.ofSeconds(3);
+
+  @Test
+  public void testUnobservedModelUsesDefaultLatency() {
+    RunEstimator.DurationProjection projection = RunEstimator.projectDuration(
+        Map.of("gpt-4o-mini", 10), new ModelLatencyStats(), DEFAULT_LATENCY, 5, 0);
+
+    // Ten 3s calls over five slots
+    assertEquals(6, projection.seconds());
+    assertFalse(projection.latencyObserved());
+  }
+
+  @Test
+  public void testObservedLatencyIsDividedByConcurrency() {
+    ModelLatencyStats stats = new ModelLatencyStats();
+    stats.record("gpt-4o-mini", Duration.ofMillis(500));
+    stats.record("gpt-4o", Duration.ofSeconds(2));
+
+    RunEstimator.DurationProjection projection = RunEstimator.projectDuration(
+        Map.of("gpt-4o-mini", 40, "gpt-4o", 10), stats, DEFAULT_LATENCY, 4, 0);
+
+    // (40 x 0.5s + 10 x 2s) / 4 slots
+    assertEquals(10, projection.seconds());
+    assertTrue(projection.latencyObserved());
+  }
+
+  @Test
+  public void testRateLimitSetsFloor() {
+    ModelLatencyStats stats = new ModelLatencyStats();
+    stats.record("gpt-4o-mini", Duration.ofMillis(100));
+
+    RunEstimator.DurationProjection projection = RunEstimator.projectDuration(
+        Map.of("gpt-4o-mini", 100), stats, DEFAULT_LATENCY, 32, 2);
+
+    // 100 calls at 2 per second, although 32 slots would finish them in under a second
+    assertEquals(50, projection.seconds());
+  }
+
+  @Test
+  public void testNoCallsTakeNoTime() {
+    RunEstimator.DurationProjection projection = RunEstimator.projectDuration(
+        Map.of(), new ModelLatencyStats(), DEFAULT_LATENCY, 4, 2);
+
+    assertEquals(0, projection.seconds());
+    assertTrue(projection.latencyObserved());
+  }
+}
@@ -0,0 +1,125 @@
+package com.example.application.planning;
+
+import com.example.application.workflows.RunEvaluationsWorkflowState;
+import com.example.domain.views.EvaluationsView;
+import com.example.domain.views.SubmissionsView;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for planning tuples and splitting a run plan into shards.
+ */
+public class RunPlannerTest {
+
+  @Test
+  public void testShardsAreEvenSubmissionRanges() {
+    List<RunEvaluationsWorkflowState.EvaluationTask> tasks = new ArrayList<>();
+    for (int submission = 99; submission >= 0; submission--) {
+      tasks.add(new RunEvaluationsWorkflowState.EvaluationTask(String.format("sub-%03d", submission), "q1", "judge-a"));
+      tasks.add(new RunEvaluationsWorkflowState.EvaluationTask(String.format("sub-%03d", submission), "q2", "judge-a"));
+    }
+
+    List<List<RunEvaluationsWorkflowState.EvaluationTask>> shards = RunPlanner.shardBySubmission(tasks, 70);
+
+    assertEquals(3, shards.size());
+    assertEquals(tasks.size(), shards.stream().mapToInt(List::size).sum());
+    String previousLast = "";
+    Set<String> seen = new HashSet<>();
+    for (List<RunEvaluationsWorkflowState.EvaluationTask> shard : shards) {
+      assertTrue("shards should be balanced: " + shard.size(), shard.size() >= 60 && shard.size() <= 70);
+      assertTrue(shard.get(0).submissionId().compareTo(previousLast) > 0);
+      previousLast = shard.get(shard.size() - 1).submissionId();
+      // A submission never spans two shards
+      Set<String> submissions = new HashSet<>();
+      shard.forEach(task -> submissions.add(task.submissionId()));
+      submissions.forEach(submissionId -> assertTrue(submissionId, seen.add(submissionId)));
+    }
+  }
+
+  @Test
+  public void testSmallPlanIsOneShard() {
+    List<RunEvaluationsWorkflowState.EvaluationTask> tasks = List.of(
+        new RunEvaluationsWorkflowState.EvaluationTask("sub-2", "q1", "judge-a"),
+        new RunEvaluationsWorkflowState.EvaluationTask("sub-1", "q1", "judge-a"));
+
+    List<List<RunEvaluationsWorkflowState.EvaluationTask>> shards = RunPlanner.shardBySubmission(tasks, 10);
+
+    assertEquals(1, shards.size());
+    assertEquals("sub-1", shards.get(0).get(0).submissionId());
+  }
+
+  @Test
+  public void testShardRangesCoverEverySubmissionOnce() {
+    List<RunEvaluationsWorkflowState.EvaluationTask> tasks = new ArrayList<>();
+    for (int submission = 0; submission < 100; submission++) {
+      tasks.add(new RunEvaluationsWorkflowState.EvaluationTask(String.format("sub-%03d", submission), "q1", "judge-a"));
+    }
+
+    List<RunEvaluationsWorkflowState.SubmissionRange> ranges = RunPlanner.shardRanges(tasks, 40);
+    List<List<RunEvaluationsWorkflowState.EvaluationTask>> shards = RunPlanner.shardBySubmission(tasks, 40);
+
+    assertEquals(shards.size(), ranges.size());
+    assertEquals("", ranges.get(0).fromSubmissionId());
+    assertNull(ranges.get(ranges.size() - 1).toSubmissionId());
+    for (int shard = 0; shard < shards.size(); shard++) {
+      RunEvaluationsWorkflowState.SubmissionRange range = ranges.get(shard);
+      shards.get(shard).forEach(task -> assertTrue(task.submissionId(), range.contains(task.submissionId())));
+      if (shard > 0) {
+        assertEquals(ranges.get(shard - 1).toSubmissionId(), range.fromSubmissionId());
+      }
+    }
+    // Ids between the planned ones, e.g. imported after planning, still belong to exactly one shard
+    for (String submissionId : List.of("a", "sub-0405", "sub-999", "zzz")) {
+      assertEquals(submissionId, 1, ranges.stream().filter(range -> range.contains(submissionId)).count());
+    }
+  }
+
+  @Test
+  public void testOnlyAnsweredQuestionsArePlanned() {
+    List<SubmissionsView.SubmissionEntry> submissions = List.of(
+        new SubmissionsView.SubmissionEntry("sub-1", "queue-1", List.of(
+            new SubmissionsView.AnswerDigest("q1", "h1"),
+            new SubmissionsView.AnswerDigest("q2", "h2"))),
+        new SubmissionsView.SubmissionEntry("sub-2", "queue-1", List.of(
+            new SubmissionsView.AnswerDigest("q2", "h3"))));
+    Map<String, List<String>> assignedJudges = Map.of(
+        "q1", List.of("judge-a", "judge-inactive"),
+        "q2", List.of("judge-b"));
+
+    List<RunEvaluationsWorkflowState.EvaluationTask> tasks =
+        RunPlanner.answeredTuples(submissions, assignedJudges, Set.of("judge-a", "judge-b"));
+
+    assertEquals(List.of(
+        new RunEvaluationsWorkflowState.EvaluationTask("sub-1", "q1", "judge-a"),
+        new RunEvaluationsWorkflowState.EvaluationTask("sub-1", "q2", "judge-b"),
+        new RunEvaluationsWorkflowState.EvaluationTask("sub-2", "q2", "judge-b")), tasks);
+  }
+
+  @Test
+  public void testIncrementalPlanSkipsOnlyTuplesOfCurrentFingerprint() {
+    RunEvaluationsWorkflowState.EvaluationTask upToDate =
+        new RunEvaluationsWorkflowState.EvaluationTask("sub-1", "q1", "judge-a");
+    RunEvaluationsWorkflowState.EvaluationTask staleVersion =
+        new RunEvaluationsWorkflowState.EvaluationTask("sub-2", "q1", "judge-a");
+    RunEvaluationsWorkflowState.EvaluationTask neverEvaluated =
+        new RunEvaluationsWorkflowState.EvaluationTask("sub-3", "q1", "judge-a");
+    RunEvaluationsWorkflowState.EvaluationTask noFingerprint =
+        new RunEvaluationsWorkflowState.EvaluationTask("sub-4", "q1", "judge-a");
+    List<EvaluationsView.EvaluatedTuple> evaluated = List.of(
+        new EvaluationsView.EvaluatedTuple("sub-1", "q1", "judge-a", "fp-v2"),
+        new EvaluationsView.EvaluatedTuple("sub-2", "q1", "judge-a", "fp-v1"),
+        new EvaluationsView.EvaluatedTuple("sub-4", "q1", "judge-a", null));
+
+    List<RunEvaluationsWorkflowState.EvaluationTask> planned = RunPlanner.notYetEvaluated(
+        List.of(upToDate, staleVersion, neverEvaluated, noFingerprint), evaluated, Map.of("judge-a", "fp-v2"));
+
+    assertEquals(List.of(staleVersion, neverEvaluated, noFingerprint), planned);
+  }
+}
@@ -0,0 +1,166 @@
+package com.example.application.scheduling;
+
+import com.example.domain.Run;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for EvaluationScheduler fairness and cancellation.
+ */
+public class EvaluationSchedulerTest {
+
+  @Test
+  public void testSmallRunIsNotStarvedByLargeRun() throws Exception {
+    List<String> order = runContended(Run.RunPriority.NORMAL, Run.RunPriority.NORMAL);
+
+    // Equal priorities alternate, so both small tasks run within the first four slots
+    assertTrue("small run starved: " + order, order.lastIndexOf("small") < 4);
+  }
+
+  @Test
+  public void testHigherPriorityGetsLargerShare() throws Exception {
+    List<String> order = runContended(Run.RunPriority.LOW, Run.RunPriority.HIGH);
+
+    assertTrue("high priority run not preferred: " + order, order.lastIndexOf("small") < 3);
+  }
+
+  @Test
+  public void testDropQueuedTasksCancelsOnlyQueuedWork() throws Exception {
+    EvaluationScheduler scheduler = new EvaluationScheduler(1, 0, Executors.newSingleThreadExecutor());
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<String> running = scheduler.submit("run-1", Run.RunPriority.NORMAL, () -> {
+      release.await(5, TimeUnit.SECONDS);
+      return "done";
+    });
+    CompletableFuture<String> queued = scheduler.submit("run-1", Run.RunPriority.NORMAL, () -> "never");
+
+    assertEquals(1, scheduler.dropQueuedTasks("run-1"));
+    release.countDown();
+
+    assertEquals("done", running.get(5, TimeUnit.SECONDS));
+    try {
+      queued.join();
+      fail("queued task should have been cancelled");
+    } catch (CancellationException | CompletionException expected) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testCancelledQueuedTaskNeverRunsAndTakesNoPermit() throws Exception {
+    // One start per second: the blocker takes the first permit, the next one is a second later
+    EvaluationScheduler scheduler = new EvaluationScheduler(1, 1, Executors.newSingleThreadExecutor());
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicBoolean abandonedRan = new AtomicBoolean();
+
+    long start = System.nanoTime();
+    CompletableFuture<String> running = scheduler.submit("run-1", Run.RunPriority.NORMAL, () -> {
+      release.await(5, TimeUnit.SECONDS);
+      return "done";
+    });
+    CompletableFuture<String> abandoned = scheduler.submit("run-1", Run.RunPriority.NORMAL, () -> {
+      abandonedRan.set(true);
+      return "abandoned";
+    });
+    CompletableFuture<String> next = scheduler.submit("run-1", Run.RunPriority.NORMAL, () -> "next");
+
+    assertTrue(abandoned.cancel(false));
+    release.countDown();
+
+    assertEquals("done", running.get(5, TimeUnit.SECONDS));
+    assertEquals("next", next.get(5, TimeUnit.SECONDS));
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    // Had the abandoned task taken the second permit, the next task would wait for the third
+    assertTrue("next task waited for an abandoned permit: " + elapsedMillis + "ms", elapsedMillis < 1800);
+    assertFalse(abandonedRan.get());
+    assertTrue(abandoned.isCancelled());
+  }
+
+  @Test
+  public void testCancelFailsOnceTaskStarted() throws Exception {
+    EvaluationScheduler scheduler = new EvaluationScheduler(1, 0, Executors.newSingleThreadExecutor());
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<String> running = scheduler.submit("run-1", Run.RunPriority.NORMAL, () -> {
+      started.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return "done";
+    });
+
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    assertFalse(running.cancel(false));
+    release.countDown();
+    assertEquals("done", running.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testUnmeteredTasksAreBoundedByConcurrency() throws Exception {
+    EvaluationScheduler scheduler = new EvaluationScheduler(2, 0, Executors.newCachedThreadPool());
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+    for (int i = 0; i < 5; i++) {
+      futures.add(scheduler.submitUnmetered(() -> {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        release.await(5, TimeUnit.SECONDS);
+        running.decrementAndGet();
+        return null;
+      }));
+    }
+
+    Thread.sleep(200);
+    assertEquals(2, running.get());
+    release.countDown();
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+    assertEquals(2, maxRunning.get());
+  }
+
+  /**
+   * Blocks the only slot, queues six tasks of a large run followed by two of a small run,
+   * then releases the slot and returns the order in which the queued tasks ran.
+   */
+  private List<String> runContended(Run.RunPriority bigPriority, Run.RunPriority smallPriority) throws Exception {
+    EvaluationScheduler scheduler = new EvaluationScheduler(1, 0, Executors.newSingleThreadExecutor());
+    CountDownLatch release = new CountDownLatch(1);
+    List<String> order = Collections.synchronizedList(new ArrayList<>());
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+    futures.add(scheduler.submit("big", bigPriority, () -> {
+      release.await(5, TimeUnit.SECONDS);
+      return null;
+    }));
+    for (int i = 0; i < 6; i++) {
+      futures.add(scheduler.submit("big", bigPriority, () -> record(order, "big")));
+    }
+    for (int i = 0; i < 2; i++) {
+      futures.add(scheduler.submit("small", smallPriority, () -> record(order, "small")));
+    }
+
+    release.countDown();
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+    assertEquals(8, order.size());
+    return order;
+  }
+
+  private static Void record(List<String> order, String runId) {
+    order.add(runId);
+    return null;
+  }
+}
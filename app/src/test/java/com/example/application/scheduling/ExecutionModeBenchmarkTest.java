@@ -0,0 +1,104 @@
+package com.example.application.scheduling;
+
+import com.example.domain.Run;
+import org.junit.Assume;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Benchmark of platform versus virtual threads for blocking evaluations.
+ * Each task sleeps like a task waiting on an LLM response; every task is in flight at once,
+ * so throughput is bounded by how many blocked tasks the executor can hold.
+ * Memory is reported as platform threads added (each reserves a native stack, 1 MB by default)
+ * and heap growth, which is where virtual thread stacks live.
+ * The benchmark only runs with the benchmark profile (mvn test -Pbenchmark): it starts thousands
+ * of platform threads, which containers with thread limits may not allow.
+ */
+public class ExecutionModeBenchmarkTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(ExecutionModeBenchmarkTest.class);
+
+  private static final int CONCURRENCY = 2_000;
+  private static final int TASKS = 4_000;
+  private static final long CALL_MILLIS = 100;
+
+  @Test
+  public void benchmarkPlatformVersusVirtualThreads() throws Exception {
+    Assume.assumeTrue("benchmark profile not enabled", Boolean.getBoolean("benchmark"));
+    logger.info(String.format("%-10s %-8s %-10s %-14s %-16s %-12s",
+        "threads", "tasks", "elapsed ms", "tasks/second", "added platform", "heap MB"));
+    Result virtual = run(ExecutionMode.VIRTUAL);
+    Result platform = run(ExecutionMode.PLATFORM);
+    log(ExecutionMode.PLATFORM, platform);
+    log(ExecutionMode.VIRTUAL, virtual);
+
+    // A platform thread per blocked task versus a handful of carrier threads
+    assertTrue("platform threads added " + platform.addedPlatformThreads, platform.addedPlatformThreads >= CONCURRENCY / 2);
+    assertTrue("virtual threads added " + virtual.addedPlatformThreads, virtual.addedPlatformThreads < platform.addedPlatformThreads / 4);
+  }
+
+  @Test
+  public void testVirtualExecutorRunsSchedulerTasks() throws Exception {
+    ExecutorService executor = ExecutionMode.VIRTUAL.newExecutor("test-virtual");
+    EvaluationScheduler scheduler = new EvaluationScheduler(4, 0, executor);
+
+    Boolean virtual = scheduler.submit("run-1", Run.RunPriority.NORMAL, () -> Thread.currentThread().isVirtual())
+        .get(5, TimeUnit.SECONDS);
+
+    assertTrue(virtual);
+    executor.shutdown();
+  }
+
+  private record Result(long elapsedMillis, int addedPlatformThreads, long heapBytes) {}
+
+  private static Result run(ExecutionMode mode) throws Exception {
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    ExecutorService executor = mode.newExecutor("benchmark-" + mode.name().toLowerCase());
+    EvaluationScheduler scheduler = new EvaluationScheduler(CONCURRENCY, 0, executor);
+
+    System.gc();
+    long heapBefore = memory.getHeapMemoryUsage().getUsed();
+    threads.resetPeakThreadCount();
+    int threadsBefore = threads.getThreadCount();
+    long start = System.nanoTime();
+
+    List<CompletableFuture<Void>> results = new ArrayList<>(TASKS);
+    for (int i = 0; i < TASKS; i++) {
+      results.add(scheduler.submit("run-" + mode, Run.RunPriority.NORMAL, () -> {
+        Thread.sleep(CALL_MILLIS);
+        return null;
+      }));
+    }
+    CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    long heapBytes = memory.getHeapMemoryUsage().getUsed() - heapBefore;
+    int added = threads.getPeakThreadCount() - threadsBefore;
+    executor.shutdownNow();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+    return new Result(elapsedMillis, added, heapBytes);
+  }
+
+  private static void log(ExecutionMode mode, Result result) {
+    logger.info(String.format("%-10s %-8d %-10d %-14d %-16d %-12d",
+        mode.name().toLowerCase(),
+        TASKS,
+        result.elapsedMillis,
+        TASKS * 1000L / Math.max(1, result.elapsedMillis),
+        result.addedPlatformThreads,
+        result.heapBytes / (1024 * 1024)));
+  }
+}
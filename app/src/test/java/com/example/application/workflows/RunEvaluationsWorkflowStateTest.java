@@ -0,0 +1,39 @@
+package com.example.application.workflows;
+
+import com.example.domain.Run;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the dictionary encoding of pending evaluations.
+ */
+public class RunEvaluationsWorkflowStateTest {
+
+  @Test
+  public void testPlannedTasksRoundTripThroughDictionary() {
+    List<RunEvaluationsWorkflowState.EvaluationTask> tasks = List.of(
+        new RunEvaluationsWorkflowState.EvaluationTask("sub-1", "q1", "judge-a"),
+        new RunEvaluationsWorkflowState.EvaluationTask("sub-2", "q1", "judge-b"),
+        new RunEvaluationsWorkflowState.EvaluationTask("sub-1", "q2", "judge-a", List.of(
+            new RunEvaluationsWorkflowState.DuplicateTuple("sub-3", "q2"),
+            new RunEvaluationsWorkflowState.DuplicateTuple("sub-2", "q1"))));
+
+    RunEvaluationsWorkflowState state = emptyState().withPlannedTasks(tasks);
+
+    assertEquals(List.of("sub-1", "sub-2", "sub-3"), state.taskIds().submissionIds());
+    assertEquals(List.of("q1", "q2"), state.taskIds().questionTemplateIds());
+    assertEquals(List.of("judge-a", "judge-b"), state.taskIds().judgeIds());
+    assertEquals(3, state.pendingEvaluations().get(2).tupleCount());
+    for (int i = 0; i < tasks.size(); i++) {
+      assertEquals(tasks.get(i), state.decode(state.pendingEvaluations().get(i)));
+    }
+  }
+
+  private static RunEvaluationsWorkflowState emptyState() {
+    return new RunEvaluationsWorkflowState("run-1", "queue-1", Run.RunMode.FULL, Run.RunPriority.NORMAL,
+        Run.RunStatus.RUNNING, RunEvaluationsWorkflowState.TaskIds.empty(), List.of(), 0, 0, null, null, null, 0, null, null);
+  }
+}
@@ -0,0 +1,91 @@
+package com.example.domain;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the continuous evaluation micro-batch.
+ */
+public class ContinuousEvaluationTest {
+
+  @Test
+  public void testFirstSubmissionOpensBatch() {
+    Instant opened = Instant.parse("2026-01-01T00:00:00Z");
+    ContinuousEvaluation state = ContinuousEvaluation.disabled("queue-1").withEnabled(true)
+        .withPendingSubmission("sub-1", opened)
+        .withPendingSubmission("sub-2", opened.plusSeconds(1))
+        .withPendingSubmission("sub-1", opened.plusSeconds(2));
+
+    assertEquals(List.of("sub-1", "sub-2"), state.pendingSubmissionIds());
+    assertEquals(opened, state.batchOpenedAt());
+  }
+
+  @Test
+  public void testBatchStaysInFlightUntilStarted() {
+    Instant taken = Instant.parse("2026-01-01T00:00:05Z");
+    ContinuousEvaluation inFlight = ContinuousEvaluation.disabled("queue-1").withEnabled(true)
+        .withPendingSubmission("sub-1", Instant.now())
+        .withBatchInFlight("run-1", taken)
+        .withPendingSubmission("sub-1", Instant.now())
+        .withPendingSubmission("sub-2", Instant.now());
+
+    // A redelivered import of an in-flight submission is not pending again
+    assertEquals(List.of("sub-2"), inFlight.pendingSubmissionIds());
+    assertEquals("run-1", inFlight.inFlightRunId());
+    assertEquals(List.of("sub-1"), inFlight.inFlightSubmissionIds());
+    assertEquals(taken, inFlight.inFlightSince());
+
+    ContinuousEvaluation started = inFlight.withBatchStarted("run-other").withBatchStarted("run-1");
+    assertTrue(started.enabled());
+    assertFalse(started.hasBatchInFlight());
+    assertTrue(started.inFlightSubmissionIds().isEmpty());
+    assertEquals(List.of("sub-2"), started.pendingSubmissionIds());
+  }
+
+  @Test
+  public void testReturnedBatchIsPendingAgain() {
+    Instant opened = Instant.parse("2026-01-01T00:00:00Z");
+    ContinuousEvaluation returned = ContinuousEvaluation.disabled("queue-1").withEnabled(true)
+        .withPendingSubmission("sub-1", opened)
+        .withBatchInFlight("run-1", opened.plusSeconds(5))
+        .withPendingSubmission("sub-2", opened.plusSeconds(6))
+        .withBatchReturned("run-1", opened.plusSeconds(7));
+
+    assertFalse(returned.hasBatchInFlight());
+    assertEquals(List.of("sub-1", "sub-2"), returned.pendingSubmissionIds());
+    assertEquals(opened.plusSeconds(6), returned.batchOpenedAt());
+  }
+
+  @Test
+  public void testOnlyOneBatchInFlight() {
+    ContinuousEvaluation inFlight = ContinuousEvaluation.disabled("queue-1").withEnabled(true)
+        .withPendingSubmission("sub-1", Instant.now())
+        .withBatchInFlight("run-1", Instant.now());
+
+    try {
+      inFlight.withBatchInFlight("run-2", Instant.now());
+      fail("Expected IllegalStateException");
+    } catch (IllegalStateException e) {
+      assertTrue(e.getMessage().contains("run-1"));
+    }
+  }
+
+  @Test
+  public void testDisablingDropsPendingBatch() {
+    ContinuousEvaluation disabled = ContinuousEvaluation.disabled("queue-1").withEnabled(true)
+        .withPendingSubmission("sub-1", Instant.now())
+        .withBatchInFlight("run-1", Instant.now())
+        .withPendingSubmission("sub-2", Instant.now())
+        .withEnabled(false);
+
+    assertFalse(disabled.enabled());
+    assertFalse(disabled.hasPendingSubmissions());
+    // The in-flight batch is still started; if its run cannot be started it is dropped
+    assertEquals("run-1", disabled.inFlightRunId());
+    assertFalse(disabled.withBatchReturned("run-1", Instant.now()).hasPendingSubmissions());
+  }
+}
@@ -0,0 +1,36 @@
+package com.example.domain;
+
+import org.junit.Test;
+
+import java.time.Instant;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for FailedTask ids and retry marking.
+ */
+public class FailedTaskTest {
+
+  @Test
+  public void testIdIsDeterministicPerRunAndTuple() {
+    String id = FailedTask.idFor("run-1", "sub-1", "q1", "judge-a");
+
+    assertEquals(id, FailedTask.idFor("run-1", "sub-1", "q1", "judge-a"));
+    assertNotEquals(id, FailedTask.idFor("run-2", "sub-1", "q1", "judge-a"));
+    assertNotEquals(id, FailedTask.idFor("run-1", "sub-1", "q2", "judge-a"));
+    assertNotEquals(id, FailedTask.idFor("run-1", "sub-1", "q1", "judge-b"));
+  }
+
+  @Test
+  public void testRetriedByRunKeepsFailure() {
+    FailedTask failed = new FailedTask("id-1", "run-1", "queue-1", "sub-1", "q1", "judge-a",
+        "DeadlineExceededException", "gpt-4o-mini call exceeded its deadline", 3, Instant.now(), null);
+
+    FailedTask retried = failed.withRetriedByRunId("run-2");
+
+    assertEquals("run-2", retried.retriedByRunId());
+    assertEquals(failed.errorClass(), retried.errorClass());
+    assertEquals(3, retried.attempts());
+    assertNull(failed.retriedByRunId());
+  }
+}
@@ -0,0 +1,148 @@
+package com.example.domain;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for JudgeRule evaluation and validation.
+ */
+public class JudgeRuleTest {
+
+  private static final Submission.QuestionAnswer ANSWER = new Submission.QuestionAnswer(
+      "q1",
+      "What is 6 * 7?",
+      "B",
+      "{\"answer\": 42, \"steps\": [\"6 * 7\"]}",
+      Map.of("score", "41.8", "grading", Map.of("label", "correct"))
+  );
+
+  @Test
+  public void testEqualsAndOneOf() {
+    assertEquals(Evaluation.Verdict.PASS, rule(JudgeRule.Kind.EQUALS, "answerChoice", "B").evaluate(ANSWER).verdict());
+    assertEquals(Evaluation.Verdict.FAIL, rule(JudgeRule.Kind.EQUALS, "answerChoice", "b").evaluate(ANSWER).verdict());
+    assertEquals(Evaluation.Verdict.PASS, new JudgeRule(JudgeRule.Kind.EQUALS, "answerChoice", "b", null, null, null, true)
+        .evaluate(ANSWER).verdict());
+
+    JudgeRule oneOf = new JudgeRule(JudgeRule.Kind.ONE_OF, "metadata.grading.label", null,
+        List.of("correct", "partial"), null, null, false);
+    EvaluationResponse response = oneOf.evaluate(ANSWER);
+    assertEquals(Evaluation.Verdict.PASS, response.verdict());
+    assertEquals(JudgeRule.MODEL, response.model());
+    assertEquals(Double.valueOf(1.0), response.confidence());
+  }
+
+  @Test
+  public void testRegexAndNumericTolerance() {
+    assertEquals(Evaluation.Verdict.PASS, rule(JudgeRule.Kind.REGEX, "answerReasoning", "\"answer\":\\s*42").evaluate(ANSWER).verdict());
+    assertEquals(Evaluation.Verdict.FAIL, rule(JudgeRule.Kind.REGEX, "answerReasoning", "^42$").evaluate(ANSWER).verdict());
+
+    JudgeRule numeric = new JudgeRule(JudgeRule.Kind.NUMERIC, "metadata.score", "42", null, 0.5, null, false);
+    assertEquals(Evaluation.Verdict.PASS, numeric.evaluate(ANSWER).verdict());
+    JudgeRule strict = new JudgeRule(JudgeRule.Kind.NUMERIC, "metadata.score", "42", null, 0.1, null, false);
+    assertEquals(Evaluation.Verdict.FAIL, strict.evaluate(ANSWER).verdict());
+    assertEquals(Evaluation.Verdict.INCONCLUSIVE,
+        new JudgeRule(JudgeRule.Kind.NUMERIC, "answerChoice", "42", null, null, null, false).evaluate(ANSWER).verdict());
+  }
+
+  @Test
+  public void testJsonSchemaOverParsedReasoning() {
+    JudgeRule valid = schemaRule("{\"type\": \"object\", \"required\": [\"answer\"],"
+        + " \"properties\": {\"answer\": {\"type\": \"integer\", \"minimum\": 0},"
+        + " \"steps\": {\"type\": \"array\", \"items\": {\"type\": \"string\"}}}}");
+    assertEquals(Evaluation.Verdict.PASS, valid.evaluate(ANSWER).verdict());
+
+    EvaluationResponse missing = schemaRule("{\"type\": \"object\", \"required\": [\"confidence\"]}").evaluate(ANSWER);
+    assertEquals(Evaluation.Verdict.FAIL, missing.verdict());
+    assertTrue(missing.reasoning().contains("answerReasoning.confidence is required"));
+
+    JudgeRule closed = schemaRule("{\"type\": \"object\", \"properties\": {\"answer\": {}}, \"additionalProperties\": false}");
+    assertEquals(Evaluation.Verdict.FAIL, closed.evaluate(ANSWER).verdict());
+  }
+
+  @Test
+  public void testJsonSchemaKeepsScalarTextAsString() {
+    Submission.QuestionAnswer numericChoice = new Submission.QuestionAnswer("q1", "What is 6 * 7?", "42", "true", Map.of());
+
+    assertEquals(Evaluation.Verdict.PASS, choiceSchemaRule("{\"type\": \"string\"}").evaluate(numericChoice).verdict());
+    assertEquals(Evaluation.Verdict.PASS,
+        choiceSchemaRule("{\"type\": [\"string\", \"null\"], \"pattern\": \"^\\\\d+$\"}").evaluate(numericChoice).verdict());
+    assertEquals(Evaluation.Verdict.FAIL, choiceSchemaRule("{\"type\": [\"number\", \"null\"]}").evaluate(numericChoice).verdict());
+    assertEquals(Evaluation.Verdict.FAIL, choiceSchemaRule("{\"type\": \"object\"}").evaluate(numericChoice).verdict());
+  }
+
+  @Test
+  public void testMissingFieldIsInconclusive() {
+    JudgeRule rule = rule(JudgeRule.Kind.EQUALS, "metadata.grading.reviewer", "alice");
+    assertEquals(Evaluation.Verdict.INCONCLUSIVE, rule.evaluate(ANSWER).verdict());
+  }
+
+  @Test
+  public void testInvalidRulesAreRejected() {
+    assertRejected(() -> rule(JudgeRule.Kind.EQUALS, "answer", "B"));
+    assertRejected(() -> rule(JudgeRule.Kind.REGEX, "answerChoice", "(unclosed"));
+    assertRejected(() -> rule(JudgeRule.Kind.NUMERIC, "metadata.score", "forty"));
+    assertRejected(() -> schemaRule("not json"));
+    assertRejected(() -> schemaRule("{\"type\": \"text\"}"));
+    assertRejected(() -> schemaRule("{\"type\": []}"));
+    assertRejected(() -> schemaRule("{\"properties\": {\"answer\": {\"type\": [\"integer\", 5]}}}"));
+  }
+
+  @Test
+  public void testRuleJudgeFingerprintFollowsRule() {
+    Judge judge = new Judge("judge-1", "Choice", "unused", "gpt-4o-mini", true);
+    Judge ruleJudge = judge.withRule(rule(JudgeRule.Kind.EQUALS, "answerChoice", "B"));
+
+    assertTrue(ruleJudge.differsInContentFrom(judge));
+    assertFalse(ruleJudge.withSystemPrompt("changed").differsInContentFrom(ruleJudge));
+    assertTrue(ruleJudge.withRule(rule(JudgeRule.Kind.EQUALS, "answerChoice", "C")).differsInContentFrom(ruleJudge));
+    assertEquals(
+        schemaRule("{\"type\": \"object\", \"required\": [\"a\"]}").fingerprint(),
+        schemaRule("{\"required\": [\"a\"], \"type\": \"object\"}").fingerprint()
+    );
+  }
+
+  @Test
+  public void testRuleFingerprintKeepsValuesApart() {
+    assertNotEquals(
+        new JudgeRule(JudgeRule.Kind.ONE_OF, "answerChoice", null, List.of("a,b"), null, null, false).fingerprint(),
+        new JudgeRule(JudgeRule.Kind.ONE_OF, "answerChoice", null, List.of("a", "b"), null, null, false).fingerprint()
+    );
+    assertNotEquals(
+        schemaRule("{\"type\": \"object\", \"required\": [\"a,b\"]}").fingerprint(),
+        schemaRule("{\"type\": \"object\", \"required\": [\"a\", \"b\"]}").fingerprint()
+    );
+    assertNotEquals(
+        schemaRule("{\"enum\": [1]}").fingerprint(),
+        schemaRule("{\"enum\": [\"1\"]}").fingerprint()
+    );
+    assertNotEquals(
+        schemaRule("{\"type\": \"number\", \"minimum\": 1}").fingerprint(),
+        schemaRule("{\"type\": \"number\", \"minimum\": 1.5}").fingerprint()
+    );
+  }
+
+  private static void assertRejected(Runnable create) {
+    try {
+      create.run();
+      fail("expected the rule to be rejected");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+
+  private static JudgeRule rule(JudgeRule.Kind kind, String field, String value) {
+    return new JudgeRule(kind, field, value, null, null, null, false);
+  }
+
+  private static JudgeRule choiceSchemaRule(String schema) {
+    return new JudgeRule(JudgeRule.Kind.JSON_SCHEMA, "answerChoice", null, null, null, schema, false);
+  }
+
+  private static JudgeRule schemaRule(String schema) {
+    return new JudgeRule(JudgeRule.Kind.JSON_SCHEMA, "answerReasoning", null, null, null, schema, false);
+  }
+}
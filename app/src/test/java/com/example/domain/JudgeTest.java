@@ -0,0 +1,47 @@
+package com.example.domain;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for Judge versioning and fingerprints.
+ */
+public class JudgeTest {
+
+  @Test
+  public void testFingerprintDependsOnRubricAndModel() {
+    Judge judge = new Judge("judge-1", "Math", "Check arithmetic.", "gpt-4o-mini", true);
+
+    assertEquals(judge.fingerprint(), judge.withName("Math v2").fingerprint());
+    assertEquals(judge.fingerprint(), judge.withActive(false).fingerprint());
+    assertNotEquals(judge.fingerprint(), judge.withSystemPrompt("Check algebra.").fingerprint());
+    assertNotEquals(judge.fingerprint(), judge.withTargetModel("gpt-4o").fingerprint());
+  }
+
+  @Test
+  public void testContentChangeDetection() {
+    Judge judge = new Judge("judge-1", "Math", "Check arithmetic.", "gpt-4o-mini", true);
+
+    assertEquals(1, judge.version());
+    assertFalse(judge.withName("Renamed").differsInContentFrom(judge));
+    assertTrue(judge.withSystemPrompt("Check algebra.").differsInContentFrom(judge));
+  }
+
+  @Test
+  public void testCascadeChangesFingerprintOnlyWhenSet() {
+    Judge judge = new Judge("judge-1", "Math", "Check arithmetic.", "gpt-4o", true);
+    Judge cascading = judge.withCascade(new Judge.Cascade("gpt-4o-mini", 0.8));
+
+    assertEquals(Fingerprints.of("Check arithmetic.", "gpt-4o"), judge.fingerprint());
+    assertTrue(cascading.differsInContentFrom(judge));
+    assertTrue(cascading.withCascade(new Judge.Cascade("gpt-4o-mini", 0.9)).differsInContentFrom(cascading));
+    assertFalse(cascading.withCascade(null).differsInContentFrom(judge));
+  }
+
+  @Test
+  public void testFingerprintPartsAreUnambiguous() {
+    assertNotEquals(Fingerprints.of("ab", "c"), Fingerprints.of("a", "bc"));
+    assertNotEquals(Fingerprints.of((String) null), Fingerprints.of(""));
+  }
+}
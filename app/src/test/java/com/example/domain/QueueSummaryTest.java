@@ -0,0 +1,43 @@
+package com.example.domain;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for QueueSummary cardinalities.
+ */
+public class QueueSummaryTest {
+
+  @Test
+  public void testProjectedTaskCountUsesAssignedQuestionsOnly() {
+    Instant now = Instant.now();
+    QueueSummary summary = QueueSummary.empty("queue-1")
+        .withSubmission("sub-1", Set.of("q1", "q2"), now)
+        .withSubmission("sub-2", Set.of("q2", "q3"), now)
+        .withAssignedJudgeCount("q1", 2)
+        .withAssignedJudgeCount("q3", 1)
+        .withAssignedJudgeCount("unknown", 5);
+
+    assertEquals(2, summary.submissionCount());
+    assertEquals(3, summary.questionCount());
+    // Only answered questions count: sub-1 answers q1 (two judges), sub-2 answers q3 (one judge)
+    assertEquals(3, summary.projectedTaskCount());
+    assertEquals(1, summary.withAssignedJudgeCount("q1", 0).projectedTaskCount());
+  }
+
+  @Test
+  public void testRecentSubmissionWindowIsBounded() {
+    QueueSummary summary = QueueSummary.empty("queue-1");
+    for (int i = 0; i <= QueueSummary.RECENT_SUBMISSION_WINDOW; i++) {
+      summary = summary.withSubmission("sub-" + i, Set.of(), Instant.now());
+    }
+
+    assertEquals(QueueSummary.RECENT_SUBMISSION_WINDOW, summary.recentSubmissionIds().size());
+    assertFalse(summary.hasRecentSubmission("sub-0"));
+    assertTrue(summary.hasRecentSubmission("sub-" + QueueSummary.RECENT_SUBMISSION_WINDOW));
+  }
+}
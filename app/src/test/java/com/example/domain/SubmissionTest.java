@@ -0,0 +1,78 @@
+package com.example.domain;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for answer content hashing and compressed payloads.
+ */
+public class SubmissionTest {
+
+  @Test
+  public void testContentHashIgnoresQuestionIdAndMetadataOrder() {
+    Map<String, Object> metadata = new LinkedHashMap<>();
+    metadata.put("grader", "a");
+    metadata.put("source", Map.of("x", 1, "y", 2));
+    Map<String, Object> reordered = new LinkedHashMap<>();
+    reordered.put("source", Map.of("y", 2, "x", 1));
+    reordered.put("grader", "a");
+
+    Submission.QuestionAnswer answer = new Submission.QuestionAnswer("q1", "2+2?", "4", "Because.", metadata);
+    Submission.QuestionAnswer same = new Submission.QuestionAnswer("q2", "2+2?", "4", "Because.", reordered);
+
+    assertEquals(answer.contentHash(), same.contentHash());
+  }
+
+  @Test
+  public void testContentHashDetectsAnswerChanges() {
+    Submission.QuestionAnswer answer = new Submission.QuestionAnswer("q1", "2+2?", "4", "Because.", null);
+
+    assertNotEquals(answer.contentHash(), new Submission.QuestionAnswer("q1", "2+2?", "5", "Because.", null).contentHash());
+    assertNotEquals(answer.contentHash(), new Submission.QuestionAnswer("q1", "2+2?", "4", "Since.", null).contentHash());
+    assertNotEquals(answer.contentHash(),
+        new Submission.QuestionAnswer("q1", "2+2?", "4", "Because.", Map.of("k", "v")).contentHash());
+  }
+
+  @Test
+  public void testMetadataSeparatorsInValuesDoNotCollide() {
+    assertNotEquals(withMetadata(Map.of("a", "1;b=2")), withMetadata(Map.of("a", "1", "b", "2")));
+    assertNotEquals(withMetadata(Map.of("a", "x}", "b", "y")), withMetadata(Map.of("a", "x", "b", "y}")));
+  }
+
+  @Test
+  public void testMetadataListElementsDoNotCollide() {
+    assertNotEquals(withMetadata(Map.of("tags", List.of("a,b"))), withMetadata(Map.of("tags", List.of("a", "b"))));
+    assertNotEquals(withMetadata(Map.of("tags", List.of("[a]"))), withMetadata(Map.of("tags", List.of(List.of("a")))));
+  }
+
+  @Test
+  public void testMetadataValueTypesDoNotCollide() {
+    assertNotEquals(withMetadata(Map.of("score", 1)), withMetadata(Map.of("score", "1")));
+    assertNotEquals(withMetadata(Map.of("flag", true)), withMetadata(Map.of("flag", "true")));
+    assertNotEquals(withMetadata(Map.of("score", 1)), withMetadata(Map.of("score", 1.0)));
+    Map<String, Object> nullValue = new LinkedHashMap<>();
+    nullValue.put("note", null);
+    assertNotEquals(withMetadata(nullValue), withMetadata(Map.of("note", "null")));
+  }
+
+  private static String withMetadata(Map<String, Object> metadata) {
+    return new Submission.QuestionAnswer("q1", "2+2?", "4", "Because.", metadata).contentHash();
+  }
+
+  @Test
+  public void testCompressedQuestionsRoundTrip() {
+    Map<String, Submission.QuestionAnswer> questions = Map.of(
+        "q1", new Submission.QuestionAnswer("q1", "Explain photosynthesis.", "A", "Plants turn light into sugar. ".repeat(100), Map.of("grader", "a")),
+        "q2", new Submission.QuestionAnswer("q2", "2+2?", "4", null, null));
+
+    String compressed = SubmissionPayloads.compress(questions);
+
+    assertTrue(compressed.length() < SubmissionPayloads.toJson(questions).length);
+    assertEquals(questions, SubmissionPayloads.decompress(compressed));
+  }
+}
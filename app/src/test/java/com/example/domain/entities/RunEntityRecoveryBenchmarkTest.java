@@ -0,0 +1,132 @@
+package com.example.domain.entities;
+
+import com.example.domain.Run;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.Assume;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Benchmark of RunEntity recovery time versus run size.
+ * Replays the journal a run leaves behind with per-evaluation full-state events and with
+ * per-batch compact events, deserializing every event the way recovery does.
+ * The benchmark only runs with the benchmark profile (mvn test -Pbenchmark).
+ */
+public class RunEntityRecoveryBenchmarkTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(RunEntityRecoveryBenchmarkTest.class);
+
+  private static final int BATCH_SIZE = 10;
+  private static final int[] RUN_SIZES = {1_000, 10_000, 50_000};
+
+  // Configured like the SDK's event serializer: derived getters such as isComplete() are written but ignored on read
+  private final ObjectMapper objectMapper = new ObjectMapper()
+      .registerModule(new JavaTimeModule())
+      .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+  @Test
+  public void testCompactJournalRecoversToSameState() throws Exception {
+    Run perTask = recover(serialize(perTaskJournal(1_000)));
+    Run compact = recover(serialize(compactJournal(1_000)));
+
+    assertEquals(perTask.completedCount(), compact.completedCount());
+    assertEquals(perTask.failedCount(), compact.failedCount());
+    assertEquals(Run.RunStatus.COMPLETED, compact.status());
+    assertEquals(perTask.status(), compact.status());
+  }
+
+  @Test
+  public void benchmarkRecoveryTimeVersusRunSize() throws Exception {
+    Assume.assumeTrue("benchmark profile not enabled", Boolean.getBoolean("benchmark"));
+    logger.info(String.format("%-10s %-10s %-12s %-12s %-10s", "tasks", "journal", "events", "bytes", "recover ms"));
+    for (int runSize : RUN_SIZES) {
+      List<Serialized> perTask = serialize(perTaskJournal(runSize));
+      List<Serialized> compact = serialize(compactJournal(runSize));
+
+      long perTaskMillis = timeRecovery(perTask);
+      long compactMillis = timeRecovery(compact);
+      log(runSize, "per-task", perTask, perTaskMillis);
+      log(runSize, "compact", compact, compactMillis);
+
+      assertTrue(compact.size() * BATCH_SIZE <= perTask.size() + BATCH_SIZE);
+      assertTrue(bytes(compact) * BATCH_SIZE < bytes(perTask));
+    }
+  }
+
+  /**
+   * Journal of a run that recorded a full-state progress event for every evaluation.
+   */
+  private static List<RunEntity.RunEvent> perTaskJournal(int runSize) {
+    Run run = started(runSize);
+    List<RunEntity.RunEvent> journal = new ArrayList<>(runSize + 1);
+    journal.add(new RunEntity.RunEvent.RunStarted(run));
+    for (int i = 1; i <= runSize; i++) {
+      run = run.withCompletedCount(i).withStatus(i == runSize ? Run.RunStatus.COMPLETED : Run.RunStatus.RUNNING);
+      journal.add(new RunEntity.RunEvent.RunProgressUpdated(run));
+    }
+    return journal;
+  }
+
+  /**
+   * Journal of a run that recorded compact absolute counts once per batch.
+   */
+  private static List<RunEntity.RunEvent> compactJournal(int runSize) {
+    List<RunEntity.RunEvent> journal = new ArrayList<>(runSize / BATCH_SIZE + 2);
+    journal.add(new RunEntity.RunEvent.RunStarted(started(runSize)));
+    for (int completed = BATCH_SIZE; completed < runSize + BATCH_SIZE; completed += BATCH_SIZE) {
+      int count = Math.min(completed, runSize);
+      boolean done = count == runSize;
+      journal.add(new RunEntity.RunEvent.RunProgressRecorded(
+          count, 0, done ? Run.RunStatus.COMPLETED : Run.RunStatus.RUNNING, done ? Instant.now() : null));
+    }
+    return journal;
+  }
+
+  private static Run started(int runSize) {
+    return new Run("run-1", "queue-1", Run.RunStatus.RUNNING, runSize, 0, 0, Instant.now(), null);
+  }
+
+  private record Serialized(Class<? extends RunEntity.RunEvent> type, byte[] payload) {}
+
+  private List<Serialized> serialize(List<RunEntity.RunEvent> journal) throws Exception {
+    List<Serialized> serialized = new ArrayList<>(journal.size());
+    for (RunEntity.RunEvent event : journal) {
+      serialized.add(new Serialized(event.getClass(), objectMapper.writeValueAsBytes(event)));
+    }
+    return serialized;
+  }
+
+  private Run recover(List<Serialized> journal) throws Exception {
+    Run state = null;
+    for (Serialized entry : journal) {
+      state = RunEntity.applyEvent(state, objectMapper.readValue(entry.payload(), entry.type()));
+    }
+    return state;
+  }
+
+  private long timeRecovery(List<Serialized> journal) throws Exception {
+    recover(journal); // warm up
+    long start = System.nanoTime();
+    Run recovered = recover(journal);
+    long elapsed = (System.nanoTime() - start) / 1_000_000;
+    assertEquals(Run.RunStatus.COMPLETED, recovered.status());
+    return elapsed;
+  }
+
+  private static long bytes(List<Serialized> journal) {
+    return journal.stream().mapToLong(entry -> entry.payload().length).sum();
+  }
+
+  private static void log(int runSize, String journal, List<Serialized> events, long millis) {
+    logger.info(String.format("%-10d %-10s %-12d %-12d %-10d", runSize, journal, events.size(), bytes(events), millis));
+  }
+}
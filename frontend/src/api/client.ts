@@ -2,6 +2,8 @@
  * API client for communicating with the backend.
  */
 
+import type { ContinuousEvaluation, FailedTask, JudgeCascade, JudgeRule } from '../types';
+
 const API_BASE_URL = import.meta.env.VITE_API_BASE_URL || 'http://localhost:8080';
 
 async function fetchAPI<T>(
@@ -62,6 +64,17 @@ export const api = {
     );
   },
 
+  getContinuousEvaluation: async (queueId: string) => {
+    return fetchAPI<ContinuousEvaluation>(`/api/queues/${queueId}/continuous`);
+  },
+
+  setContinuousEvaluation: async (queueId: string, enabled: boolean) => {
+    return fetchAPI<void>(`/api/queues/${queueId}/continuous`, {
+      method: 'PUT',
+      body: JSON.stringify({ enabled }),
+    });
+  },
+
   // Judges
   getJudges: async () => {
     return fetchAPI<{ judges: Array<any> }>('/api/judges');
@@ -71,14 +84,14 @@ export const api = {
     return fetchAPI<any>(`/api/judges/${judgeId}`);
   },
 
-  createJudge: async (judge: { name: string; systemPrompt: string; targetModel: string; active: boolean }) => {
+  createJudge: async (judge: { name: string; systemPrompt: string; targetModel: string; active: boolean; cascade: JudgeCascade | null; rule: JudgeRule | null }) => {
     return fetchAPI<string>('/api/judges', {
       method: 'POST',
       body: JSON.stringify(judge),
     });
   },
 
-  updateJudge: async (judgeId: string, judge: { name: string; systemPrompt: string; targetModel: string }) => {
+  updateJudge: async (judgeId: string, judge: { name: string; systemPrompt: string; targetModel: string; cascade: JudgeCascade | null; rule: JudgeRule | null }) => {
     return fetchAPI<void>(`/api/judges/${judgeId}`, {
       method: 'PUT',
       body: JSON.stringify(judge),
@@ -99,6 +112,10 @@ export const api = {
   },
 
   // Judge Assignments
+  getQueueJudgeAssignments: async (queueId: string) => {
+    return fetchAPI<any>(`/api/queues/${queueId}/judge-assignments`);
+  },
+
   getJudgeAssignments: async (queueId: string, questionTemplateId: string) => {
     return fetchAPI<any>(`/api/queues/${queueId}/judge-assignments/${questionTemplateId}`);
   },
@@ -114,6 +131,23 @@ export const api = {
     });
   },
 
+  bulkAssignJudges: async (
+    queueId: string,
+    request: {
+      assignments?: Array<{ questionTemplateId: string; judgeIds: string[] }>;
+      allQuestionsJudgeIds?: string[];
+      merge?: boolean;
+    }
+  ) => {
+    return fetchAPI<{ requested: number; applied: number; failedQuestionTemplateIds: string[] }>(
+      `/api/queues/${queueId}/judge-assignments/bulk`,
+      {
+        method: 'POST',
+        body: JSON.stringify(request),
+      }
+    );
+  },
+
   removeJudgeAssignment: async (queueId: string, questionTemplateId: string, judgeId: string) => {
     return fetchAPI<void>(`/api/queues/${queueId}/judge-assignments/${questionTemplateId}/${judgeId}`, {
       method: 'DELETE',
@@ -128,10 +162,28 @@ export const api = {
     });
   },
 
+  estimateRun: async (queueId: string, mode?: 'FULL' | 'INCREMENTAL' | 'RETRY_FAILED', sourceRunId?: string) => {
+    return fetchAPI<any>('/api/runs/estimate', {
+      method: 'POST',
+      body: JSON.stringify({ queueId, mode, sourceRunId }),
+    });
+  },
+
   getRun: async (runId: string) => {
     return fetchAPI<any>(`/api/runs/${runId}`);
   },
 
+  getFailedTasks: async (runId: string) => {
+    return fetchAPI<{ failedTasks: FailedTask[] }>(`/api/runs/${runId}/failed-tasks`);
+  },
+
+  retryFailedTasks: async (sourceRunId: string) => {
+    return fetchAPI<string>('/api/runs', {
+      method: 'POST',
+      body: JSON.stringify({ mode: 'RETRY_FAILED', sourceRunId }),
+    });
+  },
+
   // Evaluations
   getEvaluations: async (filters?: {
     queueId?: string;
@@ -23,12 +23,11 @@ export function JudgeAssignmentMatrix({ queueId, questions }: JudgeAssignmentMat
     queryFn: async () => {
       const assignments: Record<string, string[]> = {};
       for (const question of questions) {
-        try {
-          const assignment = await api.getJudgeAssignments(queueId, question.questionTemplateId);
-          assignments[question.questionTemplateId] = assignment.judgeIds || [];
-        } catch (e) {
-          assignments[question.questionTemplateId] = [];
-        }
+        assignments[question.questionTemplateId] = [];
+      }
+      const result = await api.getQueueJudgeAssignments(queueId);
+      for (const assignment of result.assignments || []) {
+        assignments[assignment.questionTemplateId] = assignment.judgeIds || [];
       }
       return assignments;
     },
@@ -1,7 +1,7 @@
 import { useState } from 'react';
 import { useMutation, useQueryClient } from '@tanstack/react-query';
 import { api } from '../api/client';
-import type { Judge } from '../types';
+import type { Judge, JudgeCascade, JudgeRule } from '../types';
 
 interface JudgeFormProps {
   judge?: Judge;
@@ -16,6 +16,16 @@ export function JudgeForm({ judge, onClose }: JudgeFormProps) {
   const [systemPrompt, setSystemPrompt] = useState(judge?.systemPrompt || '');
   const [targetModel, setTargetModel] = useState(judge?.targetModel || 'gpt-4o-mini');
   const [active, setActive] = useState(judge?.active ?? true);
+  const [cascadeModel, setCascadeModel] = useState(judge?.cascade?.firstModel || '');
+  const [minConfidence, setMinConfidence] = useState(judge?.cascade?.minConfidence ?? 0.8);
+  const [ruleText, setRuleText] = useState(judge?.rule ? JSON.stringify(judge.rule, null, 2) : '');
+
+  const cascade: JudgeCascade | null = cascadeModel
+    ? { firstModel: cascadeModel, minConfidence }
+    : null;
+
+  // Parsed when saving; invalid JSON surfaces as a save error
+  const parseRule = (): JudgeRule | null => (ruleText.trim() ? JSON.parse(ruleText) : null);
 
   const queryClient = useQueryClient();
 
@@ -26,6 +36,8 @@ export function JudgeForm({ judge, onClose }: JudgeFormProps) {
         systemPrompt,
         targetModel,
         active,
+        cascade,
+        rule: parseRule(),
       }),
     onSuccess: () => {
       queryClient.invalidateQueries({ queryKey: ['judges'] });
@@ -39,6 +51,8 @@ export function JudgeForm({ judge, onClose }: JudgeFormProps) {
         name,
         systemPrompt,
         targetModel,
+        cascade,
+        rule: parseRule(),
       }),
     onSuccess: () => {
       queryClient.invalidateQueries({ queryKey: ['judges'] });
@@ -84,7 +98,7 @@ export function JudgeForm({ judge, onClose }: JudgeFormProps) {
               <textarea
                 value={systemPrompt}
                 onChange={(e) => setSystemPrompt(e.target.value)}
-                required
+                required={!ruleText.trim()}
                 rows={8}
                 className="w-full px-3 py-2 border border-gray-300 rounded-md shadow-sm focus:outline-none focus:ring-blue-500 focus:border-blue-500"
                 placeholder="Enter the evaluation rubric or system prompt for this judge..."
@@ -107,6 +121,58 @@ export function JudgeForm({ judge, onClose }: JudgeFormProps) {
               </select>
             </div>
 
+            <div>
+              <label className="block text-sm font-medium text-gray-700 mb-1">
+                Cascade First Model
+              </label>
+              <select
+                value={cascadeModel}
+                onChange={(e) => setCascadeModel(e.target.value)}
+                className="w-full px-3 py-2 border border-gray-300 rounded-md shadow-sm focus:outline-none focus:ring-blue-500 focus:border-blue-500"
+              >
+                <option value="">None (target model only)</option>
+                <option value="gpt-4o-mini">gpt-4o-mini</option>
+                <option value="gpt-3.5-turbo">gpt-3.5-turbo</option>
+              </select>
+              <p className="mt-1 text-xs text-gray-500">
+                Evaluate with this cheaper model first and escalate to the target model only when the
+                verdict is inconclusive or below the confidence threshold.
+              </p>
+            </div>
+
+            {cascadeModel && (
+              <div>
+                <label className="block text-sm font-medium text-gray-700 mb-1">
+                  Minimum Confidence
+                </label>
+                <input
+                  type="number"
+                  min={0}
+                  max={1}
+                  step={0.05}
+                  value={minConfidence}
+                  onChange={(e) => setMinConfidence(Number(e.target.value))}
+                  className="w-full px-3 py-2 border border-gray-300 rounded-md shadow-sm focus:outline-none focus:ring-blue-500 focus:border-blue-500"
+                />
+              </div>
+            )}
+
+            <div>
+              <label className="block text-sm font-medium text-gray-700 mb-1">
+                Rule (optional)
+              </label>
+              <textarea
+                value={ruleText}
+                onChange={(e) => setRuleText(e.target.value)}
+                rows={4}
+                className="w-full px-3 py-2 border border-gray-300 rounded-md shadow-sm font-mono text-sm focus:outline-none focus:ring-blue-500 focus:border-blue-500"
+                placeholder='{"kind": "EQUALS", "field": "answerChoice", "value": "B"}'
+              />
+              <p className="mt-1 text-xs text-gray-500">
+                A judge with a rule is evaluated locally without an LLM call; the prompt and models are ignored.
+              </p>
+            </div>
+
             {!judge && (
               <div>
                 <label className="flex items-center">
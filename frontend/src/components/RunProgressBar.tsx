@@ -17,13 +17,13 @@ export function RunProgressBar({ runId, onComplete }: RunProgressBarProps) {
     queryFn: () => api.getRun(runId),
     refetchInterval: (query) => {
       const run = query.state.data as Run | undefined;
-      // Poll every 2 seconds if run is still running
-      return run?.status === 'RUNNING' ? 2000 : false;
+      // Poll every 2 seconds while the run can still make progress
+      return run?.status === 'RUNNING' || run?.status === 'PAUSED' ? 2000 : false;
     },
   });
 
   useEffect(() => {
-    if (run?.status === 'COMPLETED' || run?.status === 'FAILED') {
+    if (run?.status === 'COMPLETED' || run?.status === 'FAILED' || run?.status === 'CANCELLED') {
       onComplete?.();
     }
   }, [run?.status, onComplete]);
@@ -68,6 +68,16 @@ export function RunProgressBar({ runId, onComplete }: RunProgressBarProps) {
           {run.failedCount} evaluation(s) failed
         </div>
       )}
+      {(run.expiredCount ?? 0) > 0 && (
+        <div className="text-sm text-yellow-700">
+          {run.expiredCount} task attempt(s) missed their deadline and were rescheduled
+        </div>
+      )}
+      {run.deadline && (
+        <div className="text-sm text-gray-600">
+          Deadline: {new Date(run.deadline).toLocaleString()}
+        </div>
+      )}
     </div>
   );
 }
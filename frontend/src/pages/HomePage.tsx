@@ -39,6 +39,12 @@ export function HomePage() {
                   className="block p-4 border border-gray-200 rounded-lg hover:bg-gray-50 transition-colors"
                 >
                   <div className="font-medium text-gray-900">{queue.queueId}</div>
+                  {queue.submissionCount !== undefined && (
+                    <div className="text-sm text-gray-500">
+                      {queue.submissionCount} submissions · {queue.questionCount ?? 0} questions ·{' '}
+                      {queue.projectedTaskCount ?? 0} evaluations per run
+                    </div>
+                  )}
                 </Link>
               ))
             ) : (
@@ -23,7 +23,34 @@ export interface Judge {
   name: string;
   systemPrompt: string;
   targetModel: string;
+  cascade?: JudgeCascade | null;
+  rule?: JudgeRule | null;
   active: boolean;
+  version?: number;
+  fingerprint?: string;
+}
+
+/**
+ * Evaluate with firstModel first; escalate to targetModel when the verdict is
+ * inconclusive or its confidence is below minConfidence.
+ */
+export interface JudgeCascade {
+  firstModel: string;
+  minConfidence: number;
+}
+
+/**
+ * Deterministic check evaluated in-process instead of by an LLM.
+ * field is answerChoice, answerReasoning, questionText, metadata or metadata.<key>.
+ */
+export interface JudgeRule {
+  kind: "EQUALS" | "ONE_OF" | "REGEX" | "NUMERIC" | "JSON_SCHEMA";
+  field: string;
+  value?: string | null;
+  values?: string[];
+  tolerance?: number | null;
+  schema?: string | null;
+  ignoreCase?: boolean;
 }
 
 export interface JudgeAssignment {
@@ -39,24 +66,56 @@ export interface Evaluation {
   queueId: string;
   questionTemplateId: string;
   judgeId: string;
+  judgeVersion?: number;
+  judgeFingerprint?: string;
   verdict: Verdict;
   reasoning: string;
   evaluatedAt: string;
+  model?: string;
+  tier?: "SINGLE" | "FIRST" | "ESCALATED";
+  confidence?: number | null;
 }
 
 export interface Run {
   runId: string;
   queueId: string;
-  status: "RUNNING" | "COMPLETED" | "FAILED";
+  status: "RUNNING" | "PAUSED" | "COMPLETED" | "FAILED" | "CANCELLED";
   plannedCount: number;
   completedCount: number;
   failedCount: number;
   startedAt: string;
   completedAt?: string;
+  deadline?: string | null;
+  expiredCount?: number;
+}
+
+export interface FailedTask {
+  failedTaskId: string;
+  runId: string;
+  queueId: string;
+  submissionId: string;
+  questionTemplateId: string;
+  judgeId: string;
+  errorClass: string;
+  errorMessage?: string | null;
+  attempts: number;
+  failedAt: string;
+  retriedByRunId?: string | null;
 }
 
 export interface Queue {
   queueId: string;
+  submissionCount?: number;
+  questionCount?: number;
+  lastImportAt?: string;
+  projectedTaskCount?: number;
+}
+
+export interface ContinuousEvaluation {
+  queueId: string;
+  enabled: boolean;
+  pendingSubmissionIds: string[];
+  batchOpenedAt?: string | null;
 }
 
 export interface Question {